@@ -0,0 +1,47 @@
+package benchmarks;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import chess.boards.ChessBoard;
+import chess.pieces.Piece;
+
+/**
+ * BoardBenchmark --- class that measures looking at the squares of a ChessBoard on the positions of the corpus
+ * @author    Jeremy McMahan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param({Positions.STANDARD_OPENING, Positions.STANDARD_MIDDLEGAME, Positions.STANDARD_ENDGAME,
+            Positions.CUSTOM_OPENING, Positions.CUSTOM_MIDDLEGAME, Positions.CUSTOM_ENDGAME})
+    public String position; //the name of the position in the corpus
+    private ChessBoard board; //the board of the position
+    private int[][] squares; //every square of the board
+    private int next; //the number of squares looked at so far
+
+    @Setup
+    public void setUp() {
+        board = Positions.create(position).getBoard();
+        int size = board.getBoardSize();
+        squares = new int[size * size][];
+        for (int i = 0; i < squares.length; i++) {
+            squares[i] = new int[]{i / size, i % size};
+        }
+    }
+
+    @Benchmark
+    public Piece getPiece() { return board.getPiece(squares[next++ % squares.length]); }
+
+    @Benchmark
+    public HashSet<int[]> getSquares() { return board.getSquares(); }
+
+    @Benchmark
+    public ChessBoard copy() { return board.copy(); }
+}
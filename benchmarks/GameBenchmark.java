@@ -0,0 +1,49 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import chess.Chess;
+
+/**
+ * GameBenchmark --- class that measures making a move in a Chess game and taking it back, going through the legal
+ * moves of each position of the corpus in turn
+ * @author    Jeremy McMahan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    @Param({Positions.STANDARD_OPENING, Positions.STANDARD_MIDDLEGAME, Positions.STANDARD_ENDGAME,
+            Positions.CUSTOM_OPENING, Positions.CUSTOM_MIDDLEGAME, Positions.CUSTOM_ENDGAME})
+    public String position; //the name of the position in the corpus
+    private Chess game; //the game in the position
+    private int[][] fromSquares; //the squares the legal moves go from
+    private int[][] toSquares; //the squares the legal moves go to
+    private int next; //the number of moves made so far
+
+    @Setup
+    public void setUp() {
+        game = Positions.create(position);
+        List<int[]> moves = Positions.legalMoves(game);
+        fromSquares = new int[moves.size()][];
+        toSquares = new int[moves.size()][];
+        for (int i = 0; i < moves.size(); i++) {
+            fromSquares[i] = new int[]{moves.get(i)[0], moves.get(i)[1]};
+            toSquares[i] = new int[]{moves.get(i)[2], moves.get(i)[3]};
+        }
+    }
+
+    @Benchmark
+    public boolean moveAndUndo() {
+        int i = next++ % fromSquares.length;
+        boolean moved = game.movePiece(fromSquares[i], toSquares[i]);
+        game.undoLastMove();
+        return moved;
+    }
+}
@@ -0,0 +1,120 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import chess.BoardConfiguration;
+import chess.Chess;
+import chess.boards.ChessBoard;
+import chess.pieces.Piece;
+
+/**
+ * Positions --- class that sets up the corpus of positions the benchmarks run over: an opening, a middlegame and an
+ * endgame on both the standard and the custom board. Each position is reached by playing legal moves through Chess
+ * so it is a position real games pass through.
+ * @author    Jeremy McMahan
+ */
+public class Positions {
+    public static final String STANDARD_OPENING = "standard-opening";
+    public static final String STANDARD_MIDDLEGAME = "standard-middlegame";
+    public static final String STANDARD_ENDGAME = "standard-endgame";
+    public static final String CUSTOM_OPENING = "custom-opening";
+    public static final String CUSTOM_MIDDLEGAME = "custom-middlegame";
+    public static final String CUSTOM_ENDGAME = "custom-endgame";
+    //an open game: e4 e5 Nf3 Nc6 Bc4 Bc5 d3 d6 Nc3 Nf6 Bg5 h6 Bxf6 Qxf6 Nd5 Qd8
+    private static final int[][] STANDARD_MOVES = {
+            {1,4,3,4}, {6,4,4,4}, {0,6,2,5}, {7,1,5,2}, {0,5,3,2}, {7,5,4,2}, {1,3,2,3}, {6,3,5,3},
+            {0,1,2,2}, {7,6,5,5}, {0,2,4,6}, {6,7,5,7}, {4,6,5,5}, {7,3,5,5}, {2,2,4,3}, {5,5,7,3}};
+    //a game around the ultra pieces: e4 e5 Nc3 Nc6 Nh3 Nh6 g4 b6 Bg2 Bb7, the ultra rooks and queen then move
+    private static final int[][] CUSTOM_MOVES = {
+            {1,4,3,4}, {6,4,4,4}, {0,1,2,2}, {7,1,5,2}, {0,6,2,7}, {7,6,5,7}, {1,6,3,6}, {6,1,5,1},
+            {0,5,1,6}, {7,2,6,1}, {2,5,2,6}, {6,0,5,0}, {0,3,1,4}, {5,5,5,6}};
+    //kings and rooks walking up the board
+    private static final int[][] ENDGAME_MOVES = {{0,4,1,4}, {7,4,6,4}, {0,0,0,3}, {7,7,7,5}};
+    //the squares of the pieces kept for the endgames
+    private static final int[][] STANDARD_ENDGAME_PIECES = {
+            {0,0}, {0,4}, {1,0}, {1,1}, {1,5}, {1,6}, {0,5},
+            {7,7}, {7,4}, {6,6}, {6,7}, {6,2}, {6,3}, {7,1}};
+    private static final int[][] CUSTOM_ENDGAME_PIECES = {
+            {0,0}, {0,4}, {1,0}, {1,1}, {1,5}, {2,3}, {2,5},
+            {7,7}, {7,4}, {6,6}, {6,7}, {6,2}, {5,3}, {5,5}};
+
+    /**
+     * Sets up a game in the named position
+     * @param name one of the position names of this class
+     * @return Chess
+     */
+    public static Chess create(String name) {
+        switch (name) {
+            case STANDARD_OPENING:
+                return play(new Chess("W", "Standard"), STANDARD_MOVES, 4);
+            case STANDARD_MIDDLEGAME:
+                return play(new Chess("W", "Standard"), STANDARD_MOVES, STANDARD_MOVES.length);
+            case STANDARD_ENDGAME:
+                return play(strip(new Chess("W", "Standard"), STANDARD_ENDGAME_PIECES), ENDGAME_MOVES,
+                        ENDGAME_MOVES.length);
+            case CUSTOM_OPENING:
+                return play(new Chess("W", "Custom"), CUSTOM_MOVES, 4);
+            case CUSTOM_MIDDLEGAME:
+                return play(new Chess("W", "Custom"), CUSTOM_MOVES, CUSTOM_MOVES.length);
+            case CUSTOM_ENDGAME:
+                return play(strip(new Chess("W", "Custom"), CUSTOM_ENDGAME_PIECES), ENDGAME_MOVES,
+                        ENDGAME_MOVES.length);
+            default:
+                throw new IllegalArgumentException("unknown position: " + name);
+        }
+    }
+
+    /**
+     * Finds every move the player to move may make in the game, each as {fromRow, fromCol, toRow, toCol}
+     * @param game A Chess game
+     * @return List of moves
+     */
+    public static List<int[]> legalMoves(Chess game) {
+        ChessBoard board = game.getBoard();
+        List<int[]> moves = new ArrayList<>();
+        for (Piece piece : board.getPieces()) {
+            int[] from = piece.getSquare();
+            for (int row = 0; row < board.getBoardSize(); row++) {
+                for (int col = 0; col < board.getBoardSize(); col++) {
+                    if (BoardConfiguration.canMovePiece(from, new int[]{row, col}, game.getPlayer(), board)) {
+                        moves.add(new int[]{from[0], from[1], row, col});
+                    }
+                }
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Plays the first count moves on the game
+     * @return Chess the game
+     */
+    private static Chess play(Chess game, int[][] moves, int count) {
+        for (int i = 0; i < count; i++) {
+            int[] move = moves[i];
+            if (!game.movePiece(new int[]{move[0], move[1]}, new int[]{move[2], move[3]})) {
+                throw new IllegalStateException("illegal corpus move " + i + " of " + moves.length);
+            }
+        }
+        return game;
+    }
+
+    /**
+     * Removes every piece of the game except those on the given squares
+     * @return Chess the game
+     */
+    private static Chess strip(Chess game, int[][] keep) {
+        ChessBoard board = game.getBoard();
+        for (Piece piece : board.getPieces()) {
+            boolean kept = false;
+            for (int[] square : keep) {
+                kept |= square[0] == piece.getSquare()[0] && square[1] == piece.getSquare()[1];
+            }
+            if (!kept) {
+                board.removePiece(piece.getSquare());
+            }
+        }
+        return game;
+    }
+}
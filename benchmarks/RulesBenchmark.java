@@ -0,0 +1,101 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import chess.BoardConfiguration;
+import chess.Chess;
+import chess.Color;
+import chess.boards.ChessBoard;
+import chess.pieces.Piece;
+
+/**
+ * RulesBenchmark --- class that measures the rule checks of BoardConfiguration on the positions of the corpus.
+ * canMovePiece is asked about every piece of the player to move on every square, as a player clicking around the
+ * board would, while endangerKing is only asked about legal moves.
+ * @author    Jeremy McMahan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RulesBenchmark {
+    @Param({Positions.STANDARD_OPENING, Positions.STANDARD_MIDDLEGAME, Positions.STANDARD_ENDGAME,
+            Positions.CUSTOM_OPENING, Positions.CUSTOM_MIDDLEGAME, Positions.CUSTOM_ENDGAME})
+    public String position; //the name of the position in the corpus
+    private ChessBoard board; //the board of the position
+    private Color player; //the player to move
+    private int[][] fromSquares; //the squares of the pieces asked about by canMovePiece
+    private int[][] toSquares; //the squares asked about by canMovePiece
+    private Piece[] legalPieces; //the pieces of the legal moves
+    private int[][] legalSquares; //the squares the legal moves go to
+    private int next; //the number of checks made so far
+
+    @Setup
+    public void setUp() {
+        Chess game = Positions.create(position);
+        board = game.getBoard();
+        player = game.getPlayer();
+        List<int[]> candidates = new ArrayList<>();
+        for (Piece piece : board.getPieces()) {
+            for (int row = 0; piece.getColor() == player && row < board.getBoardSize(); row++) {
+                for (int col = 0; col < board.getBoardSize(); col++) {
+                    candidates.add(new int[]{piece.getSquare()[0], piece.getSquare()[1], row, col});
+                }
+            }
+        }
+        fromSquares = new int[candidates.size()][];
+        toSquares = new int[candidates.size()][];
+        for (int i = 0; i < candidates.size(); i++) {
+            int[] move = candidates.get(i);
+            fromSquares[i] = new int[]{move[0], move[1]};
+            toSquares[i] = new int[]{move[2], move[3]};
+        }
+        List<int[]> moves = Positions.legalMoves(game);
+        legalPieces = new Piece[moves.size()];
+        legalSquares = new int[moves.size()][];
+        for (int i = 0; i < moves.size(); i++) {
+            int[] move = moves.get(i);
+            legalPieces[i] = board.getPiece(move[0], move[1]);
+            legalSquares[i] = new int[]{move[2], move[3]};
+        }
+    }
+
+    @Benchmark
+    public boolean canMovePiece() {
+        int i = next++ % fromSquares.length;
+        return BoardConfiguration.canMovePiece(fromSquares[i], toSquares[i], player, board);
+    }
+
+    @Benchmark
+    public boolean canMovePieceByIndex() {
+        int i = next++ % fromSquares.length;
+        int size = board.getBoardSize();
+        return BoardConfiguration.canMovePiece(fromSquares[i][0] * size + fromSquares[i][1],
+                toSquares[i][0] * size + toSquares[i][1], player, board);
+    }
+
+    @Benchmark
+    public boolean isCheck() { return BoardConfiguration.isCheck(player, board); }
+
+    @Benchmark
+    public boolean isCheckMate() { return BoardConfiguration.isCheckMate(player, board); }
+
+    @Benchmark
+    public boolean isStaleMate() { return BoardConfiguration.isStaleMate(player, board); }
+
+    @Benchmark
+    public boolean playerStuck() { return BoardConfiguration.playerStuck(player, board); }
+
+    @Benchmark
+    public HashSet<Piece> endangerKing() {
+        int i = next++ % legalPieces.length;
+        return BoardConfiguration.endangerKing(legalPieces[i], legalSquares[i], board);
+    }
+}
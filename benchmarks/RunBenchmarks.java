@@ -0,0 +1,33 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * RunBenchmarks --- class that runs the benchmarks with the allocation profiler and writes the results as JSON, so
+ * the results of two runs can be compared. Needs jmh-core and the jmh-generator-annprocess annotation processor on
+ * the class path when the benchmarks are compiled and run.
+ * @author    Jeremy McMahan
+ */
+public class RunBenchmarks {
+    /**
+     * Runs the benchmarks whose names match the pattern, all of them by default
+     * @param args [result file] [benchmark pattern]
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = (args.length > 0)? args[0] : "benchmark-results.json";
+        String pattern = (args.length > 1)? args[1] : "benchmarks\\..*Benchmark";
+        Options options = new OptionsBuilder()
+                .include(pattern)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+    }
+}
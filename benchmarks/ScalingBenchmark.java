@@ -0,0 +1,114 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import chess.BoardConfiguration;
+import chess.Color;
+import chess.GameStatus;
+import chess.MoveGenerator;
+import chess.boards.ChessBoard;
+import chess.pieces.*;
+
+/**
+ * ScalingBenchmark --- class that measures how the rule checks of BoardConfiguration grow with the size of the board.
+ * Each board holds the two kings and a piece on about one square in eight, so the largest boards have hundreds of
+ * pieces. The pieces are placed at random from a fixed seed so every run measures the same positions.
+ * The mate checks are measured on a second board of each size where white is check mated, so none of them can stop
+ * at the first test: the white king in the corner is checked by a black rook along the empty first row while a
+ * second rook holds the empty second row, two rows of black pawns wall the corner off, and the rest of the board is
+ * filled as above. Every escape of the king and every block or capture by the hundreds of white pieces behind the
+ * wall has to be tried and found wanting.
+ * @author    Jeremy McMahan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalingBenchmark {
+    private static final long SEED = 0x5CA1AB1EL; //the seed the pieces are placed from
+    private static final int MOVES = 1024; //the number of moves asked about by canMovePiece
+    @Param({"8", "16", "32", "64"})
+    public int size; //the length of a side of the board
+    private ChessBoard board; //the board of the position
+    private ChessBoard mated; //the board of the position where white is check mated
+    private int[] fromSquares; //the square indexes of the pieces asked about by canMovePiece
+    private int[] toSquares; //the square indexes asked about by canMovePiece
+    private int next; //the number of checks made so far
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED + size);
+        board = new ChessBoard(size);
+        place(board, new King(Color.W, 0, 0));
+        place(board, new King(Color.B, size - 1, size - 1));
+        fill(board, 0, random);
+        fromSquares = new int[MOVES];
+        toSquares = new int[MOVES];
+        for (int i = 0; i < MOVES; i++) {
+            fromSquares[i] = board.getPieceSquare(Color.W, random.nextInt(board.getPieceCount(Color.W)));
+            toSquares[i] = random.nextInt(size * size);
+        }
+        mated = new ChessBoard(size);
+        place(mated, new King(Color.W, 0, 0));
+        place(mated, new King(Color.B, size - 1, size - 1));
+        place(mated, new Rook(Color.B, 0, size - 1));
+        place(mated, new Rook(Color.B, 1, size - 1));
+        for (int col = 0; col < size; col++) {
+            place(mated, new Pawn(Color.B, 2, col));
+            place(mated, new Pawn(Color.B, 3, col));
+        }
+        fill(mated, 4, random);
+    }
+
+    @Benchmark
+    public boolean canMovePiece() {
+        int i = next++ % MOVES;
+        return BoardConfiguration.canMovePiece(fromSquares[i], toSquares[i], Color.W, board);
+    }
+
+    @Benchmark
+    public boolean playerStuck() { return BoardConfiguration.playerStuck(Color.W, board); }
+
+    @Benchmark
+    public boolean isCheckMate() { return BoardConfiguration.isCheckMate(Color.W, mated); }
+
+    @Benchmark
+    public boolean hasLegalMove() { return MoveGenerator.hasLegalMove(Color.W, mated); }
+
+    @Benchmark
+    public GameStatus gameStatus() { return GameStatus.of(Color.W, mated); }
+
+    /**
+     * Puts a random piece of a random color on about one square in eight from the first row given on, leaving the
+     * squares already taken alone
+     */
+    private void fill(ChessBoard target, int firstRow, Random random) {
+        int rows = size - firstRow;
+        for (int i = 0; i < rows * size / 8; i++) {
+            int row = firstRow + random.nextInt(rows);
+            int col = random.nextInt(size);
+            Color color = random.nextBoolean()? Color.W : Color.B;
+            if (target.getPiece(row, col) == null) {
+                switch (random.nextInt(5)) {
+                    case 0: place(target, new Pawn(color, row, col)); break;
+                    case 1: place(target, new Knight(color, row, col)); break;
+                    case 2: place(target, new Bishop(color, row, col)); break;
+                    case 3: place(target, new Rook(color, row, col)); break;
+                    default: place(target, new Queen(color, row, col)); break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the piece to the board on the square it holds
+     */
+    private static void place(ChessBoard target, Piece piece) {
+        target.addPiece(piece, piece.getSquare());
+    }
+}
@@ -2,17 +2,27 @@ package chess;
 import java.util.Arrays;
 import java.util.HashSet;
 
+import chess.boards.AttackTables;
 import chess.boards.ChessBoard;
+import chess.boards.Mailbox;
+import chess.boards.MoveTables;
+import chess.boards.OccupancyIndex;
 import chess.pieces.King;
+import chess.pieces.Movement;
 import chess.pieces.Piece;
+import chess.pieces.PieceType;
 
 /**
  * BoardConfiguration --- class to determine information about the configuration of a chess board such as game ending
- * conditions and validity of potential piece movement
+ * conditions and validity of potential piece movement. The rules of the pieces are looked up by piece code in the
+ * MoveTables of the board, asking the pieces themselves only about moves longer than the board allows.
+ * Squares are addressed by their index, row * boardSize + col, so answering a question makes no arrays; the methods
+ * taking squares as {row, column} arrays convert them and ask the same questions.
+ * Paths and attackers of the king come from the AttackTables on 8x8 boards and from the OccupancyIndex of the board
+ * on larger ones, so neither grows with the number of pieces; smaller boards walk their Mailbox.
  * @author    Jeremy McMahan
  */
 public class BoardConfiguration {
-
     /**
      * Determines if moving the piece on fromSquare to toSquare on player's turn on the given chess board is legal
      * based on the rules of the game.
@@ -23,25 +33,96 @@ public class BoardConfiguration {
      * @return boolean
      */
     public static boolean canMovePiece(int[] fromSquare, int[] toSquare, Color player, ChessBoard board) {
-        try {
-            Piece toMove = board.getPiece(fromSquare);
-            Piece toCapture = board.getPiece(toSquare);
+        return checkMove(fromSquare, toSquare, player, board) == MoveResult.LEGAL;
+    }
+
+    /**
+     * Determines if moving the piece on the square with index fromSquare to the square with index toSquare on
+     * player's turn on the given chess board is legal based on the rules of the game.
+     * @param fromSquare the index of a square, row * boardSize + col
+     * @param toSquare the index of a square, row * boardSize + col
+     * @param player A Color that denotes the player whose turn it is
+     * @param board The non-null chess board
+     * @return boolean
+     */
+    public static boolean canMovePiece(int fromSquare, int toSquare, Color player, ChessBoard board) {
+        return checkMove(fromSquare, toSquare, player, board) == MoveResult.LEGAL;
+    }
 
-            boolean validSquares = board.isValidSquare(fromSquare) && board.isValidSquare(toSquare);
-            boolean isPlayerPiece = toMove.getColor() == player;
-            boolean canCapture = (toCapture != null) && toMove.canCapture(toCapture)
-                    && isClearPath(null, toMove, toSquare, board);
-            boolean canMove = (toCapture == null) && toMove.canMoveTo(toSquare)
-                    && isClearPath(null, toMove, toSquare, board);
-            boolean kingSafe = endangerKing(toMove,toSquare, board).isEmpty(); //the move doesn't put player in check
-            boolean savesKing = !(toMove instanceof King) && isCheck(player,board)
-                    && canSaveKing(player,toSquare,board);
+    /**
+     * Checks moving the piece on fromSquare to toSquare on player's turn on the given chess board against the rules
+     * of the game, the same as canMovePiece, and tells which rule a rejected move breaks. Any input is accepted,
+     * null or off the board, and no exception is thrown.
+     * @param fromSquare An integer array representing a square by containing its row and column
+     * @param toSquare An integer array representing a square by containing its row and column
+     * @param player A Color that denotes the player whose turn it is
+     * @param board The chess board
+     * @return MoveResult that is LEGAL iff the move is legal
+     */
+    public static MoveResult checkMove(int[] fromSquare, int[] toSquare, Color player, ChessBoard board) {
+        if (board == null || !isOnBoard(fromSquare, board) || !isOnBoard(toSquare, board)) {
+            return MoveResult.OFF_BOARD; //squares off the board are never valid
+        }
+        int size = board.getBoardSize();
+        return checkMove(fromSquare[0] * size + fromSquare[1], toSquare[0] * size + toSquare[1], player, board);
+    }
+
+    /**
+     * Checks moving the piece on the square with index fromSquare to the square with index toSquare on player's turn
+     * on the given chess board against the rules of the game, the same as canMovePiece, and tells which rule a
+     * rejected move breaks. No exception is thrown for squares off the board or a null player.
+     * @param fromSquare the index of a square, row * boardSize + col
+     * @param toSquare the index of a square, row * boardSize + col
+     * @param player A Color that denotes the player whose turn it is
+     * @param board The non-null chess board
+     * @return MoveResult that is LEGAL iff the move is legal
+     */
+    public static MoveResult checkMove(int fromSquare, int toSquare, Color player, ChessBoard board) {
+        int squares = board.getBoardSize() * board.getBoardSize();
+        if (fromSquare < 0 || fromSquare >= squares || toSquare < 0 || toSquare >= squares) {
+            return MoveResult.OFF_BOARD;
+        }
+        Piece toMove = board.getPiece(fromSquare);
+        if (toMove == null) {
+            return MoveResult.NO_PIECE;
+        } else if (toMove.getColor() != player) {
+            return MoveResult.WRONG_COLOR;
+        } else if (board.getKingSquare(player) < 0) {
+            return MoveResult.NO_KING; //no move is legal without a king
+        } else if (!board.isValidSquare(fromSquare) || !board.isValidSquare(toSquare)) {
+            return MoveResult.INVALID_SQUARE;
+        }
+        Piece toCapture = board.getPiece(toSquare);
+        if (!canReach(toMove, toCapture, toSquare, board)) {
+            boolean ownPiece = toCapture != null && toCapture.getColor() == player;
+            return ownPiece? MoveResult.OWN_PIECE : MoveResult.UNREACHABLE;
+        } else if (!isClearPath(null, toMove, toSquare, board)) {
+            return MoveResult.BLOCKED;
+        } else if (!isKingSafe(toMove, toCapture, toSquare, player, isCheck(player, board), board)) {
+            return MoveResult.KING_IN_DANGER;
+        }
+        return MoveResult.LEGAL;
+    }
 
-            return (kingSafe || savesKing || (toCapture instanceof King)) &&
-                    (canCapture || canMove) && validSquares && isPlayerPiece;
-        } catch (NullPointerException n) { //in case any input is null or there is no piece on toSquare
-            return false;
+    /**
+     * Determines if moving the piece, toMove, to toSquare keeps the king of player out of danger, either because the
+     * move doesn't put player in check or because it ends the check player is in. Capturing the opposing king is always
+     * safe. Assumes the move itself follows the rules of toMove.
+     * @param toMove A non-null Piece
+     * @param toCapture The Piece on toSquare or null if there is none
+     * @param toSquare the index of a square on the board, row * boardSize + col
+     * @param player A Color that denotes the player whose turn it is
+     * @param inCheck boolean that is true iff player is in check before the move
+     * @param board The chess board
+     * @return boolean
+     */
+    static boolean isKingSafe(Piece toMove, Piece toCapture, int toSquare, Color player, boolean inCheck,
+                              ChessBoard board) {
+        if (findKingAttacker(toMove, toSquare, board, 0) == null) {
+            return true; //the move doesn't put player in check
         }
+        boolean savesKing = toMove.getType() != PieceType.KING && inCheck && canSaveKing(player, toSquare, board);
+        return savesKing || (toCapture != null && toCapture.getType() == PieceType.KING);
     }
 
     /**
@@ -73,6 +154,9 @@ public class BoardConfiguration {
      * @return boolean
      */
     public static boolean canSaveKing(Color player, int[] toSquare, ChessBoard board) {
+        if (isOnBoard(toSquare, board)) {
+            return canSaveKing(player, toSquare[0] * board.getBoardSize() + toSquare[1], board);
+        }
         King king = board.getKing(player);
         HashSet<Piece> canKill = endangerKing(king,king.getSquare(),board);
         Piece toKillKing = canKill.iterator().next();
@@ -80,6 +164,25 @@ public class BoardConfiguration {
         return (captureKillKing || toKillKing.isBetween(toSquare, king.getSquare())) && (canKill.size() == 1);
     }
 
+    /**
+     * Determines if the given piece when moved to the square with index toSquare can save the king from being
+     * captured assuming its in check and assuming the piece can actually move to that square legally
+     * @param player A Color denoting the player
+     * @param toSquare the index of a square on the board, row * boardSize + col
+     * @param board A ChessBoard
+     * @return boolean
+     */
+    public static boolean canSaveKing(Color player, int toSquare, ChessBoard board) {
+        King king = board.getKing(player);
+        int kingSquare = board.getSquareIndex(king);
+        Piece toKillKing = findKingAttacker(king, kingSquare, board, 0);
+        if (toKillKing == null || findKingAttacker(king, kingSquare, board, 1) != null) {
+            return false; //only a lone attacker can be captured or blocked
+        }
+        boolean captureKillKing = board.getSquareIndex(toKillKing) == toSquare;
+        return captureKillKing || isBetween(toKillKing, toSquare, kingSquare, board);
+    }
+
     /**
      * Determines if there are no chess pieces along the path that the piece, toMove, would take to get to the
      * square, toSquare. Also, for the case when are testing if there would be a clear path if we move a piece,
@@ -91,12 +194,39 @@ public class BoardConfiguration {
      * @return boolean
      */
     public static boolean isClearPath(Piece ignore, Piece toMove, int[] toSquare, ChessBoard board) {
-        for (Piece middle : board.getPieces()) {
-            if (middle != ignore && toMove.isBetween(middle.getSquare(), toSquare)) {
-                return false;
+        if (isOnBoard(toSquare, board)) {
+            return isClearPath(ignore, toMove, toSquare[0] * board.getBoardSize() + toSquare[1], board);
+        }
+        return isClearPathOfPieces(ignore, toMove, toSquare, board);
+    }
+
+    /**
+     * Determines if there are no chess pieces along the path that the piece, toMove, would take to get to the
+     * square with index toSquare, ignoring the piece ignore as isClearPath with an array does
+     * @param ignore A Piece
+     * @param toMove A non-null Piece
+     * @param toSquare the index of a square on the board, row * boardSize + col
+     * @param board A ChessBoard
+     * @return boolean
+     */
+    public static boolean isClearPath(Piece ignore, Piece toMove, int toSquare, ChessBoard board) {
+        boolean onBoard = isOnBoard(toMove.getRow(), toMove.getCol(), board);
+        byte reach = onBoard? getReach(toMove, toSquare, board) : MoveTables.UNKNOWN;
+        if (reach > MoveTables.NONE && board.getBoardSize() == 8) {
+            long blockers = board.getOccupancy();
+            if (ignore != null && board.getPiece(ignore.getRow(), ignore.getCol()) == ignore) {
+                blockers &= ~(1L << board.getSquareIndex(ignore));
             }
+            return (getPath(toMove, toSquare, reach, board) & blockers) == 0;
         }
-        return true;
+        if (reach > MoveTables.NONE) {
+            return isClearLine(ignore, toMove, toSquare, reach, board);
+        }
+        if (reach == MoveTables.NONE) {
+            return true; //there is no path to a square the piece cannot reach, so nothing lies on it
+        }
+        int size = board.getBoardSize(); //only a piece off the board is left for its own rules
+        return isClearPathOfPieces(ignore, toMove, new int[]{toSquare / size, toSquare % size}, board);
     }
 
     /**
@@ -107,7 +237,7 @@ public class BoardConfiguration {
      */
     public static boolean isCheck(Color player, ChessBoard board) {
         King king = board.getKing(player);
-        return !endangerKing(king, king.getSquare(),board).isEmpty();
+        return board.isAttacked(board.getSquareIndex(king), player.opponent());
     }
 
     /**
@@ -117,14 +247,7 @@ public class BoardConfiguration {
      * @return boolean
      */
     public static boolean playerStuck(Color player, ChessBoard board) {
-        for (Piece piece : board.getPieces()) {
-            for (int[] toSquare : board.getSquares()) {
-                if (canMovePiece(piece.getSquare(), toSquare, player, board)) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return !MoveGenerator.hasLegalMove(player, board);
     }
     
     /**
@@ -137,16 +260,261 @@ public class BoardConfiguration {
      */
     public static HashSet<Piece> endangerKing(Piece toMove, int[] toSquare, ChessBoard board) {
         HashSet<Piece> canKillKing = new HashSet<>();
+        if (isOnBoard(toSquare, board)) {
+            int index = toSquare[0] * board.getBoardSize() + toSquare[1];
+            Piece piece;
+            while ((piece = findKingAttacker(toMove, index, board, canKillKing.size())) != null) {
+                canKillKing.add(piece);
+            }
+            return canKillKing;
+        }
         King king = board.getKing(toMove.getColor());
         //simulate moving the king
         king = (toMove == king)? new King(king.getColor(),toSquare[0],toSquare[1]) : king;
-    		
-        for (Piece piece : board.getPieces()) {
+
+        for (Piece piece : board.getPieces(toMove.getColor().opponent())) { //only opponents capture the king
             boolean couldKill = piece.canCapture(king) && isClearPath(toMove, piece, king.getSquare(), board);
-            if (!piece.isBetween(toSquare, king.getSquare()) && couldKill) {
+            if (couldKill && !piece.isBetween(toSquare, king.getSquare())) {
                 canKillKing.add(piece);
             }
         }
         return canKillKing;
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds an opponent piece that could capture the king of the same color as toMove if toMove were to move to the
+     * square with index toSquare. The attackers are found in a fixed order and the first skip of them are passed over.
+     * @param toMove A non-null Piece
+     * @param toSquare the index of a square on the board, row * boardSize + col
+     * @param skip the number of attackers to pass over
+     * @return Piece the attacker or null if there are no more
+     */
+    private static Piece findKingAttacker(Piece toMove, int toSquare, ChessBoard board, int skip) {
+        King king = board.getKing(toMove.getColor());
+        int kingSquare = (toMove == king)? toSquare : board.getSquareIndex(king); //simulate moving the king
+        if (usesAttackTables(toMove, board)) {
+            long attackers = getKingAttackers(toMove, toSquare, kingSquare, board);
+            for (; skip > 0 && attackers != 0; skip--) {
+                attackers &= attackers - 1;
+            }
+            return (attackers != 0)? board.getPiece(Long.numberOfTrailingZeros(attackers)) : null;
+        }
+        if (board.getOccupancyIndex() != null && board.getPiece(toMove.getRow(), toMove.getCol()) == toMove) {
+            return findLineAttacker(toMove, toSquare, kingSquare, board, skip);
+        }
+        Color opponent = toMove.getColor().opponent(); //only opponents capture the king
+        for (int i = 0; i < board.getPieceCount(opponent); i++) {
+            Piece piece = board.getPiece(board.getPieceSquare(opponent, i));
+            boolean couldKill = canReach(piece, king, kingSquare, board)
+                    && isClearPath(toMove, piece, kingSquare, board);
+            if (couldKill && !isBetween(piece, toSquare, kingSquare, board) && skip-- == 0) {
+                return piece;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds an opponent piece that could capture the king of the same color as toMove on kingSquare if toMove were to
+     * move to toSquare with the OccupancyIndex: the nearest piece along each line out of the king, with toMove off its
+     * square and on toSquare, attacks if it rides back along the line, and any piece close enough to leap attacks if
+     * one of its leaps lands on the king. A piece on toSquare stays, as in findKingAttacker.
+     * @return Piece the attacker or null if there are no more after passing over skip of them
+     */
+    private static Piece findLineAttacker(Piece toMove, int toSquare, int kingSquare, ChessBoard board, int skip) {
+        OccupancyIndex lines = board.getOccupancyIndex();
+        MoveTables tables = board.getMoveTables();
+        Color opponent = toMove.getColor().opponent();
+        int fromSquare = board.getSquareIndex(toMove);
+        for (int direction = 0; direction < MoveTables.DIRECTIONS.length; direction++) {
+            int square = lines.nearest(kingSquare, direction, fromSquare, toSquare);
+            Piece piece = (square < 0)? null : board.getPiece(square); //toSquare holds nothing unless a capture
+            //direction ^ 1 is the opposite direction, the one a piece rides along toward the king
+            boolean rides = piece != null && tables.ridesAlong(Mailbox.code(piece), direction ^ 1);
+            if (rides && piece.getColor() == opponent && skip-- == 0) {
+                return piece;
+            }
+        }
+        int size = board.getBoardSize();
+        int row = kingSquare / size;
+        int col = kingSquare % size;
+        for (int dRow = -Movement.MAX_LEAP; dRow <= Movement.MAX_LEAP; dRow++) {
+            for (int dCol = -Movement.MAX_LEAP; dCol <= Movement.MAX_LEAP; dCol++) {
+                Piece piece = board.getPiece(row + dRow, col + dCol);
+                if (piece == null || piece.getColor() != opponent) {
+                    continue; //toMove's own square holds no opponent either
+                }
+                byte reach = tables.getReach(Mailbox.code(piece), -dRow, -dCol);
+                if ((reach == MoveTables.LEAP || reach == MoveTables.CAPTURE) && skip-- == 0) {
+                    return piece;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the opponent pieces that could capture the king of the same color as toMove on kingSquare if toMove were
+     * to move to toSquare with the AttackTables: toMove leaves its square and blocks toSquare while any piece there
+     * stays.
+     * @return long the bitboard of the pieces
+     */
+    private static long getKingAttackers(Piece toMove, int toSquare, int kingSquare, ChessBoard board) {
+        long occupancy = (board.getOccupancy() & ~(1L << board.getSquareIndex(toMove))) | (1L << toSquare);
+        return board.getAttackers(kingSquare, toMove.getColor().opponent(), occupancy);
+    }
+
+    /**
+     * Determines if the rules of toMove let it move to the square with index toSquare, or capture toCapture there if
+     * it is not null, the same as canMoveTo or canCapture of toMove
+     * @return boolean
+     */
+    static boolean canReach(Piece toMove, Piece toCapture, int toSquare, ChessBoard board) {
+        boolean isOpponent = toCapture != null && toCapture.getColor() != toMove.getColor();
+        switch (getReach(toMove, toSquare, board)) {
+            case MoveTables.LEAP:
+            case MoveTables.SLIDE:
+                return toCapture == null || isOpponent;
+            case MoveTables.CAPTURE:
+                return isOpponent;
+            case MoveTables.PUSH:
+                return toCapture == null;
+            case MoveTables.DOUBLE_PUSH:
+                return toCapture == null && toMove.isFirstTurn();
+            case MoveTables.UNKNOWN: //only a piece off the board is further away than the tables reach
+                int size = board.getBoardSize();
+                return (toCapture == null)? toMove.canMoveTo(new int[]{toSquare / size, toSquare % size})
+                        : toMove.canCapture(toCapture);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Determines if the square with index middle is on the path piece takes to the square with index end, the same as
+     * isBetween of piece
+     * @return boolean
+     */
+    private static boolean isBetween(Piece piece, int middle, int end, ChessBoard board) {
+        int size = board.getBoardSize();
+        byte reach = getReach(piece, end, board);
+        if (reach == MoveTables.NONE) {
+            return false; //there is no path to a square the piece cannot reach
+        }
+        if (reach == MoveTables.UNKNOWN) { //only a piece off the board is further away than the tables reach
+            return piece.isBetween(new int[]{middle / size, middle % size}, new int[]{end / size, end % size});
+        }
+        boolean isPath = reach == MoveTables.SLIDE || (reach == MoveTables.DOUBLE_PUSH && piece.isFirstTurn());
+        return isPath && isStrictlyBetween(piece.getRow() * size + piece.getCol(), middle, end, size);
+    }
+
+    /**
+     * Determines if the square with index middle lies strictly between the squares with indexes from and to, which
+     * must be on the same row, column or diagonal
+     * @param from the index of a square, row * boardSize + col
+     * @param middle the index of a square, row * boardSize + col
+     * @param to the index of a square, row * boardSize + col
+     * @param size the length of a side of the board
+     * @return boolean
+     */
+    static boolean isStrictlyBetween(int from, int middle, int to, int size) {
+        int dRow = to / size - from / size;
+        int dCol = to % size - from % size;
+        int mRow = middle / size - from / size;
+        int mCol = middle % size - from % size;
+        int distance = Math.max(Math.abs(mRow), Math.abs(mCol));
+        boolean onLine = mRow == distance * Integer.signum(dRow) && mCol == distance * Integer.signum(dCol);
+        return onLine && 0 < distance && distance < Math.max(Math.abs(dRow), Math.abs(dCol));
+    }
+
+    /**
+     * Determines if no piece other than ignore stands strictly between toMove and the square with index toSquare,
+     * both on the board, by asking the OccupancyIndex of a large board or walking the Mailbox of a small one along
+     * the path of the given reach
+     * @return boolean
+     */
+    private static boolean isClearLine(Piece ignore, Piece toMove, int toSquare, byte reach, ChessBoard board) {
+        if (reach != MoveTables.SLIDE && !(reach == MoveTables.DOUBLE_PUSH && toMove.isFirstTurn())) {
+            return true; //leaps, captures and single pushes pass over nothing
+        }
+        OccupancyIndex lines = board.getOccupancyIndex();
+        if (lines != null) {
+            boolean ignored = ignore != null && board.getPiece(ignore.getRow(), ignore.getCol()) == ignore;
+            return lines.isClearBetween(board.getSquareIndex(toMove), toSquare,
+                    ignored? board.getSquareIndex(ignore) : -1);
+        }
+        Mailbox mailbox = board.getMailbox();
+        int size = board.getBoardSize();
+        int offset = mailbox.getOffset(Integer.signum(toSquare / size - toMove.getRow()),
+                Integer.signum(toSquare % size - toMove.getCol()));
+        int end = mailbox.toCell(toSquare);
+        for (int cell = mailbox.toCell(board.getSquareIndex(toMove)) + offset; cell != end; cell += offset) {
+            if (Mailbox.isPiece(mailbox.get(cell)) && board.getPiece(mailbox.toSquare(cell)) != ignore) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines if no piece other than ignore lies between toMove and toSquare by asking toMove about every piece
+     * on the board, which works wherever the squares are
+     * @return boolean
+     */
+    private static boolean isClearPathOfPieces(Piece ignore, Piece toMove, int[] toSquare, ChessBoard board) {
+        for (Piece middle : board.getPieces()) {
+            if (middle != ignore && toMove.isBetween(middle.getSquare(), toSquare)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets how toMove reaches the square with index toSquare from the MoveTables of the board
+     * @return byte a reach of MoveTables, UNKNOWN if the squares are further apart than the board is wide
+     */
+    private static byte getReach(Piece toMove, int toSquare, ChessBoard board) {
+        int size = board.getBoardSize();
+        return board.getMoveTables().getReach(Mailbox.code(toMove), toSquare / size - toMove.getRow(),
+                toSquare % size - toMove.getCol());
+    }
+
+    /**
+     * Determines if the AttackTables answer questions about moves of toMove: the board is 8x8 and toMove stands on it
+     * @return boolean
+     */
+    private static boolean usesAttackTables(Piece toMove, ChessBoard board) {
+        return board.getBoardSize() == 8 && board.getPiece(toMove.getRow(), toMove.getCol()) == toMove;
+    }
+
+    /**
+     * Determines if the square lies within the square board ignoring whether it has been made invalid
+     * @return boolean
+     */
+    private static boolean isOnBoard(int[] square, ChessBoard board) {
+        return square != null && square.length >= 2 && isOnBoard(square[0], square[1], board);
+    }
+
+    private static boolean isOnBoard(int row, int col, ChessBoard board) {
+        int size = board.getBoardSize();
+        return 0 <= row && row < size && 0 <= col && col < size;
+    }
+
+    /**
+     * Gets the squares toMove passes over as it reaches the square with index toSquare in the given way on an 8x8
+     * board
+     * @return long the bitboard of the squares
+     */
+    private static long getPath(Piece toMove, int toSquare, byte reach, ChessBoard board) {
+        long between = AttackTables.between(board.getSquareIndex(toMove), toSquare);
+        switch (reach) {
+            case MoveTables.SLIDE:
+                return between;
+            case MoveTables.DOUBLE_PUSH:
+                return toMove.isFirstTurn()? between : 0;
+            default: //leaps, captures and single pushes jump
+                return 0;
+        }
+    }
+}
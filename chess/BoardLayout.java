@@ -1,6 +1,7 @@
 package chess;
 
 import chess.boards.ChessBoard;
+import chess.pieces.Piece;
 
 import java.awt.*;
 import java.awt.Color;
@@ -61,4 +62,15 @@ public class BoardLayout extends JPanel {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Shows on every square the piece standing on it on the board
+     * @param board the chess board we are modeling after
+     */
+    public void showPieces(ChessBoard board) {
+        for (Component component : getComponents()) {
+            Square square = (Square) component;
+            Piece piece = board.getPiece(square.position);
+            square.setText((piece != null)? piece.toString() : "");
+        }
+    }
+}
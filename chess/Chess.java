@@ -1,8 +1,6 @@
 package chess;
 
 import chess.boards.*;
-import chess.pieces.Pawn;
-import chess.pieces.Piece;
 
 
 /**
@@ -13,8 +11,8 @@ import chess.pieces.Piece;
 public class Chess {
     private ChessBoard board; //The chess board that is being played on
     private Color turn; //The player whose turn it is
-    private int[] lastFrom; //The square that was last moved from
-    private int[] lastTo; //The square that was last moved to
+    private volatile Position position; //The snapshot of the current position, published for other threads
+    private GameStatus status; //The status of the current position once found, null until then
 
 
     /**
@@ -23,12 +21,30 @@ public class Chess {
      * @param boardType String describing the kind of board desired
      */
     public Chess(String firstTurn, String boardType) {
-        lastFrom = null;
-        lastTo =  null;
         turn = (firstTurn.equals("W")) ? Color.W : Color.B;
         board = (boardType.equals("Standard")) ? new StandardBoard() : new CustomBoard();
+        position = Position.of(board, turn);
     }
 
+    /**
+     * Sets up a game on the given board with the given player to move, to carry on from a position. The game plays
+     * on the board itself, so pass a copy of it to keep the original as it is.
+     * @param board A ChessBoard
+     * @param firstTurn A Color that denotes the player to move
+     */
+    public Chess(ChessBoard board, Color firstTurn) {
+        this.board = board;
+        turn = firstTurn;
+        position = Position.of(board, turn);
+    }
+
+    /**
+     * Copies the game onto a new independent board with the same player to move, so each copy can be played or
+     * analysed on its own. Moves made before the copy cannot be undone on it.
+     * @return Chess
+     */
+    public Chess copy() { return new Chess(board.copy(), turn); }
+
     /**
      * Moves the piece on fromSquare to toSquare if its a valid move for player. Returns a boolean to denote if the
      * move was indeed made.
@@ -36,45 +52,72 @@ public class Chess {
      * @param toSquare An integer array representing a square by containing its row and column
      * @return boolean will return true iff the move was legal
      */
-    public boolean movePiece(int[] fromSquare, int[] toSquare) {
-        if (BoardConfiguration.canMovePiece(fromSquare, toSquare, turn, board)) {
-            Piece piece = board.getPiece(fromSquare);
+    public boolean movePiece(int[] fromSquare, int[] toSquare) { return move(fromSquare, toSquare).isLegal(); }
 
-            if (piece instanceof Pawn) {
-                ((Pawn) piece).setFirstTurn(false);
-            }
-            lastFrom = fromSquare;
-            lastTo = toSquare;
-            board.movePiece(piece, toSquare);
-            swapTurn();
-            return true;
-        } else {
-            return false;
+    /**
+     * Moves the piece on fromSquare to toSquare if its a valid move for player, or tells why the move was rejected.
+     * Any input is accepted, null or off the board, without an exception being thrown.
+     * @param fromSquare An integer array representing a square by containing its row and column
+     * @param toSquare An integer array representing a square by containing its row and column
+     * @return MoveResult that is LEGAL iff the move was made
+     */
+    public MoveResult move(int[] fromSquare, int[] toSquare) {
+        MoveResult result = BoardConfiguration.checkMove(fromSquare, toSquare, turn, board);
+        if (result.isLegal()) {
+            int size = board.getBoardSize();
+            int from = fromSquare[0] * size + fromSquare[1];
+            int to = toSquare[0] * size + toSquare[1];
+            board.makeMove(from, to);
+            status = null;
+            turn = turn.opponent();
+            position = position.after(from, to, turn, board.getHash(turn));
         }
+        return result;
+    }
+
+    /**
+     * Gets the status of the player whose turn it is. It is found at most once per position and kept until the
+     * position changes, by a move, an undo, a change of turn or pieces changed on the board directly.
+     * @return GameStatus
+     */
+    public GameStatus getStatus() {
+        if (status == null || status.getHash() != board.getHash(turn)) {
+            status = GameStatus.of(turn, board);
+        }
+        return status;
     }
 
     /**
      * @return boolean that is true iff the player whose turn it is, is in check mate
      */
-    public boolean isCheckMate() { return BoardConfiguration.isCheckMate(turn, board); }
+    public boolean isCheckMate() { return getStatus().isCheckMate(); }
 
     /**
      * @return boolean that is true iff the player whose turn it is, is in check
      */
-    public boolean isCheck() { return BoardConfiguration.isCheck(turn, board); }
+    public boolean isCheck() { return getStatus().isCheck(); }
 
     /**
      * @return boolean that is true iff a stale mate has been reached
      */
-    public boolean isStaleMate() { return BoardConfiguration.isStaleMate(turn, board); }
+    public boolean isStaleMate() { return getStatus().isStaleMate(); }
 
     /**
      * Sets the current turn to be the other player
      */
-    public void swapTurn() { turn = (turn == Color.W) ? Color.B : Color.W; }
+    public void swapTurn() {
+        turn = turn.opponent();
+        position = position.withPlayer(turn, board.getHash(turn));
+    }
 
     public ChessBoard getBoard() { return board; }
 
+    /**
+     * Gets the Zobrist hash of the current position including the player whose turn it is
+     * @return long
+     */
+    public long getHash() { return board.getHash(turn); }
+
     /**
      * Gets the Color representation of the player whose turn it is
      * @return Color
@@ -82,14 +125,26 @@ public class Chess {
     public Color getPlayer() { return turn; }
 
     /**
-     * Undoes the last move if there was any
+     * Gets an immutable snapshot of the current position. It may be read from any thread while the game goes on and
+     * stays as it is after later moves; a new snapshot is published after every move, undo and change of turn.
+     * @return Position
+     */
+    public Position getPosition() { return position; }
+
+    /**
+     * Undoes the last move that has not been undone yet if there is any, so repeated undos go back to the start
      */
     public void undoLastMove() {
-        if (lastFrom != null) {
-            board.undoMove(lastFrom, lastTo);
-            swapTurn();
-            lastFrom = null;
-            lastTo = null;
+        if (board.getPly() > 0) {
+            board.unmakeMove();
+            status = null;
+            turn = turn.opponent();
+            Position previous = position.getPrevious();
+            if (previous == null) { //the snapshots began after this move was made
+                position = Position.of(board, turn);
+            } else {
+                position = (previous.getPlayer() == turn)? previous : previous.withPlayer(turn, board.getHash(turn));
+            }
         }
     }
 }
\ No newline at end of file
@@ -62,6 +62,17 @@ public class ChessGameGUI {
                 "W") == JOptionPane.YES_OPTION)? "W" : "B";
     }
 
+    /**
+     * Opens a dialogue box that lets the user choose a color for the computer to play
+     * @return String the representation of the color chosen, "None" if both players are people
+     */
+    public String getComputerPlayer() {
+        String[] choices = {"None", "W", "B"};
+        int choice = JOptionPane.showOptionDialog(frame, "Which player should the computer play?", "Player Options",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, choices, "None");
+        return (choice > 0)? choices[choice] : "None";
+    }
+
     /**
      * Opens a dialogue box alerting the user that player has won and updates the score
      * @param player the color of the winning player
@@ -96,11 +107,28 @@ public class ChessGameGUI {
      */
     public void invalidMove() { JOptionPane.showMessageDialog(frame, "Invalid Move"); }
 
+    /**
+     * Opens a dialogue box alerting the user that the move was invalid and why
+     * @param reason the MoveResult telling the rule the move broke
+     */
+    public void invalidMove(MoveResult reason) {
+        JOptionPane.showMessageDialog(frame, "Invalid Move: " + reason.getDescription());
+    }
+
     /**
      * Refreshes the graphical representation board to be used when a change occurs
      */
     public void syncBoard() { boardLayout.repaint(); }
 
+    /**
+     * Shows the pieces of the board on the graphical representation again, used when more than one square changed
+     * @param board the chess board we are modeling after
+     */
+    public void showPieces(ChessBoard board) {
+        boardLayout.showPieces(board);
+        syncBoard();
+    }
+
     /**
      * Creates the JFrame with all the desired window settings
      */
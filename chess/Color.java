@@ -4,6 +4,14 @@ package chess;
 public enum Color {
 	W,B;
 
+	/**
+	 * Gets the color of the other player
+	 * @return Color
+	 */
+	public Color opponent() {
+		return (this == W)? B : W;
+	}
+
 	@Override
 	public String toString() {
 		return (this == W)? "W" : "B";
@@ -0,0 +1,118 @@
+package chess;
+
+import java.util.Arrays;
+
+import chess.boards.ChessBoard;
+import chess.pieces.Piece;
+
+/**
+ * GameStatus --- class that holds what the player to move faces in one position: whether the game goes on, the
+ * player is in check, check mate or stale mate, along with the number of legal moves and the squares of the pieces
+ * giving check. Everything is found in a single pass when the status is made: the checkers and pins once by a
+ * MoveValidator, the legal moves once by the MoveGenerator, and the checking pieces by a scan that stops as soon as
+ * all the attackers of the king are found. A player whose king has been captured has lost, so its status is check
+ * mate.
+ * @author    Jeremy McMahan
+ */
+public final class GameStatus {
+    /**
+     * State --- the ways a position can stand for the player to move
+     */
+    public enum State { ONGOING, CHECK, CHECK_MATE, STALE_MATE }
+
+    private final State state; //how the position stands for the player to move
+    private final int legalMoveCount; //the number of legal moves of the player to move
+    private final int[] checkers; //the squares of the opposing pieces attacking the king
+    private final long hash; //the hash of the position, with the player to move, the status was found for
+
+    private GameStatus(State state, int legalMoveCount, int[] checkers, long hash) {
+        this.state = state;
+        this.legalMoveCount = legalMoveCount;
+        this.checkers = checkers;
+        this.hash = hash;
+    }
+
+    /**
+     * Finds the status of the player in the position on the board
+     * @param player A Color that denotes the player to move
+     * @param board A ChessBoard
+     * @return GameStatus
+     */
+    public static GameStatus of(Color player, ChessBoard board) {
+        long hash = board.getHash(player);
+        int kingSquare = board.getKingSquare(player);
+        if (kingSquare < 0) {
+            return new GameStatus(State.CHECK_MATE, 0, new int[0], hash);
+        }
+        MoveValidator validator = new MoveValidator();
+        int legalMoveCount = MoveGenerator.generateLegalMoves(player, board, new MoveList(), validator);
+        int[] checkers = findCheckers(player, kingSquare, validator.getCheckerCount(), board);
+        State state;
+        if (validator.isInCheck()) {
+            state = (legalMoveCount == 0)? State.CHECK_MATE : State.CHECK;
+        } else {
+            state = (legalMoveCount == 0)? State.STALE_MATE : State.ONGOING;
+        }
+        return new GameStatus(state, legalMoveCount, checkers, hash);
+    }
+
+    public State getState() { return state; }
+
+    /**
+     * @return boolean that is true iff the player to move is in check, whether or not it is check mate
+     */
+    public boolean isCheck() { return state == State.CHECK || state == State.CHECK_MATE; }
+
+    /**
+     * @return boolean that is true iff the player to move is in check mate
+     */
+    public boolean isCheckMate() { return state == State.CHECK_MATE; }
+
+    /**
+     * @return boolean that is true iff the player to move is in stale mate
+     */
+    public boolean isStaleMate() { return state == State.STALE_MATE; }
+
+    /**
+     * @return boolean that is true iff the game is over for the player to move
+     */
+    public boolean isGameOver() { return state == State.CHECK_MATE || state == State.STALE_MATE; }
+
+    /**
+     * Gets the number of legal moves of the player to move
+     * @return int
+     */
+    public int getLegalMoveCount() { return legalMoveCount; }
+
+    /**
+     * Gets the squares of the opposing pieces attacking the king of the player to move
+     * @return int[] of square indexes, row * boardSize + col, that is empty if the player is not in check
+     */
+    public int[] getCheckers() { return checkers.clone(); }
+
+    /**
+     * Gets the Zobrist hash, including the player to move, of the position the status was found for
+     * @return long
+     */
+    public long getHash() { return hash; }
+
+    /**
+     * Scans the opposing pieces for those attacking the king, stopping once count of them are found
+     * @return int[] of their squares
+     */
+    private static int[] findCheckers(Color player, int kingSquare, int count, ChessBoard board) {
+        int[] found = new int[count];
+        int size = 0;
+        Color opponent = player.opponent();
+        Piece king = board.getPiece(kingSquare);
+        for (int i = 0; i < board.getPieceCount(opponent) && size < count; i++) {
+            int square = board.getPieceSquare(opponent, i);
+            Piece piece = board.getPiece(square);
+            if (BoardConfiguration.canReach(piece, king, kingSquare, board)
+                    && BoardConfiguration.isClearPath(null, piece, kingSquare, board)) {
+                found[size++] = square;
+            }
+        }
+        return (size == count)? found : Arrays.copyOf(found, size);
+    }
+}
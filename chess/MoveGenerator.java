@@ -0,0 +1,161 @@
+package chess;
+
+import chess.boards.BoardGeometry;
+import chess.boards.ChessBoard;
+import chess.boards.Mailbox;
+import chess.boards.MoveTables;
+
+/**
+ * MoveGenerator --- class to find the legal moves of a player. Every piece of the player proposes the squares its
+ * steps and rays reach on the board and only those candidates are checked for the safety of the king, instead of
+ * trying every piece on every square. Leaps and rays are read from the BoardGeometry of the board's shape, which
+ * lists only valid squares, so no bounds or validity checks are left to make; a pawn's moves forward are walked on
+ * the board's Mailbox, whose border and invalid square codes stop it.
+ * The safety of the king is decided by a MoveValidator updated once per position rather than move by move.
+ * @author    Jeremy McMahan
+ */
+public class MoveGenerator {
+
+    /**
+     * Fills the move list with all the legal moves of the player on the given board, replacing what it held before.
+     * @param player A Color that denotes the player
+     * @param board A ChessBoard
+     * @param moves A MoveList that receives the packed moves
+     * @return int the number of legal moves
+     */
+    public static int generateLegalMoves(Color player, ChessBoard board, MoveList moves) {
+        return generateLegalMoves(player, board, moves, new MoveValidator());
+    }
+
+    /**
+     * Fills the move list with all the legal moves of the player on the given board, replacing what it held before,
+     * using the given validator so that none is made per call.
+     * @param player A Color that denotes the player
+     * @param board A ChessBoard
+     * @param moves A MoveList that receives the packed moves
+     * @param validator A MoveValidator that is updated with the position
+     * @return int the number of legal moves
+     */
+    public static int generateLegalMoves(Color player, ChessBoard board, MoveList moves, MoveValidator validator) {
+        moves.clear();
+        generate(player, board, moves, validator, false);
+        return moves.size();
+    }
+
+    /**
+     * Fills the move list with only the legal captures of the player on the given board, replacing what it held
+     * before, for searches that follow nothing but captures. Quiet moves are never proposed.
+     * @param player A Color that denotes the player
+     * @param board A ChessBoard
+     * @param moves A MoveList that receives the packed moves
+     * @param validator A MoveValidator that is updated with the position
+     * @return int the number of legal captures
+     */
+    public static int generateLegalCaptures(Color player, ChessBoard board, MoveList moves, MoveValidator validator) {
+        moves.clear();
+        generate(player, board, moves, validator, true);
+        return moves.size();
+    }
+
+    /**
+     * Determines if the player has at least one legal move, stopping at the first one found
+     * @param player A Color that denotes the player
+     * @param board A ChessBoard
+     * @return boolean
+     */
+    public static boolean hasLegalMove(Color player, ChessBoard board) {
+        return generate(player, board, null, new MoveValidator(), false);
+    }
+
+    /**
+     * Finds the legal moves of the player, or only its captures if capturesOnly, and adds them to moves. If moves is
+     * null then it stops at the first legal move instead.
+     * @return boolean that is true iff a legal move was found
+     */
+    private static boolean generate(Color player, ChessBoard board, MoveList moves, MoveValidator validator,
+                                    boolean capturesOnly) {
+        if (board.getKingSquare(player) < 0) {
+            return false; //no move is legal without a king
+        }
+        validator.update(board, player);
+        boolean found = false;
+        for (int i = 0; i < board.getPieceCount(player); i++) {
+            found |= generate(board.getPieceSquare(player, i), player, capturesOnly, validator, board, moves);
+            if (found && moves == null) {
+                return true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the legal moves of the player's piece on the square with index from by following its steps, its rays and
+     * for pawns its moves forward, which are left out if capturesOnly. The piece is known by its code alone, so no
+     * Piece is made.
+     * @return boolean that is true iff a legal move was found
+     */
+    private static boolean generate(int from, Color player, boolean capturesOnly, MoveValidator validator,
+                                    ChessBoard board, MoveList moves) {
+        Mailbox mailbox = board.getMailbox();
+        MoveTables tables = board.getMoveTables();
+        BoardGeometry geometry = board.getGeometry();
+        int cell = mailbox.toCell(from);
+        byte pieceCode = mailbox.getCode(from);
+        int forward = tables.getForwardOffset(pieceCode);
+        boolean found = false;
+        for (int to : geometry.getLeaps(pieceCode, from)) {
+            byte code = mailbox.getCode(to);
+            boolean canLand = (code == Mailbox.EMPTY)? forward == 0 && !capturesOnly //pawns only step to capture
+                    : !Mailbox.isPieceOf(code, player);
+            found |= canLand && addIfLegal(from, to, 0, validator, board, moves);
+            if (found && moves == null) {
+                return true;
+            }
+        }
+        for (int direction : tables.getRideDirections(pieceCode)) {
+            for (int to : geometry.getRay(from, direction)) {
+                byte code = mailbox.getCode(to);
+                if (!Mailbox.isPieceOf(code, player) && (code != Mailbox.EMPTY || !capturesOnly)) {
+                    found |= addIfLegal(from, to, 0, validator, board, moves);
+                    if (found && moves == null) {
+                        return true;
+                    }
+                }
+                if (code != Mailbox.EMPTY) {
+                    break;
+                }
+            }
+        }
+        //a pawn on a square made invalid under it is stuck
+        if (forward != 0 && !capturesOnly && board.isValidSquare(from)) {
+            byte code = mailbox.get(cell + forward);
+            if (code == Mailbox.EMPTY) {
+                found |= addIfLegal(from, mailbox.toSquare(cell + forward), 0, validator, board, moves);
+            }
+            //the border is as wide as two steps so the second square is always in the mailbox
+            boolean secondEmpty = mailbox.get(cell + 2 * forward) == Mailbox.EMPTY;
+            if (board.isFirstTurn(from) && !Mailbox.isPiece(code) && secondEmpty) {
+                found |= addIfLegal(from, mailbox.toSquare(cell + 2 * forward), MoveList.DOUBLE_STEP,
+                        validator, board, moves);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Adds the move of the piece from the square with index from to the square with index to if it does not leave
+     * the king of the piece's player in danger.
+     * @return boolean that is true iff the move is legal
+     */
+    private static boolean addIfLegal(int from, int to, int flags, MoveValidator validator, ChessBoard board,
+                                      MoveList moves) {
+        if (!validator.isKingSafe(from, to)) {
+            return false;
+        }
+        if (moves != null) {
+            boolean captures = Mailbox.isPiece(board.getMailbox().getCode(to));
+            moves.add(MoveList.pack(from, to, flags | (captures? MoveList.CAPTURE : 0)));
+        }
+        return true;
+    }
+}
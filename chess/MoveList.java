@@ -0,0 +1,86 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * MoveList --- class that holds moves packed into integers in a buffer that can be cleared and filled again without
+ * allocating. A packed move contains the index of the square moved from, the index of the square moved to and flags
+ * describing the move, where the index of a square is row * boardSize + col. Each index takes 12 bits so boards up to
+ * 64x64 are supported.
+ * @author    Jeremy McMahan
+ */
+public class MoveList {
+    public static final int CAPTURE = 1; //flag for a move that captures a piece
+    public static final int DOUBLE_STEP = 2; //flag for a pawn moving two squares on its first turn
+    private static final int SQUARE_BITS = 12; //the number of bits used by a square index
+    private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+    private int[] moves; //the packed moves
+    private int size; //the number of moves in the list
+
+    /**
+     * Creates an empty move list with room for more moves than any player usually has
+     */
+    public MoveList() { this(256); }
+
+    /**
+     * Creates an empty move list with room for the given number of moves before it has to grow
+     * @param capacity the initial number of moves the list can hold
+     */
+    public MoveList(int capacity) {
+        moves = new int[Math.max(capacity, 1)];
+        size = 0;
+    }
+
+    /**
+     * Adds the packed move at the end of the list
+     * @param move a move made by pack
+     */
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * Gets the packed move at the given position in the list
+     * @param index the position of the move in the list
+     * @return int
+     */
+    public int get(int index) { return moves[index]; }
+
+    public int size() { return size; }
+
+    /**
+     * Exchanges the moves at the two given positions in the list, for putting the moves in the order to try them
+     * @param i the position of a move in the list
+     * @param j the position of a move in the list
+     */
+    public void swap(int i, int j) {
+        int move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+    }
+
+    /**
+     * Empties the list while keeping its buffer for reuse
+     */
+    public void clear() { size = 0; }
+
+    /**
+     * Packs a move into an integer
+     * @param from the index of the square moved from
+     * @param to the index of the square moved to
+     * @param flags the flags describing the move such as CAPTURE
+     * @return int
+     */
+    public static int pack(int from, int to, int flags) {
+        return from | (to << SQUARE_BITS) | (flags << (2 * SQUARE_BITS));
+    }
+
+    public static int getFrom(int move) { return move & SQUARE_MASK; }
+
+    public static int getTo(int move) { return (move >>> SQUARE_BITS) & SQUARE_MASK; }
+
+    public static int getFlags(int move) { return move >>> (2 * SQUARE_BITS); }
+}
@@ -0,0 +1,34 @@
+package chess;
+
+/**
+ * MoveResult --- the outcome of checking a move: LEGAL, or the first rule the move breaks. The rules are checked in the
+ * order the constants are listed, so a move that breaks several gets the earliest of them.
+ * @author    Jeremy McMahan
+ */
+public enum MoveResult {
+    LEGAL("Legal move"),
+    OFF_BOARD("Square is not on the board"),
+    NO_PIECE("No piece to move"),
+    WRONG_COLOR("Not your piece"),
+    NO_KING("No king left to move for"),
+    INVALID_SQUARE("Square is not in play"),
+    OWN_PIECE("Cannot capture your own piece"),
+    UNREACHABLE("Piece does not move that way"),
+    BLOCKED("Path is blocked"),
+    KING_IN_DANGER("Leaves the king in check");
+
+    private final String description; //a short message to show a player
+
+    MoveResult(String description) { this.description = description; }
+
+    /**
+     * @return boolean that is true iff the move may be made
+     */
+    public boolean isLegal() { return this == LEGAL; }
+
+    /**
+     * Gets a short message telling a player why the move was rejected
+     * @return String
+     */
+    public String getDescription() { return description; }
+}
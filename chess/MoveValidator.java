@@ -0,0 +1,236 @@
+package chess;
+
+import chess.boards.ChessBoard;
+import chess.boards.Mailbox;
+import chess.boards.MoveTables;
+import chess.pieces.Piece;
+import chess.pieces.PieceType;
+
+/**
+ * MoveValidator --- class that decides in constant time if moves of the player to move keep its king safe. For a
+ * position it finds once the pieces giving check and the pieces pinned to the king, the player's pieces that are the
+ * only ones standing between the king and an opposing piece riding toward it. A move is then checked against those
+ * instead of simulating it and looking for attackers of the king.
+ * It gives the same answers as BoardConfiguration.isKingSafe, quirks included: a captured piece is still taken to
+ * attack, so a pinned piece may not capture its pinner, while blocking or capturing a lone checker saves the king even
+ * for a pinned piece, and capturing a king is always allowed. The rare positions the masks do not cover, double check
+ * and a second king, are asked of BoardConfiguration.
+ * A validator is meant to be reused: update it with each new position before asking about its moves.
+ * @author    Jeremy McMahan
+ */
+public class MoveValidator {
+    private static final int NONE = -1; //the square of a checker or king that is not there
+    private static final int SAFE = 1; //the masks tell the move keeps the king safe
+    private static final int UNSAFE = 0; //the masks tell the move leaves the king in danger
+    private static final int ASK = -1; //the masks do not cover the move, so BoardConfiguration is asked
+    private final int[] pinned = new int[MoveTables.DIRECTIONS.length]; //the squares of the pinned pieces
+    private final int[] pinners = new int[MoveTables.DIRECTIONS.length]; //the square pinning each pinned piece
+    private int pinCount; //the number of pinned pieces, at most one along each direction from the king
+    private ChessBoard board; //the board of the position
+    private Color player; //the player to move
+    private int kingSquare; //the square of the player's king or NONE if it has none
+    private int checkers; //the number of opposing pieces attacking the king
+    private int checker; //the square of the checker if there is exactly one, otherwise NONE
+    private boolean checkerSlides; //true iff the lone checker slides to the king so it can be blocked
+    private int checkDirections; //bit i is set iff a checker slides toward the king along DIRECTIONS[i]
+
+    /**
+     * Finds the checkers and pinned pieces of the player in the position on the board. The board must not change
+     * while moves of the position are asked about.
+     * @param board A ChessBoard
+     * @param player A Color that denotes the player to move
+     */
+    public void update(ChessBoard board, Color player) {
+        this.board = board;
+        this.player = player;
+        kingSquare = board.getKingSquare(player);
+        pinCount = 0;
+        checkers = 0;
+        checker = NONE;
+        checkerSlides = false;
+        checkDirections = 0;
+        if (kingSquare == NONE) {
+            return;
+        }
+        Color opponent = player.opponent();
+        checkers = board.getAttackCount(kingSquare, opponent);
+        Mailbox mailbox = board.getMailbox();
+        MoveTables tables = board.getMoveTables();
+        int kingCell = mailbox.toCell(kingSquare);
+        for (int direction = 0; direction < MoveTables.DIRECTIONS.length; direction++) {
+            int offset = tables.getDirectionOffset(direction);
+            int cell = nextPiece(mailbox, kingCell, offset);
+            byte code = mailbox.get(cell);
+            if (Mailbox.isPieceOf(code, player)) {
+                int behind = nextPiece(mailbox, cell, offset);
+                byte behindCode = mailbox.get(behind);
+                //direction ^ 1 is the opposite direction, the one a piece rides along toward the king
+                if (Mailbox.isPieceOf(behindCode, opponent) && tables.ridesAlong(behindCode, direction ^ 1)) {
+                    pinned[pinCount] = mailbox.toSquare(cell);
+                    pinners[pinCount++] = mailbox.toSquare(behind);
+                }
+            } else if (Mailbox.isPiece(code) && tables.ridesAlong(code, direction ^ 1)) {
+                checkDirections |= 1 << (direction ^ 1);
+                checker = mailbox.toSquare(cell);
+                checkerSlides = true;
+            }
+        }
+        if (checkers == 1 && !checkerSlides) {
+            checker = findLeapingChecker(opponent, tables);
+        }
+    }
+
+    /**
+     * Determines if the player to move is in check
+     * @return boolean
+     */
+    public boolean isInCheck() { return checkers > 0; }
+
+    /**
+     * Gets the number of opposing pieces attacking the king of the player to move
+     * @return int
+     */
+    public int getCheckerCount() { return checkers; }
+
+    /**
+     * Determines if the piece on the square with the given index is pinned to the king of the player to move
+     * @param square the index of a square, row * boardSize + col
+     * @return boolean
+     */
+    public boolean isPinned(int square) { return findPin(square) != NONE; }
+
+    /**
+     * Determines if moving the piece on the square with index fromSquare to the square with index toSquare is legal
+     * on the position's board, the same as BoardConfiguration.canMovePiece for the player to move
+     * @param fromSquare the index of a square, row * boardSize + col
+     * @param toSquare the index of a square, row * boardSize + col
+     * @return boolean
+     */
+    public boolean canMovePiece(int fromSquare, int toSquare) {
+        Piece toMove = board.getPiece(fromSquare);
+        if (toMove == null || toMove.getColor() != player || kingSquare == NONE) {
+            return false; //there is no piece of the player to move, or no king so no move is legal
+        }
+        Piece toCapture = board.getPiece(toSquare);
+        boolean validSquares = board.isValidSquare(fromSquare) && board.isValidSquare(toSquare);
+        return validSquares && BoardConfiguration.canReach(toMove, toCapture, toSquare, board)
+                && BoardConfiguration.isClearPath(null, toMove, toSquare, board)
+                && isKingSafe(toMove, toCapture, toSquare);
+    }
+
+    /**
+     * Determines if moving the piece, toMove, of the player to move to the square with index toSquare keeps its king
+     * out of danger, the same as BoardConfiguration.isKingSafe. Assumes the move itself follows the rules of toMove.
+     * @param toMove A non-null Piece of the player to move
+     * @param toCapture The Piece on toSquare or null if there is none
+     * @param toSquare the index of a square on the board, row * boardSize + col
+     * @return boolean
+     */
+    public boolean isKingSafe(Piece toMove, Piece toCapture, int toSquare) {
+        if (toCapture != null && toCapture.getType() == PieceType.KING) {
+            return true; //capturing the opposing king is always safe
+        }
+        int answer = decide(board.getSquareIndex(toMove), toSquare, toMove.getType() == PieceType.KING);
+        if (answer == ASK) {
+            return BoardConfiguration.isKingSafe(toMove, toCapture, toSquare, player, checkers > 0, board);
+        }
+        return answer == SAFE;
+    }
+
+    /**
+     * Determines if moving the piece on the square with index fromSquare, of the player to move, to the square with
+     * index toSquare keeps its king out of danger, the same as isKingSafe for the pieces on those squares. The pieces
+     * are only made in the rare positions the masks do not cover.
+     * @param fromSquare the index of a square holding a piece of the player to move, row * boardSize + col
+     * @param toSquare the index of a square on the board, row * boardSize + col
+     * @return boolean
+     */
+    public boolean isKingSafe(int fromSquare, int toSquare) {
+        Mailbox mailbox = board.getMailbox();
+        byte target = mailbox.getCode(toSquare);
+        if (Mailbox.isPiece(target) && Mailbox.getType(target) == PieceType.KING) {
+            return true; //capturing the opposing king is always safe
+        }
+        int answer = decide(fromSquare, toSquare, Mailbox.getType(mailbox.getCode(fromSquare)) == PieceType.KING);
+        if (answer == ASK) {
+            return BoardConfiguration.isKingSafe(board.getPiece(fromSquare), board.getPiece(toSquare), toSquare,
+                    player, checkers > 0, board);
+        }
+        return answer == SAFE;
+    }
+
+    /**
+     * Decides by the checkers and pins whether moving a piece from the square with index from to the square with
+     * index toSquare keeps the king safe, for a move that does not capture a king
+     * @param movesKing true iff the piece moving is a king
+     * @return int SAFE, UNSAFE or ASK if the masks do not cover the move
+     */
+    private int decide(int from, int toSquare, boolean movesKing) {
+        boolean isKing = from == kingSquare;
+        if (checkers > 1 || (checkers == 1 && checker == NONE) || (movesKing && !isKing)) {
+            return ASK;
+        }
+        int size = board.getBoardSize();
+        if (isKing) {
+            int dRow = toSquare / size - from / size;
+            int dCol = toSquare % size - from % size;
+            int direction = MoveTables.getDirection(dRow, dCol);
+            if (direction == NONE) { //only steps are covered, rays through the king's square may reach further
+                return ASK;
+            }
+            //a checker riding toward the king still reaches the square behind it once the king steps away
+            boolean safe = !board.isAttacked(toSquare, player.opponent()) && (checkDirections & (1 << direction)) == 0;
+            return safe? SAFE : UNSAFE;
+        }
+        if (checkers == 1) { //whether pinned or not, only capturing or blocking the checker saves the king
+            boolean safe = toSquare == checker
+                    || (checkerSlides && BoardConfiguration.isStrictlyBetween(checker, toSquare, kingSquare, size));
+            return safe? SAFE : UNSAFE;
+        }
+        int pin = findPin(from);
+        boolean safe = pin == NONE || BoardConfiguration.isStrictlyBetween(kingSquare, toSquare, pinners[pin], size);
+        return safe? SAFE : UNSAFE;
+    }
+
+    /**
+     * Finds the position of the square in the list of pinned pieces
+     * @return int the position or NONE if the piece there is not pinned
+     */
+    private int findPin(int square) {
+        for (int i = 0; i < pinCount; i++) {
+            if (pinned[i] == square) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Finds the opposing piece that attacks the king by leaping, which no piece between can block
+     * @return int the square of the piece or NONE if there is none
+     */
+    private int findLeapingChecker(Color opponent, MoveTables tables) {
+        int size = board.getBoardSize();
+        for (int i = 0; i < board.getPieceCount(opponent); i++) {
+            int square = board.getPieceSquare(opponent, i);
+            byte code = board.getMailbox().getCode(square);
+            byte reach = tables.getReach(code, kingSquare / size - square / size, kingSquare % size - square % size);
+            if (reach == MoveTables.LEAP || reach == MoveTables.CAPTURE) {
+                return square;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Walks from the cell along the offset over empty and invalid squares
+     * @return int the cell of the first piece reached or of the border
+     */
+    private static int nextPiece(Mailbox mailbox, int cell, int offset) {
+        int target = cell + offset;
+        while (mailbox.get(target) == Mailbox.EMPTY || mailbox.get(target) == Mailbox.INVALID) {
+            target += offset;
+        }
+        return target;
+    }
+}
@@ -1,17 +1,17 @@
 package chess;
 
-import chess.pieces.Piece;
-
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import chess.engine.ComputerPlayer;
+
 /**
  * PlayChess --- class that simulates a round of chess games graphically
  * The game works by having the user click dialogue boxes to choose who goes first and the desired type of chess board
  * Then, by clicking on a square and another, the game will move the piece from the first clicked square to the second
  * clicked square. Once a player wins or a stale mate occurs, the user is notified and the game resets with the scores
  * updated. The users then may again choose who goes first and the board type. The game is complete once the users
- * decide to exit the window.
+ * decide to exit the window. The computer may play one of the colors, searching for its move for about a second.
  * @author    Jeremy McMahan
  */
 public class PlayChess {
@@ -19,6 +19,8 @@ public class PlayChess {
     private static BoardLayout.Square toButton; //The square that we are moving a piece to
     private static ChessGameGUI gui; //The GUI for the board
     private static Chess game; //The current chess game
+    private static ComputerPlayer computer; //The player of the color the computer plays, null if it plays none
+    private static final long COMPUTER_MILLIS = 1000; //The time the computer searches for each move
 
     /**
      * SquareController --- class to receive the squares the user clicks on and update the board accordingly
@@ -31,10 +33,11 @@ public class PlayChess {
                 toButton = null; //signal waiting for the square to move to
             } else {
                 toButton = ((BoardLayout.Square) e.getSource());
-                if (game.movePiece(fromButton.position, toButton.position)) {
+                MoveResult result = game.move(fromButton.position, toButton.position);
+                if (result.isLegal()) {
                     updateBoard();
                 } else {
-                    gui.invalidMove();
+                    gui.invalidMove(result);
                 }
             }
         }
@@ -46,15 +49,8 @@ public class PlayChess {
             toButton.setText(fromButton.getText()); //move the piece icon to the new square
             fromButton.setText("");
             gui.syncBoard();
-            if (game.isCheckMate()) {
-                game.swapTurn(); //current player in check mate so other player won
-                gui.gameWon(game.getPlayer());
-                reset();
-            } else if (game.isStaleMate()) {
-                gui.staleMate();
-                reset();
-            } else if (game.isCheck()) {
-                gui.check();
+            if (!showStatus()) {
+                playComputer();
             }
         }
     }
@@ -67,10 +63,13 @@ public class PlayChess {
         public void actionPerformed(ActionEvent e) {
             if (e.getActionCommand().equals("Undo")) {
                 game.undoLastMove();
-                Piece resurrected = game.getBoard().getPiece(toButton.position);
-                fromButton.setText(toButton.getText()); //put the moved piece's icon back
-                toButton.setText((resurrected != null)? resurrected.toString() : "");
-                gui.syncBoard();
+                if (computer != null && game.getPlayer() == computer.getColor()) {
+                    game.undoLastMove(); //take back the computer's reply too so the person is to move again
+                }
+                playComputer(); //nothing was left to take back before the computer's first move
+                gui.showPieces(game.getBoard()); //earlier moves may be undone too so redraw every square
+                fromButton = null;
+                toButton = null;
             } else if (e.getActionCommand().equals("Reset")){
                 reset();
             } else { //Forfeit
@@ -93,11 +92,46 @@ public class PlayChess {
     }
 
     /**
-     * Resets the board and updates the GUI
+     * Resets the board and updates the GUI, letting the computer move first if it plays the color to go first
      */
     private static void reset() {
         game = new Chess(gui.getPlayerStart(), gui.getBoardType());
+        String computerColor = gui.getComputerPlayer();
+        computer = computerColor.equals("None")? null
+                : ComputerPlayer.withTimeLimit(computerColor.equals("W")? Color.W : Color.B, COMPUTER_MILLIS);
         gui.setUpBoard(game.getBoard(), new SquareController());
+        playComputer();
+    }
+
+    /**
+     * Lets the computer make its move if it is its turn, then shows it
+     */
+    private static void playComputer() {
+        if (computer != null && computer.play(game)) {
+            gui.showPieces(game.getBoard());
+            showStatus();
+        }
+    }
+
+    /**
+     * Tells the users if the player to move is in check, check mate or stale mate, starting a new game once one ends
+     * @return boolean that is true iff a new game was started
+     */
+    private static boolean showStatus() {
+        GameStatus status = game.getStatus();
+        if (status.isCheckMate()) {
+            game.swapTurn(); //current player in check mate so other player won
+            gui.gameWon(game.getPlayer());
+            reset();
+            return true;
+        } else if (status.isStaleMate()) {
+            gui.staleMate();
+            reset();
+            return true;
+        } else if (status.isCheck()) {
+            gui.check();
+        }
+        return false;
     }
 
 }
@@ -0,0 +1,183 @@
+package chess;
+
+import chess.boards.ChessBoard;
+import chess.boards.Mailbox;
+import chess.pieces.Piece;
+import chess.pieces.PieceType;
+
+/**
+ * Position --- class that holds an immutable snapshot of a game: the shape of the board, the pieces on it, which
+ * pawns may still move twice, the player to move and the hash. Nothing about a position ever changes after it is
+ * made, so any number of threads may read, analyse or store positions of a game while it is being played, without
+ * locks and without copying.
+ * Each square is a byte holding the code of its piece and flags, kept in one array per row. The position after a
+ * move copies the array of rows and only the one or two rows the move changed, sharing every other row with the
+ * position before it, so a game's history of positions costs little more than the moves themselves.
+ * Each position also keeps the one it follows, if any, so the whole history can be walked back from the latest one.
+ * @author    Jeremy McMahan
+ */
+public final class Position {
+    private static final int PIECE = 0x1F; //the bits of a square holding the Mailbox code of its piece, 0 if none
+    private static final int FIRST_TURN = 0x20; //the bit of a square set iff its pawn may still move twice
+    private static final int INVALID = 0x40; //the bit of a square set iff it was made invalid
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final Color[] COLORS = Color.values();
+    private final int boardSize; //the length of a side of the board
+    private final byte[][] rows; //the code and flags of every square by row, rows shared with other positions
+    private final Color player; //the player to move
+    private final long hash; //the Zobrist hash of the position with the player to move
+    private final int ply; //the number of moves from the first position of the game
+    private final Position previous; //the position this one follows or null if it is the first
+
+    private Position(int boardSize, byte[][] rows, Color player, long hash, int ply, Position previous) {
+        this.boardSize = boardSize;
+        this.rows = rows;
+        this.player = player;
+        this.hash = hash;
+        this.ply = ply;
+        this.previous = previous;
+    }
+
+    /**
+     * Takes a snapshot of the position on the board with the given player to move
+     * @param board A ChessBoard
+     * @param player A Color that denotes the player to move
+     * @return Position that follows no other position
+     */
+    public static Position of(ChessBoard board, Color player) {
+        int size = board.getBoardSize();
+        byte[][] rows = new byte[size][size];
+        for (int square = 0; square < size * size; square++) {
+            byte cell = board.getMailbox().getCode(square);
+            int code = Mailbox.isPiece(cell)? cell : 0;
+            if (board.isFirstTurn(square)) {
+                code |= FIRST_TURN;
+            }
+            rows[square / size][square % size] = (byte) (board.isValidSquare(square)? code : code | INVALID);
+        }
+        return new Position(size, rows, player, board.getHash(player), 0, null);
+    }
+
+    /**
+     * Makes the position after the piece on the square with index from moves to the square with index to, capturing
+     * whatever stands there. Only the rows of the two squares are copied.
+     * @param from the index of the square of the moving piece, row * boardSize + col
+     * @param to the index of the square it moves to, row * boardSize + col
+     * @param next A Color that denotes the player to move after the move
+     * @param nextHash the hash of the position after the move with next to move
+     * @return Position that follows this one
+     */
+    Position after(int from, int to, Color next, long nextHash) {
+        byte[][] nextRows = rows.clone();
+        int fromRow = from / boardSize;
+        int toRow = to / boardSize;
+        nextRows[fromRow] = rows[fromRow].clone();
+        if (toRow != fromRow) {
+            nextRows[toRow] = rows[toRow].clone();
+        }
+        byte moved = (byte) (rows[fromRow][from % boardSize] & PIECE); //a pawn that moved cannot move twice again
+        nextRows[fromRow][from % boardSize] &= ~(PIECE | FIRST_TURN);
+        nextRows[toRow][to % boardSize] = (byte) ((rows[toRow][to % boardSize] & INVALID) | moved);
+        return new Position(boardSize, nextRows, next, nextHash, ply + 1, this);
+    }
+
+    /**
+     * Makes the same position with the other player to move, following the same position as this one does
+     * @param next A Color that denotes the player to move
+     * @param nextHash the hash of the position with next to move
+     * @return Position
+     */
+    Position withPlayer(Color next, long nextHash) {
+        return new Position(boardSize, rows, next, nextHash, ply, previous);
+    }
+
+    public int getBoardSize() { return boardSize; }
+
+    /**
+     * Gets the Color representation of the player to move
+     * @return Color
+     */
+    public Color getPlayer() { return player; }
+
+    /**
+     * Gets the Zobrist hash of the position including the player to move, the same as the board's hash was
+     * @return long
+     */
+    public long getHash() { return hash; }
+
+    /**
+     * Gets the number of moves made in the game before this position
+     * @return int
+     */
+    public int getPly() { return ply; }
+
+    /**
+     * Gets the position this one follows in its game
+     * @return Position that is null if this is the first position taken
+     */
+    public Position getPrevious() { return previous; }
+
+    /**
+     * Determines if the square with the given index is valid
+     * @param square the index of a square, row * boardSize + col
+     * @return boolean
+     */
+    public boolean isValidSquare(int square) { return (get(square) & INVALID) == 0; }
+
+    /**
+     * Gets the type of the piece on the square with the given index
+     * @param square the index of a square, row * boardSize + col
+     * @return PieceType that is null if the square is empty
+     */
+    public PieceType getPieceType(int square) {
+        int code = get(square) & PIECE;
+        return (code != 0)? TYPES[(code - 1) >> 1] : null;
+    }
+
+    /**
+     * Gets the color of the piece on the square with the given index
+     * @param square the index of a square, row * boardSize + col
+     * @return Color that is null if the square is empty
+     */
+    public Color getColor(int square) {
+        int code = get(square) & PIECE;
+        return (code != 0)? COLORS[(code - 1) & 1] : null;
+    }
+
+    /**
+     * Determines if the square with the given index holds a pawn that may still move two squares forward
+     * @param square the index of a square, row * boardSize + col
+     * @return boolean
+     */
+    public boolean isFirstTurn(int square) { return (get(square) & FIRST_TURN) != 0; }
+
+    /**
+     * Sets the position up on a new board, for analysing it with the rules that work on boards
+     * @return ChessBoard
+     */
+    public ChessBoard toBoard() {
+        ChessBoard board = new ChessBoard(boardSize);
+        for (int square = 0; square < boardSize * boardSize; square++) {
+            PieceType type = getPieceType(square);
+            if (type != null) {
+                Piece piece = type.create(getColor(square), square / boardSize, square % boardSize);
+                if (type.isPawn()) {
+                    piece.setFirstTurn(isFirstTurn(square));
+                }
+                board.addPiece(piece, square);
+            }
+        }
+        for (int square = 0; square < boardSize * boardSize; square++) {
+            if (!isValidSquare(square)) { //after the pieces, as a piece may stand on a square made invalid under it
+                board.makeSquareInvalid(new int[]{square / boardSize, square % boardSize});
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Gets the code and flags of the square with the given index
+     * @return byte
+     */
+    private byte get(int square) { return rows[square / boardSize][square % boardSize]; }
+}
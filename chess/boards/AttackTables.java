@@ -0,0 +1,236 @@
+package chess.boards;
+
+import chess.Color;
+
+/**
+ * AttackTables --- class that holds precomputed attacks of the pieces on 8x8 boards as bitboards, where bit
+ * row * 8 + col stands for a square. Leapers look their attacks up by square. Sliding pieces use magic bitboards:
+ * the pieces standing on a slider's lines are multiplied by a magic number of the square and shifted so that every
+ * arrangement of blockers that matters indexes its own entry holding the squares the slider reaches. Invalid squares
+ * never block, just as rays pass over them everywhere else.
+ * The magic numbers were found by trying sparse random numbers until one mapped every arrangement of blockers of
+ * its square without a harmful collision; the tables are filled from them when the class is loaded.
+ * @author    Jeremy McMahan
+ */
+public class AttackTables {
+    private static final int SIZE = 8; //the length of a side of the boards the tables are for
+    private static final int[][] ROOK_DIRECTIONS = {{1,0},{-1,0},{0,1},{0,-1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1,1},{1,-1},{-1,1},{-1,-1}};
+    private static final int[][] KNIGHT_STEPS = {{2,1},{2,-1},{-2,1},{-2,-1},{1,2},{1,-2},{-1,2},{-1,-2}};
+    private static final long[] ROOK_MAGICS = {
+            0x7080024000108620L, 0x0040200010004000L, 0x0100081020004500L, 0x3880048110000801L,
+            0x4200200200080410L, 0x2400900400082002L, 0x45000B000F860004L, 0x220004038040A116L,
+            0x010280002084400AL, 0x0026402004401000L, 0x0045002002110048L, 0x0043002300100009L,
+            0x004280801C002800L, 0x4001800401801200L, 0x0022000438A20001L, 0x408100120040A100L,
+            0x0160808000401020L, 0x0020004008205000L, 0x0000430010200300L, 0x4001818008005000L,
+            0x1D04008008008004L, 0x6002080110204004L, 0x2009040001081002L, 0x8094020020804401L,
+            0x00C00049800080A7L, 0x80015000C0002000L, 0xC000220200108040L, 0x00A8018480100108L,
+            0x0108000880800400L, 0x0A00040080020080L, 0x1A01080400104A31L, 0x000200A200011044L,
+            0x4080006001400040L, 0x240080400C802000L, 0x880500104100200AL, 0x0000080284801000L,
+            0x0900800800800401L, 0x5002018402001008L, 0x0000488104001002L, 0x8402048862000411L,
+            0x0000802040008000L, 0x2C20500020004000L, 0x001A004080120020L, 0x80800A0040220010L,
+            0x0204008008008004L, 0x1218020004008080L, 0x0140025118040050L, 0x0824030C40820024L,
+            0x0040220081005200L, 0x0040004421108300L, 0x4420041001208480L, 0x0862082010420200L,
+            0x0D02001861100E00L, 0x8126001008040200L, 0x0064110218D00400L, 0x0427000482284100L,
+            0x0000108040220102L, 0x0000804020160102L, 0x0000400812008022L, 0x0000050010002009L,
+            0x0102001108604402L, 0x1002000110844802L, 0x0401001200440781L, 0x0281000045802203L};
+    private static final long[] BISHOP_MAGICS = {
+            0x0420420088048088L, 0x0020A242184102C0L, 0x4208084043861180L, 0x0054251201004000L,
+            0x0844050400005004L, 0x0515042044040004L, 0x4021010802404004L, 0x3000940488081800L,
+            0x0000C00401020208L, 0x01022011112A0884L, 0x0D80100440404000L, 0x0520044040800400L,
+            0x8444020210002040L, 0x8008028820180200L, 0x0180040A01300800L, 0x0000842208048480L,
+            0x0910004004083084L, 0x00081802B8010420L, 0x00140428004C0008L, 0x0008000682004610L,
+            0x0100820400E00200L, 0x000B000811089000L, 0x4812024401240200L, 0x820040103A080404L,
+            0x8024100422200120L, 0x001030B40C234604L, 0x0020480044002400L, 0x0040040085101020L,
+            0x0040840105802000L, 0x4210010000241101L, 0x1202040200410802L, 0x4040608000420802L,
+            0x0218048401512000L, 0xE008080200090202L, 0x8004060110180040L, 0x0000A00800150104L,
+            0x1C01020400020500L, 0x0001080A00002206L, 0x8012040860140204L, 0x010C004202044329L,
+            0x1084108288091031L, 0x4084046202002800L, 0x2001004232001002L, 0x2000104208000080L,
+            0x2108200414000040L, 0x0001200089010A81L, 0x3219A20492004400L, 0x0010148107010148L,
+            0x4402080402080080L, 0x4210844118600100L, 0x4800050401040410L, 0x0800006020880010L,
+            0x30080020020C80C0L, 0x02C446040806040CL, 0x0010021001021044L, 0x4002182801015202L,
+            0x0409820800A2080AL, 0x004000C608050808L, 0x0800008044040412L, 0x0410010280840408L,
+            0x1210A02012420200L, 0x8302400404084200L, 0x020090042840C400L, 0x0808100088004086L};
+    private static final long[] KNIGHT = new long[64]; //the squares a knight attacks from each square
+    private static final long[] KING = new long[64]; //the squares a king attacks from each square
+    private static final long[][] PAWN = new long[2][64]; //the squares a pawn of each color attacks from each square
+    private static final long[] RIGHT = new long[64]; //the squares to the right of each square on its row
+    private static final long[] LEFT = new long[64]; //the squares to the left of each square on its row
+    private static final long[][] BETWEEN = new long[64][64]; //the squares strictly between two aligned squares
+    private static final Magic[] ROOK = new Magic[64]; //the magic lookup of a rook on each square
+    private static final Magic[] BISHOP = new Magic[64]; //the magic lookup of a bishop on each square
+
+    /**
+     * Magic --- the magic lookup of the attacks of a slider on one square
+     */
+    private static class Magic {
+        private final long mask; //the squares whose pieces may block the slider, its lines without their ends
+        private final long magic; //the number multiplying the blockers
+        private final int shift; //64 minus the number of squares in the mask
+        private final long[] attacks; //the squares reached for each index
+
+        Magic(long mask, long magic, long[] attacks) {
+            this.mask = mask;
+            this.magic = magic;
+            this.shift = 64 - Long.bitCount(mask);
+            this.attacks = attacks;
+        }
+
+        long get(long occupancy) { return attacks[(int) (((occupancy & mask) * magic) >>> shift)]; }
+    }
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            int row = square / SIZE;
+            int col = square % SIZE;
+            for (int[] step : KNIGHT_STEPS) {
+                KNIGHT[square] |= bit(row + step[0], col + step[1]);
+            }
+            for (int dRow = -1; dRow <= 1; dRow++) {
+                for (int dCol = -1; dCol <= 1; dCol++) {
+                    KING[square] |= (dRow != 0 || dCol != 0)? bit(row + dRow, col + dCol) : 0;
+                }
+            }
+            PAWN[Color.W.ordinal()][square] = bit(row + 1, col - 1) | bit(row + 1, col + 1);
+            PAWN[Color.B.ordinal()][square] = bit(row - 1, col - 1) | bit(row - 1, col + 1);
+            RIGHT[square] = slide(square, 0, 1, 0);
+            LEFT[square] = slide(square, 0, -1, 0);
+            for (int[][] directions : new int[][][]{ROOK_DIRECTIONS, BISHOP_DIRECTIONS}) {
+                for (int[] direction : directions) {
+                    long passed = 0;
+                    for (int r = row + direction[0], c = col + direction[1]; bit(r, c) != 0;
+                         r += direction[0], c += direction[1]) {
+                        BETWEEN[square][r * SIZE + c] = passed;
+                        passed |= bit(r, c);
+                    }
+                }
+            }
+            ROOK[square] = makeMagic(square, ROOK_DIRECTIONS, ROOK_MAGICS[square]);
+            BISHOP[square] = makeMagic(square, BISHOP_DIRECTIONS, BISHOP_MAGICS[square]);
+        }
+    }
+
+    /**
+     * Gets the squares a rook on the square reaches, up to and including the first occupied square of each line
+     * @param square the index of the square, row * 8 + col
+     * @param occupancy the bitboard of the occupied squares
+     * @return long
+     */
+    public static long rook(int square, long occupancy) { return ROOK[square].get(occupancy); }
+
+    /**
+     * Gets the squares a bishop on the square reaches, up to and including the first occupied square of each line
+     * @param square the index of the square, row * 8 + col
+     * @param occupancy the bitboard of the occupied squares
+     * @return long
+     */
+    public static long bishop(int square, long occupancy) { return BISHOP[square].get(occupancy); }
+
+    public static long queen(int square, long occupancy) { return rook(square, occupancy) | bishop(square, occupancy); }
+
+    /**
+     * Gets the squares reached sliding right along the row of the square, as an UltraKnight does
+     * @param square the index of the square, row * 8 + col
+     * @param occupancy the bitboard of the occupied squares
+     * @return long
+     */
+    public static long right(int square, long occupancy) { return rook(square, occupancy) & RIGHT[square]; }
+
+    /**
+     * Gets the squares reached sliding left along the row of the square, the squares an UltraKnight attacks the
+     * square from
+     * @param square the index of the square, row * 8 + col
+     * @param occupancy the bitboard of the occupied squares
+     * @return long
+     */
+    public static long left(int square, long occupancy) { return rook(square, occupancy) & LEFT[square]; }
+
+    public static long knight(int square) { return KNIGHT[square]; }
+
+    public static long king(int square) { return KING[square]; }
+
+    /**
+     * Gets the squares a pawn of the given color captures on from the square
+     * @param player the Color of the pawn
+     * @param square the index of the square, row * 8 + col
+     * @return long
+     */
+    public static long pawn(Color player, int square) { return PAWN[player.ordinal()][square]; }
+
+    /**
+     * Gets the square dRow rows and dCol columns away from the square
+     * @param square the index of the square, row * 8 + col
+     * @return long that is 0 if that square is off the board
+     */
+    public static long step(int square, int dRow, int dCol) { return bit(square / SIZE + dRow, square % SIZE + dCol); }
+
+    /**
+     * Gets the squares strictly between two squares on the same row, column or diagonal
+     * @param from the index of a square, row * 8 + col
+     * @param to the index of a square, row * 8 + col
+     * @return long that is 0 if the squares are not aligned or next to each other
+     */
+    public static long between(int from, int to) { return BETWEEN[from][to]; }
+
+    /**
+     * Gets the bit of the square with the given row and column
+     * @return long that is 0 if the square is off the board
+     */
+    private static long bit(int row, int col) {
+        return (0 <= row && row < SIZE && 0 <= col && col < SIZE)? 1L << (row * SIZE + col) : 0;
+    }
+
+    /**
+     * Walks from the square in the given direction and collects the squares reached before the first occupied one,
+     * including it
+     * @return long
+     */
+    private static long slide(int square, int dRow, int dCol, long occupancy) {
+        long reached = 0;
+        for (int r = square / SIZE + dRow, c = square % SIZE + dCol; bit(r, c) != 0; r += dRow, c += dCol) {
+            reached |= bit(r, c);
+            if ((occupancy & bit(r, c)) != 0) {
+                break;
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Fills the table of a slider on the square moving in the given directions using its magic number
+     * @return Magic
+     */
+    private static Magic makeMagic(int square, int[][] directions, long magic) {
+        long mask = 0;
+        for (int[] direction : directions) {
+            //the last square of a line has nothing behind it to block
+            mask |= slide(square, direction[0], direction[1], 0) & ~lastSquare(square, direction);
+        }
+        int bits = Long.bitCount(mask);
+        long[] attacks = new long[1 << bits];
+        long blockers = 0;
+        do { //every subset of the mask
+            long reached = 0;
+            for (int[] direction : directions) {
+                reached |= slide(square, direction[0], direction[1], blockers);
+            }
+            int index = (int) ((blockers * magic) >>> (64 - bits));
+            if (attacks[index] != 0 && attacks[index] != reached) {
+                throw new IllegalStateException("bad magic number for square " + square);
+            }
+            attacks[index] = reached;
+            blockers = (blockers - mask) & mask;
+        } while (blockers != 0);
+        return new Magic(mask, magic, attacks);
+    }
+
+    /**
+     * Gets the bit of the last square on the board from the square in the given direction
+     * @return long that is 0 if the square is at the edge in that direction
+     */
+    private static long lastSquare(int square, int[] direction) {
+        long line = slide(square, direction[0], direction[1], 0);
+        return (direction[0] > 0 || (direction[0] == 0 && direction[1] > 0))? Long.highestOneBit(line)
+                : Long.lowestOneBit(line);
+    }
+}
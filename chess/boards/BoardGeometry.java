@@ -0,0 +1,209 @@
+package chess.boards;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import chess.pieces.PieceType;
+
+/**
+ * BoardGeometry --- class that compiles the shape of a board, its size and which of its squares are invalid, into
+ * tables of where pieces can go from every square: the valid neighbor in each of the MoveTables.DIRECTIONS, the
+ * valid squares reached by the leaps of each piece code and the valid squares along each ray in order. Invalid
+ * squares are already left out, so following a table never needs to ask the board whether a square is valid.
+ * Rays pass over empty invalid squares as they do everywhere else. A piece left standing on a square made invalid
+ * under it can neither move nor be captured but still blocks, so such a square ends the rays that reach it and is
+ * part of the shape.
+ * Geometries are cached by shape, so every board with the same shape shares one.
+ * @author    Jeremy McMahan
+ */
+public class BoardGeometry {
+    private static final int CACHE_CAPACITY = 256; //the number of shapes kept before the cache starts over
+    private static final ConcurrentHashMap<Shape, BoardGeometry> GEOMETRIES = new ConcurrentHashMap<>();
+    private static final int CODES = 1 + 2 * PieceType.values().length; //the number of codes from EMPTY up
+    private static final int[] NO_SQUARES = new int[0]; //the targets from a square no piece moves from
+    private final int boardSize; //the length of a side of the board
+    private final int[] validSquares; //the indexes of the valid squares in increasing order
+    private final int[][] neighbors; //for each direction and square, the valid square next to it or -1
+    private final int[][][] rays; //for each direction and square, the valid squares along the ray in order
+    private final int[][][] leaps; //for each piece code and square, the valid squares its leaps land on
+
+    /**
+     * Shape --- the size of a board with its invalid squares and the invalid squares that hold a piece
+     */
+    private static final class Shape {
+        private final int boardSize; //the length of a side of the board
+        private final long[] invalid; //bitboard of the invalid squares
+        private final long[] blocked; //bitboard of the invalid squares holding a piece
+
+        Shape(int boardSize, long[] invalid, long[] blocked) {
+            this.boardSize = boardSize;
+            this.invalid = invalid.clone();
+            this.blocked = blocked.clone();
+        }
+
+        boolean isInvalid(int square) { return (invalid[square >>> 6] & (1L << square)) != 0; }
+
+        boolean isBlocked(int square) { return (blocked[square >>> 6] & (1L << square)) != 0; }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Shape)) {
+                return false;
+            }
+            Shape shape = (Shape) other;
+            return boardSize == shape.boardSize && Arrays.equals(invalid, shape.invalid)
+                    && Arrays.equals(blocked, shape.blocked);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * boardSize + Arrays.hashCode(invalid)) * 31 + Arrays.hashCode(blocked);
+        }
+    }
+
+    /**
+     * Compiles the tables of the given shape
+     */
+    private BoardGeometry(Shape shape) {
+        boardSize = shape.boardSize;
+        int squares = boardSize * boardSize;
+        Mailbox mailbox = new Mailbox(boardSize);
+        boolean[] blocked = new boolean[mailbox.getWidth() * mailbox.getWidth()];
+        int validCount = 0;
+        for (int square = 0; square < squares; square++) {
+            if (shape.isInvalid(square)) {
+                mailbox.set(square, Mailbox.INVALID);
+                blocked[mailbox.toCell(square)] = shape.isBlocked(square);
+            } else {
+                validCount++;
+            }
+        }
+        validSquares = new int[validCount];
+        for (int square = 0, i = 0; square < squares; square++) {
+            if (!shape.isInvalid(square)) {
+                validSquares[i++] = square;
+            }
+        }
+        MoveTables tables = MoveTables.forSize(boardSize);
+        neighbors = new int[MoveTables.DIRECTIONS.length][squares];
+        rays = new int[MoveTables.DIRECTIONS.length][squares][];
+        for (int direction = 0; direction < MoveTables.DIRECTIONS.length; direction++) {
+            int offset = tables.getDirectionOffset(direction);
+            Arrays.fill(neighbors[direction], -1);
+            Arrays.fill(rays[direction], NO_SQUARES);
+            for (int square : validSquares) {
+                int cell = mailbox.toCell(square);
+                if (mailbox.get(cell + offset) == Mailbox.EMPTY) {
+                    neighbors[direction][square] = mailbox.toSquare(cell + offset);
+                }
+                rays[direction][square] = compileRay(mailbox, blocked, cell, offset);
+            }
+        }
+        leaps = new int[CODES][squares][];
+        for (int code = 0; code < CODES; code++) {
+            Arrays.fill(leaps[code], NO_SQUARES);
+            int[] offsets = tables.getLeapOffsets((byte) code);
+            for (int square : validSquares) {
+                leaps[code][square] = compileLeaps(mailbox, mailbox.toCell(square), offsets);
+            }
+        }
+    }
+
+    /**
+     * Gets the geometry of a board of the given size with the given invalid squares, compiling it the first time
+     * that shape is asked for
+     * @param boardSize An integer giving the length of one side of the board
+     * @param invalid bitboard of the invalid squares, bit row * boardSize + col
+     * @param blocked bitboard of the invalid squares that hold a piece
+     * @return BoardGeometry
+     */
+    public static BoardGeometry forShape(int boardSize, long[] invalid, long[] blocked) {
+        Shape shape = new Shape(boardSize, invalid, blocked);
+        BoardGeometry geometry = GEOMETRIES.get(shape);
+        if (geometry == null) {
+            if (GEOMETRIES.size() >= CACHE_CAPACITY) {
+                GEOMETRIES.clear(); //forget the shapes of past games rather than keep every shape ever seen
+            }
+            geometry = GEOMETRIES.computeIfAbsent(shape, BoardGeometry::new);
+        }
+        return geometry;
+    }
+
+    public int getBoardSize() { return boardSize; }
+
+    /**
+     * Gets the indexes of the valid squares in increasing order. The array is shared and must not be changed.
+     * @return int[]
+     */
+    public int[] getValidSquares() { return validSquares; }
+
+    /**
+     * Gets the valid square next to the square with the given index in DIRECTIONS[direction]
+     * @param square the index of a square, row * boardSize + col
+     * @param direction an index of MoveTables.DIRECTIONS
+     * @return int the index of the neighbor or -1 if it is invalid or off the board
+     */
+    public int getNeighbor(int square, int direction) { return neighbors[direction][square]; }
+
+    /**
+     * Gets the valid squares along the ray from the square with the given index in DIRECTIONS[direction], nearest
+     * first, up to the edge of the board or a blocked invalid square. The array is shared and must not be changed.
+     * @param square the index of a valid square, row * boardSize + col
+     * @param direction an index of MoveTables.DIRECTIONS
+     * @return int[] that is empty if the square is invalid
+     */
+    public int[] getRay(int square, int direction) { return rays[direction][square]; }
+
+    /**
+     * Gets the valid squares the leaps of the piece with the given code land on from the square with the given
+     * index. For pawns these are the squares it captures on. The array is shared and must not be changed.
+     * @param code a Mailbox piece code
+     * @param square the index of a square, row * boardSize + col
+     * @return int[] that is empty if the square is invalid
+     */
+    public int[] getLeaps(byte code, int square) { return leaps[code][square]; }
+
+    /**
+     * Walks the mailbox from the cell by the offset and collects the valid squares passed
+     * @return int[]
+     */
+    private static int[] compileRay(Mailbox mailbox, boolean[] blocked, int cell, int offset) {
+        int length = 0;
+        int end = cell + offset; //the first cell past the ray, on the border or a blocked invalid square
+        for (; mailbox.get(end) != Mailbox.OFF_BOARD && !blocked[end]; end += offset) {
+            length += (mailbox.get(end) == Mailbox.EMPTY)? 1 : 0;
+        }
+        if (length == 0) {
+            return NO_SQUARES;
+        }
+        int[] ray = new int[length];
+        for (int target = cell + offset, i = 0; i < length; target += offset) {
+            if (mailbox.get(target) == Mailbox.EMPTY) {
+                ray[i++] = mailbox.toSquare(target);
+            }
+        }
+        return ray;
+    }
+
+    /**
+     * Collects the valid squares reached from the cell by the offsets
+     * @return int[]
+     */
+    private static int[] compileLeaps(Mailbox mailbox, int cell, int[] offsets) {
+        int length = 0;
+        for (int offset : offsets) {
+            length += (mailbox.get(cell + offset) == Mailbox.EMPTY)? 1 : 0;
+        }
+        if (length == 0) {
+            return NO_SQUARES;
+        }
+        int[] targets = new int[length];
+        int i = 0;
+        for (int offset : offsets) {
+            if (mailbox.get(cell + offset) == Mailbox.EMPTY) {
+                targets[i++] = mailbox.toSquare(cell + offset);
+            }
+        }
+        return targets;
+    }
+}
@@ -1,6 +1,7 @@
 package chess.boards;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 
 import chess.Color;
@@ -8,36 +9,155 @@ import chess.pieces.*;
 
 /**
  * ChessBoard --- class that represents a variable shape chess board by taking a square board and invalidating squares
- * to get the desired shape.
+ * to get the desired shape. The position is kept as piece codes in a Mailbox along with bitboards, piece lists, attack
+ * counts, a Zobrist hash and piece-square scores, which every change to the board keeps up to date.
  * @author    Jeremy McMahan
  */
 public class ChessBoard {
+    private static final int HISTORY_CAPACITY = 256; //the number of made moves the history holds before it grows
+    private static final int LIST_CAPACITY = 16; //the number of pieces a piece list holds before it grows
+    private static final int LARGE_BOARD_SIZE = 8; //boards larger than this keep an OccupancyIndex
+    private static final int TABLE_TYPES = PieceType.ULTRA_ROOK.ordinal() + 1; //the types getAttackers knows by name
+    private static final int TABLE_SIZE = 8; //the board size whose squares fit one long, as the AttackTables use them
     private final int boardSize; //the square size of the board
-    private final HashMap<Integer, Piece> board; //the board represented as the current chess.pieces and their positions
-    private final HashSet<Integer> invalidSquare; //contains the index of all invalid squares
+    private final Piece[] board; //the piece on each square index, null if empty or its piece was never asked for
+    private final long[] firstTurns; //bitboard of the squares of the pawns that may still move twice
+    private final long[] invalidSquares; //bitboard of the indexes of all invalid squares, 64 squares to a long
+    private final long[][] colorBits; //bitboard of the occupied squares for each player
+    private final long[][] typeBits; //bitboard of the occupied squares for each piece type
+    private final OccupancyIndex occupancyIndex; //the occupied squares along each line or null on small boards
+    private final Mailbox mailbox; //the codes the board goes by, surrounded by a border of off board cells
+    private final MoveTables moveTables; //how each piece code moves on boards of this size
+    private BoardGeometry geometry; //the tables of the shape, shared by boards of that shape, null until asked for
+    private final int[][] attacks; //for each player, the number of its pieces attacking each square
+    private final int[][] pieceSquares; //for each player, the square indexes of its pieces
+    private final int[] pieceCounts; //for each player, the number of its pieces
+    private final int[][][] typeSquares; //for each player and piece type, the square indexes of those pieces
+    private final int[][] typeCounts; //for each player and piece type, the number of those pieces
+    private final int[] listSlots; //for each square holding a piece, its position in its player's list
+    private final int[] typeSlots; //for each square holding a piece, its position in its player's list of its type
+    private final Zobrist zobrist; //the keys used to hash positions on boards of this size
+    private long hash; //the Zobrist hash of the pieces on the board, without the player to move
+    private final PieceSquareTables pieceSquareTables; //the worth of each piece on each square of this size
+    private final int[] middlegame; //for each player, the middlegame worth of its pieces on their squares
+    private final int[] endgame; //for each player, the endgame worth of its pieces on their squares
+    private int phase; //the sum of the phase weights of the pieces on the board
     private Piece lastCaptured; //For use with the undo feature
+    private int[] historyFrom; //the square index each made move came from, the history growing only when full
+    private int[] historyTo; //the square index each made move went to
+    private Piece[] historyCaptured; //the piece each made move captured, null if none or it was never asked for
+    private byte[] historyCapturedCode; //the code of the piece each made move captured or EMPTY
+    private boolean[] historyFirstTurn; //true iff each made move was the first move of a pawn
+    private boolean[] historyCapturedFirstTurn; //true iff each made move captured a pawn that had not moved
+    private long[] historyHash; //the hash before each made move
+    private int ply; //the number of made moves that have not been unmade
 
     /**
-     * Constructor: creates a new board of given board size.
+     * Constructor: creates a new board of given board size. The tables that depend only on the size, the MoveTables,
+     * Zobrist keys and PieceSquareTables, are made once for each size and shared by every board of that size.
      * @param boardSize An integer giving the length of one side of the board
      */
     public ChessBoard(int boardSize) {
         this.boardSize = boardSize;
-        board = new HashMap<>();
-        invalidSquare = new HashSet<>();
+        int words = (boardSize * boardSize + 63) >>> 6;
+        board = new Piece[boardSize * boardSize];
+        firstTurns = new long[words];
+        invalidSquares = new long[words];
+        colorBits = new long[Color.values().length][words];
+        typeBits = new long[PieceType.values().length][words];
+        occupancyIndex = (boardSize > LARGE_BOARD_SIZE)? new OccupancyIndex(boardSize) : null;
+        mailbox = new Mailbox(boardSize);
+        moveTables = MoveTables.forSize(boardSize);
+        attacks = new int[Color.values().length][boardSize * boardSize];
+        pieceSquares = new int[Color.values().length][LIST_CAPACITY];
+        pieceCounts = new int[Color.values().length];
+        typeSquares = new int[Color.values().length][PieceType.values().length][LIST_CAPACITY];
+        typeCounts = new int[Color.values().length][PieceType.values().length];
+        listSlots = new int[boardSize * boardSize];
+        typeSlots = new int[boardSize * boardSize];
+        zobrist = Zobrist.forSize(boardSize);
+        hash = 0;
+        pieceSquareTables = PieceSquareTables.forSize(boardSize);
+        middlegame = new int[Color.values().length];
+        endgame = new int[Color.values().length];
+        phase = 0;
         lastCaptured = null;
+        historyFrom = new int[HISTORY_CAPACITY];
+        historyTo = new int[HISTORY_CAPACITY];
+        historyCaptured = new Piece[HISTORY_CAPACITY];
+        historyCapturedCode = new byte[HISTORY_CAPACITY];
+        historyFirstTurn = new boolean[HISTORY_CAPACITY];
+        historyCapturedFirstTurn = new boolean[HISTORY_CAPACITY];
+        historyHash = new long[HISTORY_CAPACITY];
+        ply = 0;
     }
 
+    /**
+     * Copies the position of another board as copy describes
+     * @param other A ChessBoard
+     */
+    private ChessBoard(ChessBoard other) {
+        boardSize = other.boardSize;
+        board = new Piece[other.board.length]; //the pieces are made from the codes when they are asked for
+        firstTurns = other.firstTurns.clone();
+        invalidSquares = other.invalidSquares.clone();
+        colorBits = copyOf(other.colorBits);
+        typeBits = copyOf(other.typeBits);
+        occupancyIndex = (other.occupancyIndex != null)? new OccupancyIndex(other.occupancyIndex) : null;
+        mailbox = new Mailbox(other.mailbox);
+        moveTables = other.moveTables;
+        geometry = other.geometry;
+        attacks = copyOf(other.attacks);
+        pieceSquares = copyOf(other.pieceSquares);
+        pieceCounts = other.pieceCounts.clone();
+        typeSquares = new int[Color.values().length][][];
+        for (int i = 0; i < typeSquares.length; i++) {
+            typeSquares[i] = copyOf(other.typeSquares[i]);
+        }
+        typeCounts = copyOf(other.typeCounts);
+        listSlots = other.listSlots.clone();
+        typeSlots = other.typeSlots.clone();
+        zobrist = other.zobrist;
+        hash = other.hash;
+        pieceSquareTables = other.pieceSquareTables;
+        middlegame = other.middlegame.clone();
+        endgame = other.endgame.clone();
+        phase = other.phase;
+        lastCaptured = null;
+        historyFrom = new int[HISTORY_CAPACITY];
+        historyTo = new int[HISTORY_CAPACITY];
+        historyCaptured = new Piece[HISTORY_CAPACITY];
+        historyCapturedCode = new byte[HISTORY_CAPACITY];
+        historyFirstTurn = new boolean[HISTORY_CAPACITY];
+        historyCapturedFirstTurn = new boolean[HISTORY_CAPACITY];
+        historyHash = new long[HISTORY_CAPACITY];
+        ply = 0;
+    }
+
+    /**
+     * Copies the position on the board to a new independent board. The bitboards, mailbox, piece lists and attack
+     * counts are copied array by array and the hash and scores are kept, so nothing is recomputed. No piece is copied:
+     * the copy makes its own from the codes of the squares when they are first asked for. The copy starts without a
+     * history of moves to unmake.
+     * @return ChessBoard
+     */
+    public ChessBoard copy() { return new ChessBoard(this); }
+
     /**
      * Makes a given square invalid on the board
      * @param square An integer array representing a square by containing its row and column
-     * @throws Exception denotes if the given square was off the board or null
+     * @throws IllegalArgumentException denotes if the given square was off the board or null
      */
-    public void makeSquareInvalid(int[] square) throws Exception {
-        if (!(0 <= square[0] && square[0] < boardSize) && (0 <= square[1] && square[1] < boardSize)) {
-            throw new Exception(); //square not on the board
+    public void makeSquareInvalid(int[] square) {
+        if (!isOnBoard(square)) {
+            throw new IllegalArgumentException("square not on the board: " + Arrays.toString(square));
+        }
+        int index = getSquareIndex(square);
+        invalidSquares[index >>> 6] |= 1L << index;
+        geometry = null;
+        if (!Mailbox.isPiece(mailbox.getCode(index))) { //a piece already there keeps its code until it leaves
+            mailbox.set(index, Mailbox.INVALID);
         }
-        invalidSquare.add(getSquareIndex(square));
     }
 
     /**
@@ -45,8 +165,24 @@ public class ChessBoard {
      * @param toSquare An integer array representing a square by containing its row and column
      */
     public void addPiece(Piece piece, int[] toSquare) {
+        if (isValidSquare(toSquare)) {
+            addPiece(piece, getSquareIndex(toSquare));
+        }
+    }
+
+    /**
+     * Adds a piece to the square with the given index if it is a valid square on the board
+     * @param toSquare the index of the square, row * boardSize + col
+     */
+    public void addPiece(Piece piece, int toSquare) {
         if (isValidSquare(toSquare) && piece != null) {
-            lastCaptured = board.put(getSquareIndex(toSquare),piece);
+            lastCaptured = pieceAt(toSquare);
+            boolean firstTurn = piece.getType().isPawn() && piece.isFirstTurn();
+            if (lastCaptured != null) {
+                replaceOnSquare(toSquare, piece, Mailbox.code(piece), firstTurn);
+            } else {
+                fillSquare(toSquare, piece, Mailbox.code(piece), firstTurn);
+            }
         }
     }
 
@@ -55,7 +191,19 @@ public class ChessBoard {
      * @param fromSquare An integer array representing a square by containing its row and column
      */
     public void removePiece(int[] fromSquare) {
-        board.remove(getSquareIndex(fromSquare));
+        if (isOnBoard(fromSquare)) {
+            removePiece(getSquareIndex(fromSquare));
+        }
+    }
+
+    /**
+     * Removes the piece from the square with the given index
+     * @param fromSquare the index of the square, row * boardSize + col
+     */
+    public void removePiece(int fromSquare) {
+        if (0 <= fromSquare && fromSquare < board.length && Mailbox.isPiece(mailbox.getCode(fromSquare))) {
+            clearSquare(fromSquare);
+        }
     }
 
     /**
@@ -69,20 +217,130 @@ public class ChessBoard {
         piece.setSquare(toSquare[0], toSquare[1]);
     }
 
+    /**
+     * Moves the given piece from its current square to the square with the given index assuming the square is valid
+     * @param piece A non-null Piece
+     * @param toSquare the index of the square, row * boardSize + col
+     */
+    public void movePiece(Piece piece, int toSquare) {
+        addPiece(piece, toSquare);
+        if (isOnBoard(piece.getRow(), piece.getCol())) {
+            removePiece(getSquareIndex(piece));
+        }
+        piece.setSquare(toSquare / boardSize, toSquare % boardSize);
+    }
+
+    /**
+     * Moves the piece on the square with index from to the square with index to, capturing any piece there, and
+     * records the move so unmakeMove can take it back. A pawn loses its first move. The move is assumed to be legal.
+     * Only the codes of the squares move unless the pieces have been asked for, so no piece is made.
+     * @param from the index of the square of the piece to move, row * boardSize + col
+     * @param to the index of the square to move to, row * boardSize + col
+     */
+    public void makeMove(int from, int to) {
+        if (ply == historyFrom.length) {
+            growHistory();
+        }
+        Piece piece = board[from];
+        byte code = mailbox.getCode(from);
+        byte capturedCode = mailbox.getCode(to);
+        boolean captures = Mailbox.isPiece(capturedCode);
+        boolean firstTurn = isFirstTurn(from);
+        historyFrom[ply] = from;
+        historyTo[ply] = to;
+        historyCaptured[ply] = board[to];
+        historyCapturedCode[ply] = captures? capturedCode : Mailbox.EMPTY;
+        historyFirstTurn[ply] = firstTurn;
+        historyCapturedFirstTurn[ply] = captures && isFirstTurn(to);
+        historyHash[ply] = hash;
+        ply++;
+        clearSquare(from);
+        if (captures) {
+            replaceOnSquare(to, piece, code, false);
+        } else {
+            fillSquare(to, piece, code, false);
+        }
+        if (piece != null) {
+            if (firstTurn) {
+                piece.setFirstTurn(false);
+            }
+            piece.setSquare(to / boardSize, to % boardSize);
+        }
+        lastCaptured = null; //undoMove only takes back movePiece
+    }
+
+    /**
+     * Takes back the last move made by makeMove that has not been taken back yet, restoring any captured piece and
+     * the first move of a pawn. The board must not have been changed in other ways since the move was made.
+     */
+    public void unmakeMove() {
+        ply--;
+        int from = historyFrom[ply];
+        int to = historyTo[ply];
+        Piece piece = board[to];
+        byte code = mailbox.getCode(to);
+        Piece captured = historyCaptured[ply];
+        historyCaptured[ply] = null; //let the history forget the piece
+        if (Mailbox.isPiece(historyCapturedCode[ply])) {
+            replaceOnSquare(to, captured, historyCapturedCode[ply], historyCapturedFirstTurn[ply]);
+        } else {
+            clearSquare(to);
+        }
+        fillSquare(from, piece, code, historyFirstTurn[ply]);
+        if (piece != null) {
+            if (historyFirstTurn[ply]) {
+                piece.setFirstTurn(true);
+            }
+            piece.setSquare(from / boardSize, from % boardSize);
+        }
+        hash = historyHash[ply];
+        lastCaptured = null;
+    }
+
+    /**
+     * Gets the number of moves made by makeMove that have not been taken back
+     * @return int
+     */
+    public int getPly() { return ply; }
+
     /**
      * Determines if the given square is valid on the chess board.
      * @param square An integer array representing a square by containing its row and column
      * @return boolean
      */
     public boolean isValidSquare(int[] square) {
-        if (square == null) {
+        return square != null && isValidSquare(square[0], square[1]);
+    }
+
+    /**
+     * Determines if the square with the given row and column is valid on the chess board.
+     * @param row the row of the square on the board
+     * @param col the column of the square on the board
+     * @return boolean
+     */
+    public boolean isValidSquare(int row, int col) {
+        if (!(0 <= row && row < boardSize) || !(0 <= col && col < boardSize)) {
             return false;
         }
-        boolean onBoard = (0 <= square[0] && square[0] < boardSize) && (0 <= square[1] && square[1] < boardSize);
-        boolean isValid = !invalidSquare.contains(getSquareIndex(square));
-        return isValid && onBoard;
+        return isValidSquare(row * boardSize + col);
     }
 
+    /**
+     * Determines if the square with the given index is valid on the chess board.
+     * @param square the index of the square, row * boardSize + col
+     * @return boolean
+     */
+    public boolean isValidSquare(int square) {
+        return 0 <= square && square < board.length && (invalidSquares[square >>> 6] & (1L << square)) == 0;
+    }
+
+    /**
+     * Gets the index of the square the piece stands on, without making an array
+     * @param piece A non-null Piece
+     * @return int the index, row * boardSize + col
+     */
+    public int getSquareIndex(Piece piece) { return piece.getRow() * boardSize + piece.getCol(); }
+
     public int getBoardSize() { return boardSize; }
 
     /**
@@ -91,15 +349,89 @@ public class ChessBoard {
      * @return Piece
      */
     public Piece getPiece(int[] onSquare) {
-        return board.get(getSquareIndex(onSquare));
+        return (onSquare != null)? getPiece(onSquare[0], onSquare[1]) : null;
     }
 
+    /**
+     * Returns the piece on the square with the given row and column or null if there is none on that square
+     * @param row the row of the square on the board
+     * @param col the column of the square on the board
+     * @return Piece
+     */
+    public Piece getPiece(int row, int col) {
+        return isOnBoard(row, col)? pieceAt(row * boardSize + col) : null;
+    }
+
+    /**
+     * Returns the piece on the square with the given index or null if there is none on that square
+     * @param square the index of the square, row * boardSize + col
+     * @return Piece
+     */
+    public Piece getPiece(int square) { return (0 <= square && square < board.length)? pieceAt(square) : null; }
+
     /**
      * Returns the set of all chess pieces currently on the board.
      * @return HashSet<Piece>
      */
     public Collection<Piece> getPieces() {
-        return board.values();
+        ArrayList<Piece> pieces = new ArrayList<>();
+        long[] white = colorBits[Color.W.ordinal()];
+        long[] black = colorBits[Color.B.ordinal()];
+        for (int word = 0; word < white.length; word++) {
+            for (long bits = white[word] | black[word]; bits != 0; bits &= bits - 1) {
+                pieces.add(pieceAt((word << 6) + Long.numberOfTrailingZeros(bits)));
+            }
+        }
+        return pieces;
+    }
+
+    /**
+     * Returns the chess pieces of the player currently on the board
+     * @param player Color denoting the player
+     * @return Collection<Piece>
+     */
+    public Collection<Piece> getPieces(Color player) {
+        ArrayList<Piece> pieces = new ArrayList<>(pieceCounts[player.ordinal()]);
+        for (int i = 0; i < pieceCounts[player.ordinal()]; i++) {
+            pieces.add(pieceAt(pieceSquares[player.ordinal()][i]));
+        }
+        return pieces;
+    }
+
+    /**
+     * Returns the number of pieces the player has on the board
+     * @param player Color denoting the player
+     * @return int
+     */
+    public int getPieceCount(Color player) { return pieceCounts[player.ordinal()]; }
+
+    /**
+     * Returns the number of pieces of the given type the player has on the board
+     * @param player Color denoting the player
+     * @param type PieceType denoting the kind of piece
+     * @return int
+     */
+    public int getPieceCount(Color player, PieceType type) { return typeCounts[player.ordinal()][type.ordinal()]; }
+
+    /**
+     * Returns the index of the square of one of the player's pieces. The order of the pieces changes as pieces come
+     * and go.
+     * @param player Color denoting the player
+     * @param i the position of the piece in the player's list, from 0 up to getPieceCount(player)
+     * @return int the index of the square, row * boardSize + col
+     */
+    public int getPieceSquare(Color player, int i) { return pieceSquares[player.ordinal()][i]; }
+
+    /**
+     * Returns the index of the square of one of the player's pieces of the given type. The order of the pieces
+     * changes as pieces come and go.
+     * @param player Color denoting the player
+     * @param type PieceType denoting the kind of piece
+     * @param i the position of the piece in the list, from 0 up to getPieceCount(player, type)
+     * @return int the index of the square, row * boardSize + col
+     */
+    public int getPieceSquare(Color player, PieceType type, int i) {
+        return typeSquares[player.ordinal()][type.ordinal()][i];
     }
 
     /**
@@ -108,33 +440,244 @@ public class ChessBoard {
      */
     public HashSet<int[]> getSquares() {
         HashSet<int[]> squares = new HashSet<>();
-        for (int row = 0; row < boardSize; row++) {
-            for (int col = 0; col < boardSize; col++) {
-                if (isValidSquare(new int[]{row,col})) {
-                    squares.add(new int[]{row,col});
+        for (int square : getValidSquares()) {
+            squares.add(new int[]{square / boardSize, square % boardSize});
+        }
+        return squares;
+    }
+
+    /**
+     * Returns the indexes of all valid squares on the chess board in increasing order
+     * @return int[]
+     */
+    public int[] getValidSquares() { return getGeometry().getValidSquares().clone(); }
+
+    public Mailbox getMailbox() { return mailbox; }
+
+    /**
+     * Gets the tables of the shape of the board, compiling or looking them up if the shape changed since last asked
+     * @return BoardGeometry
+     */
+    public BoardGeometry getGeometry() {
+        if (geometry == null) {
+            long[] blocked = new long[invalidSquares.length];
+            for (int i = 0; i < blocked.length; i++) {
+                blocked[i] = invalidSquares[i] & (colorBits[Color.W.ordinal()][i] | colorBits[Color.B.ordinal()][i]);
+            }
+            geometry = BoardGeometry.forShape(boardSize, invalidSquares, blocked);
+        }
+        return geometry;
+    }
+
+    public MoveTables getMoveTables() { return moveTables; }
+
+    /**
+     * Gets the index of the occupied squares along every line of the board
+     * @return OccupancyIndex that is null for boards of 8x8 or smaller, which walk their lines instead
+     */
+    public OccupancyIndex getOccupancyIndex() { return occupancyIndex; }
+
+    /**
+     * Returns the Zobrist hash of the position with the given player to move. It covers the type, color and square of
+     * every piece and which pawns may still move twice.
+     * @param toMove Color denoting the player whose turn it is
+     * @return long
+     */
+    public long getHash(Color toMove) { return (toMove == Color.B)? hash ^ zobrist.getSideKey() : hash; }
+
+    /**
+     * Gets the sum of the middlegame worth of the player's pieces on their squares
+     * @param player Color denoting the player
+     * @return int in centipawns
+     */
+    public int getMiddlegameScore(Color player) { return middlegame[player.ordinal()]; }
+
+    /**
+     * Gets the sum of the endgame worth of the player's pieces on their squares
+     * @param player Color denoting the player
+     * @return int in centipawns
+     */
+    public int getEndgameScore(Color player) { return endgame[player.ordinal()]; }
+
+    /**
+     * Gets the phase of the game, the sum of the weights of the pieces left, PieceSquareTables.MAX_PHASE for a full
+     * set on an 8x8 board and more on boards with more pieces
+     * @return int
+     */
+    public int getPhase() { return phase; }
+
+    /**
+     * Sets whether the pawn may still move twice. Pawns on the board must be changed through here rather than
+     * through the pawn itself so the hash of the position follows.
+     * @param pawn A non-null Piece following the pawn rules
+     * @param firstTurn boolean that is true iff the pawn may move twice on its next move
+     */
+    public void setFirstTurn(Piece pawn, boolean firstTurn) {
+        if (pawn.isFirstTurn() != firstTurn && getPiece(pawn.getRow(), pawn.getCol()) == pawn) {
+            toggleFirstTurn(getSquareIndex(pawn));
+        }
+        pawn.setFirstTurn(firstTurn);
+    }
+
+    /**
+     * Determines if the pawn on the square with the given index may still move twice, without making the pawn
+     * @param square the index of the square, row * boardSize + col
+     * @return boolean that is false for an empty square or any other piece
+     */
+    public boolean isFirstTurn(int square) { return (firstTurns[square >>> 6] & (1L << square)) != 0; }
+
+    /**
+     * Returns the number of the player's pieces that could capture an opposing piece standing on the given square
+     * @param square An integer array representing a square by containing its row and column
+     * @param player Color denoting the player
+     * @return int
+     */
+    public int getAttackCount(int[] square, Color player) {
+        return isOnBoard(square)? getAttackCount(getSquareIndex(square), player) : 0;
+    }
+
+    /**
+     * Returns the number of the player's pieces that could capture an opposing piece standing on the square with the
+     * given index
+     * @param square the index of the square, row * boardSize + col
+     * @param player Color denoting the player
+     * @return int
+     */
+    public int getAttackCount(int square, Color player) { return attacks[player.ordinal()][square]; }
+
+    /**
+     * Determines if any of the player's pieces could capture an opposing piece standing on the given square
+     * @param square An integer array representing a square by containing its row and column
+     * @param player Color denoting the player
+     * @return boolean
+     */
+    public boolean isAttacked(int[] square, Color player) { return getAttackCount(square, player) > 0; }
+
+    /**
+     * Determines if any of the player's pieces could capture an opposing piece standing on the square with the given
+     * index
+     * @param square the index of the square, row * boardSize + col
+     * @param player Color denoting the player
+     * @return boolean
+     */
+    public boolean isAttacked(int square, Color player) { return attacks[player.ordinal()][square] > 0; }
+
+    /**
+     * Returns the occupancy bitboard of the player's pieces: bit i is set when the square with index
+     * row * 8 + col = i holds one of them. Only for 8x8 boards, the one size whose squares fit the bits of a long.
+     * @param player Color denoting the player
+     * @return long
+     * @throws IllegalStateException if the board is not 8x8
+     */
+    public long getBitboard(Color player) {
+        requireTableSize();
+        return colorBits[player.ordinal()][0];
+    }
+
+    /**
+     * Returns the occupancy bitboard of the pieces of the given type for both players. Only for 8x8 boards.
+     * @param type PieceType denoting the kind of piece
+     * @return long
+     * @throws IllegalStateException if the board is not 8x8
+     */
+    public long getBitboard(PieceType type) {
+        requireTableSize();
+        return typeBits[type.ordinal()][0];
+    }
+
+    /**
+     * Returns the bitboard of the invalid squares. Only for 8x8 boards.
+     * @return long
+     * @throws IllegalStateException if the board is not 8x8
+     */
+    public long getInvalidBitboard() {
+        requireTableSize();
+        return invalidSquares[0];
+    }
+
+    /**
+     * Returns the bitboard of the squares holding a piece. Only for 8x8 boards.
+     * @return long
+     * @throws IllegalStateException if the board is not 8x8
+     */
+    public long getOccupancy() {
+        requireTableSize();
+        return colorBits[0][0] | colorBits[1][0];
+    }
+
+    /**
+     * Returns the bitboard of the player's pieces that could capture an opposing piece on the given square if only
+     * the squares of occupancy held pieces, looked up in the AttackTables. Only for 8x8 boards.
+     * @param square the index of the square, row * 8 + col
+     * @param player Color denoting the player
+     * @param occupancy the bitboard of the squares taken to hold pieces, pieces off it neither block nor attack
+     * @return long
+     * @throws IllegalStateException if the board is not 8x8
+     */
+    public long getAttackers(int square, Color player, long occupancy) {
+        requireTableSize();
+        long rooks = word(PieceType.ROOK) | word(PieceType.QUEEN) | word(PieceType.ULTRA_ROOK);
+        long bishops = word(PieceType.BISHOP) | word(PieceType.QUEEN);
+        long knights = word(PieceType.KNIGHT) | word(PieceType.ULTRA_KNIGHT);
+        long owned = colorBits[player.ordinal()][0] & occupancy;
+        //pawns attack from where an opposing pawn on the square would attack, ultra knights slide in from the left
+        //and ultra rooks step in from below and to the left
+        long attackers = (AttackTables.rook(square, occupancy) & rooks)
+                | (AttackTables.bishop(square, occupancy) & bishops)
+                | (AttackTables.knight(square) & knights)
+                | (AttackTables.king(square) & word(PieceType.KING))
+                | (AttackTables.pawn(player.opponent(), square) & word(PieceType.PAWN))
+                | (AttackTables.left(square, occupancy) & word(PieceType.ULTRA_KNIGHT))
+                | (AttackTables.step(square, -1, -1) & word(PieceType.ULTRA_ROOK));
+        for (int type = TABLE_TYPES; type < typeBits.length; type++) { //types described later go by the MoveTables
+            for (long bits = typeBits[type][0] & owned; bits != 0; bits &= bits - 1) {
+                int from = Long.numberOfTrailingZeros(bits);
+                byte reach = moveTables.getReach(mailbox.getCode(from), square / TABLE_SIZE - from / TABLE_SIZE,
+                        square % TABLE_SIZE - from % TABLE_SIZE);
+                boolean clear = (AttackTables.between(from, square) & occupancy) == 0;
+                if (reach == MoveTables.LEAP || reach == MoveTables.CAPTURE || (reach == MoveTables.SLIDE && clear)) {
+                    attackers |= 1L << from;
                 }
             }
         }
-        return squares;
+        return attackers & owned;
     }
 
     /**
      * Returns the king belonging to the player
      * @param player Color denoting the player
-     * @return King 
+     * @return King
      */
 	public King getKing(Color player) {
-		for (Piece piece : board.values()) {
-			if (piece instanceof King && piece.getColor() == player) {
-				return (King) piece;
-			}
-		}
-		return null;
+        int square = getKingSquare(player);
+        return (square >= 0)? (King) pieceAt(square) : null;
 	}
 
+    /**
+     * Returns the index of the square of the king belonging to the player, the king getKing returns
+     * @param player Color denoting the player
+     * @return int the index of the square, row * boardSize + col, or -1 if the player has no king
+     */
+    public int getKingSquare(Color player) {
+        int count = typeCounts[player.ordinal()][PieceType.KING.ordinal()];
+        if (count <= 1) {
+            return (count == 1)? typeSquares[player.ordinal()][PieceType.KING.ordinal()][0] : -1;
+        }
+        long[] kings = typeBits[PieceType.KING.ordinal()]; //of several kings the one on the lowest square is used
+        long[] owned = colorBits[player.ordinal()];
+        for (int word = 0; word < kings.length; word++) {
+            long bits = kings[word] & owned[word];
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
     /**
      * Assuming the piece from fromSquare was just moved to toSquare, will reset the board to its configuration
-     * before the move was made.
+     * before the move was made. Only the last capture is remembered, use makeMove and unmakeMove to take back more
+     * than one move.
      */
 	public void undoMove(int[] fromSquare, int[] toSquare) {
         Piece moved = getPiece(toSquare);
@@ -145,12 +688,287 @@ public class ChessBoard {
         } else {
             movePiece(moved, fromSquare);
         }
-        if (moved instanceof Pawn && (fromSquare[0] == 1 || fromSquare[0] == 6)) {
-            ((Pawn) moved).setFirstTurn(true);
+        if (moved.getType().isPawn() && (fromSquare[0] == 1 || fromSquare[0] == 6)) {
+            setFirstTurn(moved, true);
         }
         lastCaptured = null;
     }
 
+    /**
+     * Makes sure the board has the size of the single long bitboards and the AttackTables
+     * @throws IllegalStateException if it does not
+     */
+    private void requireTableSize() {
+        if (boardSize != TABLE_SIZE) {
+            throw new IllegalStateException("single long bitboards are only kept for 8x8 boards: " + boardSize);
+        }
+    }
+
+    /**
+     * Gets the first word of the bitboard of the type, the whole of it on an 8x8 board
+     * @return long
+     */
+    private long word(PieceType type) { return typeBits[type.ordinal()][0]; }
+
+    /**
+     * Doubles the number of made moves the history can hold
+     */
+    private void growHistory() {
+        historyFrom = Arrays.copyOf(historyFrom, 2 * ply);
+        historyTo = Arrays.copyOf(historyTo, 2 * ply);
+        historyCaptured = Arrays.copyOf(historyCaptured, 2 * ply);
+        historyCapturedCode = Arrays.copyOf(historyCapturedCode, 2 * ply);
+        historyFirstTurn = Arrays.copyOf(historyFirstTurn, 2 * ply);
+        historyCapturedFirstTurn = Arrays.copyOf(historyCapturedFirstTurn, 2 * ply);
+        historyHash = Arrays.copyOf(historyHash, 2 * ply);
+    }
+
+    /**
+     * Gets the piece on the square with the given index, making it from the code and first turn of the square the first
+     * time it is asked for
+     * @param index the index of the square
+     * @return Piece or null if the square is empty
+     */
+    private Piece pieceAt(int index) {
+        Piece piece = board[index];
+        byte code = mailbox.getCode(index);
+        if (piece == null && Mailbox.isPiece(code)) {
+            piece = Mailbox.getType(code).create(Mailbox.getColor(code), index / boardSize, index % boardSize);
+            if (piece.getType().isPawn()) {
+                piece.setFirstTurn(isFirstTurn(index));
+            }
+            board[index] = piece;
+        }
+        return piece;
+    }
+
+    /**
+     * Puts a piece on the empty square with the given index. The piece blocks the rays passing through the square
+     * and starts attacking from it.
+     * @param index the index of an empty square
+     * @param piece the Piece or null if it has not been made
+     * @param code the code of the piece
+     * @param firstTurn true iff the piece is a pawn that may still move twice
+     */
+    private void fillSquare(int index, Piece piece, byte code, boolean firstTurn) {
+        updateRaysThrough(index, -1);
+        if (!isValidSquare(index)) {
+            geometry = null; //a piece on an invalid square blocks rays, which changes the shape
+        }
+        board[index] = piece;
+        mailbox.set(index, code);
+        toggleBits(index, code);
+        if (firstTurn) {
+            toggleFirstTurn(index);
+        }
+        listPiece(index, code);
+        score(index, code, 1);
+        updateAttacks(index, code, 1);
+    }
+
+    /**
+     * Takes the piece off the square with the given index. The piece stops attacking and the rays it blocked continue
+     * past the square.
+     * @param index the index of a square holding a piece
+     */
+    private void clearSquare(int index) {
+        byte code = mailbox.getCode(index);
+        updateAttacks(index, code, -1);
+        if (!isValidSquare(index)) {
+            geometry = null; //rays pass over the invalid square again
+        }
+        board[index] = null;
+        mailbox.set(index, ((invalidSquares[index >>> 6] & (1L << index)) == 0)? Mailbox.EMPTY : Mailbox.INVALID);
+        toggleBits(index, code);
+        if (isFirstTurn(index)) {
+            toggleFirstTurn(index);
+        }
+        unlistPiece(index, code);
+        score(index, code, -1);
+        updateRaysThrough(index, 1);
+    }
+
+    /**
+     * Replaces the piece on the square with the given index by another one. The square stays occupied so only the
+     * attacks of the two pieces change.
+     * @param index the index of a square holding a piece
+     * @param piece the Piece that takes its place or null if it has not been made
+     * @param code the code of that piece
+     * @param firstTurn true iff that piece is a pawn that may still move twice
+     */
+    private void replaceOnSquare(int index, Piece piece, byte code, boolean firstTurn) {
+        byte old = mailbox.getCode(index);
+        updateAttacks(index, old, -1);
+        toggleBits(index, old);
+        if (isFirstTurn(index)) {
+            toggleFirstTurn(index);
+        }
+        unlistPiece(index, old);
+        score(index, old, -1);
+        board[index] = piece;
+        mailbox.set(index, code);
+        toggleBits(index, code);
+        if (firstTurn) {
+            toggleFirstTurn(index);
+        }
+        listPiece(index, code);
+        score(index, code, 1);
+        updateAttacks(index, code, 1);
+    }
+
+    /**
+     * Flips the bits of the square with the given index in the bitboards of the piece's player and type, and the
+     * piece's key in the hash
+     * @param index the index of the square
+     * @param code the code of a piece
+     */
+    private void toggleBits(int index, byte code) {
+        long bit = 1L << index;
+        colorBits[(code - 1) & 1][index >>> 6] ^= bit;
+        typeBits[(code - 1) >> 1][index >>> 6] ^= bit;
+        if (occupancyIndex != null) {
+            occupancyIndex.toggle(index);
+        }
+        hash ^= zobrist.getPieceKey(Mailbox.getType(code), Mailbox.getColor(code), index);
+    }
+
+    /**
+     * Flips whether the pawn on the square with the given index may still move twice, and its key in the hash
+     * @param index the index of the square
+     */
+    private void toggleFirstTurn(int index) {
+        firstTurns[index >>> 6] ^= 1L << index;
+        hash ^= zobrist.getFirstTurnKey(index);
+    }
+
+    /**
+     * Adds the worth of the piece on the square with the given index to its player's scores and its weight to the
+     * phase, or takes them away
+     * @param index the index of the square
+     * @param code the code of a piece
+     * @param sign 1 if the piece arrived on the square and -1 if it left
+     */
+    private void score(int index, byte code, int sign) {
+        PieceType type = Mailbox.getType(code);
+        Color color = Mailbox.getColor(code);
+        middlegame[color.ordinal()] += sign * pieceSquareTables.getMiddlegame(type, color, index);
+        endgame[color.ordinal()] += sign * pieceSquareTables.getEndgame(type, color, index);
+        phase += sign * PieceSquareTables.getPhase(type);
+    }
+
+    /**
+     * Adds the square with the given index to the end of the lists of the piece's player and type, growing them when
+     * they are full
+     * @param index the index of the square the piece arrived on
+     * @param code the code of a piece
+     */
+    private void listPiece(int index, byte code) {
+        int color = (code - 1) & 1;
+        int type = (code - 1) >> 1;
+        if (pieceCounts[color] == pieceSquares[color].length) {
+            pieceSquares[color] = Arrays.copyOf(pieceSquares[color], 2 * pieceCounts[color]);
+        }
+        if (typeCounts[color][type] == typeSquares[color][type].length) {
+            typeSquares[color][type] = Arrays.copyOf(typeSquares[color][type], 2 * typeCounts[color][type]);
+        }
+        listSlots[index] = pieceCounts[color];
+        pieceSquares[color][pieceCounts[color]++] = index;
+        typeSlots[index] = typeCounts[color][type];
+        typeSquares[color][type][typeCounts[color][type]++] = index;
+    }
+
+    /**
+     * Removes the square with the given index from the lists of the piece's player and type by moving the last
+     * square of each list into its place
+     * @param index the index of the square the piece left
+     * @param code the code of the piece that left
+     */
+    private void unlistPiece(int index, byte code) {
+        int color = (code - 1) & 1;
+        int type = (code - 1) >> 1;
+        int last = pieceSquares[color][--pieceCounts[color]];
+        pieceSquares[color][listSlots[index]] = last;
+        listSlots[last] = listSlots[index];
+        last = typeSquares[color][type][--typeCounts[color][type]];
+        typeSquares[color][type][typeSlots[index]] = last;
+        typeSlots[last] = typeSlots[index];
+    }
+
+    /**
+     * Adds delta to the attack counts of every square the piece attacks from the square with the given index
+     * @param index the index of the square the piece attacks from
+     * @param code the code of a piece
+     * @param delta 1 when the piece arrives on the square and -1 when it leaves
+     */
+    private void updateAttacks(int index, byte code, int delta) {
+        int cell = mailbox.toCell(index);
+        int[] counts = attacks[(code - 1) & 1];
+        for (int offset : moveTables.getLeapOffsets(code)) {
+            if (mailbox.get(cell + offset) != Mailbox.OFF_BOARD) {
+                counts[mailbox.toSquare(cell + offset)] += delta;
+            }
+        }
+        for (int offset : moveTables.getRideOffsets(code)) {
+            updateRay(cell, offset, counts, delta);
+        }
+    }
+
+    /**
+     * Adds delta to the attack counts of the squares reached by every ray passing through the square with the given
+     * index, beyond that square. Those squares stop being attacked when the square is filled (delta -1) and are
+     * attacked again when it is emptied (delta 1).
+     * @param index the index of the square that changed
+     * @param delta -1 when a piece arrives on the square and 1 when it leaves
+     */
+    private void updateRaysThrough(int index, int delta) {
+        int cell = mailbox.toCell(index);
+        for (int direction = 0; direction < MoveTables.DIRECTIONS.length; direction++) {
+            int offset = moveTables.getDirectionOffset(direction);
+            int target = cell + offset;
+            while (mailbox.get(target) == Mailbox.EMPTY || mailbox.get(target) == Mailbox.INVALID) {
+                target += offset;
+            }
+            byte code = mailbox.get(target);
+            //direction ^ 1 is the opposite direction, the one the slider would ride along to reach the square, and
+            //the color of the slider is the low bit of its code less one
+            if (Mailbox.isPiece(code) && moveTables.ridesAlong(code, direction ^ 1)) {
+                updateRay(cell, -offset, attacks[(code - 1) & 1], delta);
+            }
+        }
+    }
+
+    /**
+     * Adds delta to the counts of the squares along the ray that starts next to the given cell, up to and including
+     * the first piece it reaches
+     * @param cell the cell the ray starts from
+     * @param offset the difference between consecutive cells of the ray
+     */
+    private void updateRay(int cell, int offset, int[] counts, int delta) {
+        for (int target = cell + offset; mailbox.get(target) != Mailbox.OFF_BOARD; target += offset) {
+            counts[mailbox.toSquare(target)] += delta;
+            if (Mailbox.isPiece(mailbox.get(target))) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Determines if the square lies within the square board ignoring whether it has been made invalid
+     * @param square An integer array representing a square by containing its row and column
+     * @return boolean
+     */
+    private boolean isOnBoard(int[] square) {
+        return square != null && isOnBoard(square[0], square[1]);
+    }
+
+    /**
+     * Determines if the square with the given row and column lies within the square board
+     * @return boolean
+     */
+    private boolean isOnBoard(int row, int col) {
+        return (0 <= row && row < boardSize) && (0 <= col && col < boardSize);
+    }
+
     /**
      * Converts the square into an integer using the same calculation as for indexing two dimensional arrays
      * @param square An integer array representing a square by containing its row and column
@@ -160,4 +978,28 @@ public class ChessBoard {
         return square[0] * boardSize + square[1];
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Copies every row of the array
+     * @return long[][]
+     */
+    private static long[][] copyOf(long[][] rows) {
+        long[][] copy = new long[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            copy[i] = rows[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Copies every row of the array
+     * @return int[][]
+     */
+    private static int[][] copyOf(int[][] rows) {
+        int[][] copy = new int[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            copy[i] = rows[i].clone();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,146 @@
+package chess.boards;
+
+import java.util.Arrays;
+
+import chess.Color;
+import chess.pieces.Movement;
+import chess.pieces.Piece;
+import chess.pieces.PieceType;
+
+/**
+ * Mailbox --- class that represents the shape and contents of a chess board as a flat array of codes with a border
+ * of off board cells around it. Every step any piece takes lands at most PADDING cells away, so walking a ray or
+ * jumping from a square on the board always ends on a cell of the array and the border tells it to stop without any
+ * bounds checks. Invalid squares have their own code: no piece may land on them but rays pass over them, just as
+ * the movement rules of the pieces ignore squares that hold no piece.
+ * Cells are indexed by (row + PADDING) * width + col + PADDING while squares keep their row * boardSize + col index.
+ * @author    Jeremy McMahan
+ */
+public class Mailbox {
+    public static final byte OFF_BOARD = -2; //code of the cells in the border around the board
+    public static final byte INVALID = -1; //code of the squares that were made invalid
+    public static final byte EMPTY = 0; //code of a valid square without a piece
+    public static final int PADDING = Movement.MAX_LEAP; //the width of the border, the furthest a single step reaches
+    private static final PieceType[] TYPES = PieceType.values(); //every type by its ordinal
+    private static final Color[] COLORS = Color.values(); //every color by its ordinal
+    private final int width; //the number of cells in a row of the mailbox
+    private final byte[] cells; //the code of every cell, pieces are coded by their type and color
+    private final int[] cellOf; //the cell of each square index
+    private final int[] squareOf; //the square index of each cell or -1 for the border
+
+    /**
+     * Creates the mailbox of an empty board where every square is valid
+     * @param boardSize An integer giving the length of one side of the board
+     */
+    public Mailbox(int boardSize) {
+        width = boardSize + 2 * PADDING;
+        cells = new byte[width * width];
+        cellOf = new int[boardSize * boardSize];
+        squareOf = new int[width * width];
+        Arrays.fill(cells, OFF_BOARD);
+        Arrays.fill(squareOf, -1);
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                int cell = (row + PADDING) * width + col + PADDING;
+                cells[cell] = EMPTY;
+                cellOf[row * boardSize + col] = cell;
+                squareOf[cell] = row * boardSize + col;
+            }
+        }
+    }
+
+    /**
+     * Copies the mailbox of another board. The cell codes are copied while the mapping between cells and squares,
+     * which never changes, is shared.
+     * @param other A Mailbox
+     */
+    Mailbox(Mailbox other) {
+        width = other.width;
+        cells = other.cells.clone();
+        cellOf = other.cellOf;
+        squareOf = other.squareOf;
+    }
+
+    public int getWidth() { return width; }
+
+    /**
+     * Gets the difference between the cells of two squares that are dRow rows and dCol columns apart
+     * @return int
+     */
+    public int getOffset(int dRow, int dCol) { return dRow * width + dCol; }
+
+    /**
+     * Converts a square index, row * boardSize + col, to the cell of that square
+     * @param square the index of a square on the board
+     * @return int
+     */
+    public int toCell(int square) { return cellOf[square]; }
+
+    /**
+     * Converts a cell on the board back to the index of its square
+     * @param cell a cell that is not in the border
+     * @return int
+     */
+    public int toSquare(int cell) { return squareOf[cell]; }
+
+    /**
+     * Gets the code of the given cell: OFF_BOARD, INVALID, EMPTY or the code of the piece standing on it
+     * @param cell a cell of the mailbox
+     * @return byte
+     */
+    public byte get(int cell) { return cells[cell]; }
+
+    /**
+     * Gets the code of the cell of the given square
+     * @param square the index of a square on the board
+     * @return byte
+     */
+    public byte getCode(int square) { return cells[cellOf[square]]; }
+
+    /**
+     * Sets the code of the cell of the given square
+     * @param square the index of a square on the board
+     * @param code the new code of its cell
+     */
+    void set(int square, byte code) { cells[cellOf[square]] = code; }
+
+    /**
+     * Codes the piece by its type and color. Piece codes are always greater than EMPTY.
+     * @param piece A non-null Piece
+     * @return byte
+     */
+    public static byte code(Piece piece) {
+        return (byte) (1 + (piece.getType().ordinal() << 1 | piece.getColor().ordinal()));
+    }
+
+    /**
+     * Gets the type of the piece with the given code
+     * @param code the code of a piece
+     * @return PieceType
+     */
+    public static PieceType getType(byte code) { return TYPES[(code - 1) >> 1]; }
+
+    /**
+     * Gets the color of the piece with the given code
+     * @param code the code of a piece
+     * @return Color
+     */
+    public static Color getColor(byte code) { return COLORS[(code - 1) & 1]; }
+
+    /**
+     * Determines if the code is the code of a piece
+     * @param code a cell code
+     * @return boolean
+     */
+    public static boolean isPiece(byte code) { return code > EMPTY; }
+
+    /**
+     * Determines if the code is the code of a piece belonging to the player
+     * @param code a cell code
+     * @param player Color denoting the player
+     * @return boolean
+     */
+    public static boolean isPieceOf(byte code, Color player) {
+        return code > EMPTY && ((code - 1) & 1) == player.ordinal();
+    }
+}
@@ -0,0 +1,186 @@
+package chess.boards;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import chess.Color;
+import chess.pieces.Movement;
+import chess.pieces.PieceType;
+
+/**
+ * MoveTables --- class that compiles the Movement of every PieceType into lookup tables indexed by Mailbox piece code,
+ * so the hot loops find how a piece moves with an array lookup instead of asking the piece. For each code there are
+ * the Mailbox offsets of its leaps, of its rides and of a pawn's move forward, and a table of how the piece reaches
+ * every square dRow rows and dCol columns away: by a leap, by sliding along a ride, by a pawn's move forward or
+ * double move, by a pawn's capture, or not at all.
+ * Offsets depend on the width of the mailbox, so each board size has tables of its own.
+ * @author    Jeremy McMahan
+ */
+public class MoveTables {
+    public static final byte UNKNOWN = -1; //the reach of an offset larger than any move on the board
+    public static final byte NONE = 0; //the piece never moves by the offset
+    public static final byte LEAP = 1; //the piece leaps by the offset, moving or capturing
+    public static final byte SLIDE = 2; //the piece slides by the offset along a ride, moving or capturing
+    public static final byte PUSH = 3; //the pawn moves forward by the offset without capturing
+    public static final byte DOUBLE_PUSH = 4; //the pawn moves forward by the offset on its first move only
+    public static final byte CAPTURE = 5; //the pawn captures by the offset but cannot move by it
+    //every direction a piece can ride in, ordered so that direction i ^ 1 is the opposite of direction i
+    public static final int[][] DIRECTIONS = {{1,0},{-1,0},{0,1},{0,-1},{1,1},{-1,-1},{1,-1},{-1,1}};
+    private static final ConcurrentHashMap<Integer, MoveTables> TABLES = new ConcurrentHashMap<>(); //by board size
+    private static final int CODES = 1 + 2 * PieceType.values().length; //the number of codes from EMPTY up
+    private final int boardSize; //the length of a side of the boards the tables are for
+    private final int span; //the number of row or column differences a move can have, 2 * boardSize - 1
+    private final int[] directionOffsets; //the mailbox offset of each of the DIRECTIONS
+    private final int[][] leapOffsets; //the mailbox offsets of the leaps of each code
+    private final int[][] rideOffsets; //the mailbox offsets of the rides of each code
+    private final int[] rideDirections; //for each code, bit i is set iff it rides along DIRECTIONS[i]
+    private final int[][] rideIndexes; //for each code, the index in DIRECTIONS of each of its rides
+    private final int[] forwardOffsets; //the mailbox offset of a pawn's move forward for each code, 0 if no pawn
+    private final byte[][] reach; //for each code, how it reaches each row and column difference
+
+    /**
+     * Compiles the tables for boards of the given size
+     * @param boardSize An integer giving the length of one side of the board
+     */
+    private MoveTables(int boardSize) {
+        Mailbox mailbox = new Mailbox(boardSize);
+        this.boardSize = boardSize;
+        span = 2 * boardSize - 1;
+        directionOffsets = new int[DIRECTIONS.length];
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            directionOffsets[i] = mailbox.getOffset(DIRECTIONS[i][0], DIRECTIONS[i][1]);
+        }
+        leapOffsets = new int[CODES][0];
+        rideOffsets = new int[CODES][0];
+        rideDirections = new int[CODES];
+        rideIndexes = new int[CODES][0];
+        forwardOffsets = new int[CODES];
+        reach = new byte[CODES][span * span];
+        for (PieceType type : PieceType.values()) {
+            for (Color color : Color.values()) {
+                compile(type.getMovement(), color, 1 + (type.ordinal() << 1 | color.ordinal()), mailbox);
+            }
+        }
+    }
+
+    /**
+     * Gets the tables for boards of the given size, making them the first time that size is asked for
+     * @param boardSize An integer giving the length of one side of the board
+     * @return MoveTables
+     */
+    public static MoveTables forSize(int boardSize) {
+        return TABLES.computeIfAbsent(boardSize, MoveTables::new);
+    }
+
+    /**
+     * Finds the direction of a step to one of the eight neighboring squares
+     * @param dRow the row difference of the step
+     * @param dCol the column difference of the step
+     * @return int the index of the step in DIRECTIONS or -1 if it is no such step
+     */
+    public static int getDirection(int dRow, int dCol) {
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            if (DIRECTIONS[direction][0] == dRow && DIRECTIONS[direction][1] == dCol) {
+                return direction;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the mailbox offsets of the leaps of the piece with the given code. For pawns these are its captures.
+     * @param code a Mailbox piece code
+     * @return int[]
+     */
+    public int[] getLeapOffsets(byte code) { return leapOffsets[code]; }
+
+    /**
+     * Gets the mailbox offsets of the directions the piece with the given code rides along
+     * @param code a Mailbox piece code
+     * @return int[]
+     */
+    public int[] getRideOffsets(byte code) { return rideOffsets[code]; }
+
+    /**
+     * Gets the indexes in DIRECTIONS of the directions the piece with the given code rides along, in the order of
+     * getRideOffsets
+     * @param code a Mailbox piece code
+     * @return int[]
+     */
+    public int[] getRideDirections(byte code) { return rideIndexes[code]; }
+
+    /**
+     * Gets the mailbox offset of a move forward of the piece with the given code
+     * @param code a Mailbox piece code
+     * @return int that is 0 iff the piece is not a pawn
+     */
+    public int getForwardOffset(byte code) { return forwardOffsets[code]; }
+
+    /**
+     * Gets the mailbox offset of DIRECTIONS[direction]
+     * @param direction an index of DIRECTIONS
+     * @return int
+     */
+    public int getDirectionOffset(int direction) { return directionOffsets[direction]; }
+
+    /**
+     * Determines if the piece with the given code rides along DIRECTIONS[direction]
+     * @param code a Mailbox piece code
+     * @param direction an index of DIRECTIONS
+     * @return boolean
+     */
+    public boolean ridesAlong(byte code, int direction) { return (rideDirections[code] & (1 << direction)) != 0; }
+
+    /**
+     * Gets how the piece with the given code reaches the square dRow rows and dCol columns away, whatever stands on
+     * or between the squares
+     * @param code a Mailbox piece code
+     * @param dRow the row difference
+     * @param dCol the column difference
+     * @return byte one of NONE, LEAP, SLIDE, PUSH, DOUBLE_PUSH and CAPTURE or UNKNOWN if the difference is too large
+     *         for both squares to be on the board
+     */
+    public byte getReach(byte code, int dRow, int dCol) {
+        if (dRow <= -boardSize || boardSize <= dRow || dCol <= -boardSize || boardSize <= dCol) {
+            return UNKNOWN;
+        }
+        return reach[code][(dRow + boardSize - 1) * span + dCol + boardSize - 1];
+    }
+
+    /**
+     * Fills the tables of the given code from the movement of a piece of the given color
+     */
+    private void compile(Movement movement, Color color, int code, Mailbox mailbox) {
+        int[][] leaps = movement.getLeaps(color);
+        int[][] rides = movement.getRides(color);
+        leapOffsets[code] = new int[leaps.length];
+        for (int i = 0; i < leaps.length; i++) {
+            leapOffsets[code][i] = mailbox.getOffset(leaps[i][0], leaps[i][1]);
+            setReach(code, leaps[i][0], leaps[i][1], movement.isPawn()? CAPTURE : LEAP);
+        }
+        rideOffsets[code] = new int[rides.length];
+        rideIndexes[code] = new int[rides.length];
+        for (int i = 0; i < rides.length; i++) {
+            rideOffsets[code][i] = mailbox.getOffset(rides[i][0], rides[i][1]);
+            rideIndexes[code][i] = getDirection(rides[i][0], rides[i][1]);
+            rideDirections[code] |= 1 << rideIndexes[code][i];
+            for (int distance = 1; distance < boardSize; distance++) { //sliding wins over a leap to the same square
+                setReach(code, distance * rides[i][0], distance * rides[i][1], SLIDE);
+            }
+        }
+        if (movement.isPawn()) {
+            int forward = Movement.getForward(color);
+            forwardOffsets[code] = mailbox.getOffset(forward, 0);
+            setReach(code, forward, 0, PUSH);
+            setReach(code, 2 * forward, 0, DOUBLE_PUSH);
+        }
+    }
+
+    /**
+     * Sets how the code reaches the given difference if both squares can be on the board
+     */
+    private void setReach(int code, int dRow, int dCol, byte kind) {
+        if (getReach((byte) code, dRow, dCol) != UNKNOWN) {
+            reach[code][(dRow + boardSize - 1) * span + dCol + boardSize - 1] = kind;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package chess.boards;
+
+/**
+ * OccupancyIndex --- class that indexes the occupied squares of a board along each of its lines: every row, column,
+ * diagonal and anti-diagonal has a bit set of the positions along it that hold a piece. Finding the nearest piece
+ * from a square in one of the MoveTables.DIRECTIONS then takes a few word operations on one line instead of a walk
+ * over every square in between, so path and attack questions on large boards cost about the same as on small ones.
+ * A line of up to 64 squares fits in a single word, so the boards up to 64x64 answer with one masked bit scan.
+ * Invalid squares are never occupied, so rays pass over them as they do everywhere else.
+ * @author    Jeremy McMahan
+ */
+public class OccupancyIndex {
+    private static final int COLUMN = 0; //the lines of directions {1,0} and {-1,0}, positions are rows
+    private static final int ROW = 1; //the lines of directions {0,1} and {0,-1}, positions are columns
+    private static final int DIAGONAL = 2; //the lines of directions {1,1} and {-1,-1}, positions are rows
+    private static final int ANTI_DIAGONAL = 3; //the lines of directions {1,-1} and {-1,1}, positions are rows
+    private final int boardSize; //the length of a side of the board
+    private final int words; //the number of longs holding the bits of one line
+    private final long[][] lines; //for each kind of line, the bits of each line one after the other
+
+    /**
+     * Creates the index of an empty board
+     * @param boardSize An integer giving the length of one side of the board
+     */
+    public OccupancyIndex(int boardSize) {
+        this.boardSize = boardSize;
+        words = (boardSize + 63) >>> 6;
+        lines = new long[4][(2 * boardSize - 1) * words];
+    }
+
+    /**
+     * Copies the index of another board
+     * @param other An OccupancyIndex
+     */
+    OccupancyIndex(OccupancyIndex other) {
+        boardSize = other.boardSize;
+        words = other.words;
+        lines = new long[other.lines.length][];
+        for (int kind = 0; kind < lines.length; kind++) {
+            lines[kind] = other.lines[kind].clone();
+        }
+    }
+
+    /**
+     * Marks the square with the given index occupied if it was empty and empty if it was occupied
+     * @param square the index of a square, row * boardSize + col
+     */
+    void toggle(int square) {
+        int row = square / boardSize;
+        int col = square % boardSize;
+        for (int kind = 0; kind < lines.length; kind++) {
+            int position = getPosition(kind, row, col);
+            lines[kind][getLine(kind, row, col) * words + (position >>> 6)] ^= 1L << position;
+        }
+    }
+
+    /**
+     * Finds the nearest occupied square from the square with the given index in DIRECTIONS[direction], as if the
+     * square removed were empty and the square added occupied
+     * @param square the index of a square, row * boardSize + col
+     * @param direction an index of MoveTables.DIRECTIONS
+     * @param removed the index of a square taken to be empty or -1
+     * @param added the index of a square taken to be occupied or -1
+     * @return int the index of the square found or -1 if the ray reaches the edge of the board first
+     */
+    public int nearest(int square, int direction, int removed, int added) {
+        int kind = direction >>> 1; //directions come in pairs along the same kind of line
+        int row = square / boardSize;
+        int col = square % boardSize;
+        int line = getLine(kind, row, col);
+        int removedPosition = getPositionOnLine(kind, line, removed);
+        int addedPosition = getPositionOnLine(kind, line, added);
+        int base = line * words;
+        int position = getPosition(kind, row, col);
+        if ((direction & 1) == 0) { //positions grow along the even directions
+            int start = position + 1;
+            for (int w = start >>> 6; w < words; w++) {
+                long bits = adjust(lines[kind][base + w], w, removedPosition, addedPosition);
+                bits &= (w == start >>> 6)? -1L << start : -1L;
+                if (bits != 0) {
+                    return getSquare(kind, line, (w << 6) + Long.numberOfTrailingZeros(bits));
+                }
+            }
+        } else {
+            int end = position - 1;
+            for (int w = end >> 6; w >= 0; w--) {
+                long bits = adjust(lines[kind][base + w], w, removedPosition, addedPosition);
+                bits &= (w == end >>> 6)? -1L >>> (63 - (end & 63)) : -1L;
+                if (bits != 0) {
+                    return getSquare(kind, line, (w << 6) + 63 - Long.numberOfLeadingZeros(bits));
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Determines if no square strictly between the squares with indexes from and to is occupied, except perhaps the
+     * square ignore. The squares must be different and on the same row, column or diagonal.
+     * @param from the index of a square, row * boardSize + col
+     * @param to the index of a square, row * boardSize + col
+     * @param ignore the index of a square taken to be empty or -1
+     * @return boolean
+     */
+    public boolean isClearBetween(int from, int to, int ignore) {
+        int dRow = to / boardSize - from / boardSize;
+        int dCol = to % boardSize - from % boardSize;
+        int blocker = nearest(from, MoveTables.getDirection(Integer.signum(dRow), Integer.signum(dCol)), ignore, -1);
+        if (blocker < 0) {
+            return true;
+        }
+        int blockerDistance = Math.max(Math.abs(blocker / boardSize - from / boardSize),
+                Math.abs(blocker % boardSize - from % boardSize));
+        return blockerDistance >= Math.max(Math.abs(dRow), Math.abs(dCol));
+    }
+
+    /**
+     * Sets or clears the bits of the removed and added positions that fall in the word w of a line
+     * @return long
+     */
+    private static long adjust(long bits, int w, int removedPosition, int addedPosition) {
+        if (removedPosition >= 0 && removedPosition >>> 6 == w) {
+            bits &= ~(1L << removedPosition);
+        }
+        if (addedPosition >= 0 && addedPosition >>> 6 == w) {
+            bits |= 1L << addedPosition;
+        }
+        return bits;
+    }
+
+    /**
+     * Gets the position of the square along the line of the given kind if it lies on the given line
+     * @return int the position or -1 if the square is -1 or on another line
+     */
+    private int getPositionOnLine(int kind, int line, int square) {
+        if (square < 0) {
+            return -1;
+        }
+        int row = square / boardSize;
+        int col = square % boardSize;
+        return (getLine(kind, row, col) == line)? getPosition(kind, row, col) : -1;
+    }
+
+    /**
+     * Gets the number of the line of the given kind through the square with the given row and column
+     * @return int
+     */
+    private int getLine(int kind, int row, int col) {
+        switch (kind) {
+            case COLUMN:
+                return col;
+            case ROW:
+                return row;
+            case DIAGONAL:
+                return row - col + boardSize - 1;
+            default:
+                return row + col;
+        }
+    }
+
+    /**
+     * Gets the position along its line of the given kind of the square with the given row and column
+     * @return int
+     */
+    private static int getPosition(int kind, int row, int col) { return (kind == ROW)? col : row; }
+
+    /**
+     * Gets the index of the square at the position along the line of the given kind
+     * @return int
+     */
+    private int getSquare(int kind, int line, int position) {
+        switch (kind) {
+            case COLUMN:
+                return position * boardSize + line;
+            case ROW:
+                return line * boardSize + position;
+            case DIAGONAL:
+                return position * boardSize + position - (line - boardSize + 1);
+            default:
+                return position * boardSize + line - position;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package chess.boards;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import chess.Color;
+import chess.pieces.Movement;
+import chess.pieces.PieceType;
+
+/**
+ * PieceSquareTables --- class that holds the worth of every piece on every square for evaluating positions, once for
+ * the middlegame and once for the endgame. Each value is the material of the piece plus a bonus for where it stands,
+ * so a board can keep the sum over its pieces up to date with an addition for each piece that comes or goes.
+ * The tables are not drawn for 8x8 but made from where a square lies on a board of any size: how far it is from the
+ * center, how far it has advanced from its player's side and, for the ultra pieces, how much room their extra moves
+ * have. Pawns gain as they advance, most of all in the endgame; knights and bishops like the center; the king hides at
+ * the back in the middlegame and comes to the center in the endgame. The UltraKnight rides right along its row, so it
+ * is worth more the further left it stands, and the UltraRook steps up and right, which it cannot from the top row or
+ * the right column.
+ * A kind of piece described after these gets its material from how many leaps and rides it has and is taken to like
+ * the center.
+ * Each piece also counts toward the phase of the game, which falls from MAX_PHASE as pieces are traded, weighing the
+ * middlegame values against the endgame ones.
+ * @author    Jeremy McMahan
+ */
+public class PieceSquareTables {
+    public static final int MAX_PHASE = 24; //the phase of a full set of pieces on an 8x8 board
+    private static final ConcurrentHashMap<Integer, PieceSquareTables> TABLES = new ConcurrentHashMap<>(); //by size
+    private static final int LEAP_VALUE = 40; //the material each leap adds to a type without values of its own
+    private static final int RIDE_VALUE = 120; //the material each ride adds to a type without values of its own
+    private static final int PHASE_VALUE = 250; //the material counting one toward the phase for such a type
+    private static final int[] VALUES = withEstimates(100, 320, 330, 500, 900, 0, 450, 550); //middlegame material
+    private static final int[] ENDGAME_VALUES = withEstimates(120, 300, 340, 520, 920, 0, 440, 570); //endgame material
+    private static final int[] PHASES = {0, 1, 1, 2, 4, 0, 2, 2}; //how much each type counts toward the phase
+    private final int squares; //the number of squares of the board size
+    private final int[] middlegame; //the middlegame worth of each type and color of piece on each square
+    private final int[] endgame; //the endgame worth of each type and color of piece on each square
+
+    /**
+     * Makes the tables for boards of the given size
+     * @param boardSize An integer giving the length of one side of the board
+     */
+    private PieceSquareTables(int boardSize) {
+        squares = boardSize * boardSize;
+        middlegame = new int[PieceType.values().length * Color.values().length * squares];
+        endgame = new int[middlegame.length];
+        double last = Math.max(boardSize - 1, 1);
+        for (PieceType type : PieceType.values()) {
+            for (Color color : Color.values()) {
+                for (int square = 0; square < squares; square++) {
+                    int row = square / boardSize;
+                    int col = square % boardSize;
+                    double advance = ((color == Color.W)? row : boardSize - 1 - row) / last;
+                    double center = 1 - Math.max(Math.abs(2 * row - last), Math.abs(2 * col - last)) / last;
+                    int index = ((type.ordinal() << 1) | color.ordinal()) * squares + square;
+                    middlegame[index] = VALUES[type.ordinal()]
+                            + (int) Math.round(getMiddlegameBonus(type, advance, center, row / last, col / last));
+                    endgame[index] = ENDGAME_VALUES[type.ordinal()]
+                            + (int) Math.round(getEndgameBonus(type, advance, center, row / last, col / last));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the tables for boards of the given size, making them the first time that size is asked for
+     * @param boardSize An integer giving the length of one side of the board
+     * @return PieceSquareTables
+     */
+    public static PieceSquareTables forSize(int boardSize) {
+        return TABLES.computeIfAbsent(boardSize, PieceSquareTables::new);
+    }
+
+    /**
+     * Gets the middlegame material of a piece of the given type, wherever it stands
+     * @param type A PieceType
+     * @return int the value in centipawns
+     */
+    public static int getValue(PieceType type) { return VALUES[type.ordinal()]; }
+
+    /**
+     * Gets how much a piece of the given type counts toward the phase of the game
+     * @param type A PieceType
+     * @return int
+     */
+    public static int getPhase(PieceType type) {
+        int ordinal = type.ordinal();
+        return (ordinal < PHASES.length)? PHASES[ordinal] : Math.round((float) VALUES[ordinal] / PHASE_VALUE);
+    }
+
+    /**
+     * Gets the middlegame worth of a piece of the given type and color standing on the given square
+     * @param type the PieceType of the piece
+     * @param color the Color of the piece
+     * @param square the index of the square, row * boardSize + col
+     * @return int the value in centipawns
+     */
+    public int getMiddlegame(PieceType type, Color color, int square) {
+        return middlegame[((type.ordinal() << 1) | color.ordinal()) * squares + square];
+    }
+
+    /**
+     * Gets the endgame worth of a piece of the given type and color standing on the given square
+     * @param type the PieceType of the piece
+     * @param color the Color of the piece
+     * @param square the index of the square, row * boardSize + col
+     * @return int the value in centipawns
+     */
+    public int getEndgame(PieceType type, Color color, int square) {
+        return endgame[((type.ordinal() << 1) | color.ordinal()) * squares + square];
+    }
+
+    /**
+     * Gives every type its material, the given values for the types they are known for and an estimate from how many
+     * leaps and rides it has for each type described after them
+     * @return int[] indexed by type ordinal
+     */
+    private static int[] withEstimates(int... known) {
+        int[] values = Arrays.copyOf(known, PieceType.values().length);
+        for (int i = known.length; i < values.length; i++) {
+            Movement movement = PieceType.values()[i].getMovement();
+            values[i] = LEAP_VALUE * movement.getLeaps(Color.W).length + RIDE_VALUE * movement.getRides(Color.W).length;
+        }
+        return values;
+    }
+
+    /**
+     * Gets the middlegame bonus of a piece for where it stands, each position given from 0 to 1
+     * @return double
+     */
+    private static double getMiddlegameBonus(PieceType type, double advance, double center, double row, double col) {
+        switch (type) {
+            case PAWN:
+                return 30 * advance + 10 * center;
+            case KNIGHT:
+                return 40 * center - 20;
+            case BISHOP:
+                return 20 * center - 10;
+            case ROOK:
+                return 10 * advance;
+            case QUEEN:
+                return 10 * center - 5;
+            case KING:
+                return 20 * (1 - center) - 60 * advance;
+            case ULTRA_KNIGHT:
+                return 30 * center + 20 * (1 - col) - 25;
+            case ULTRA_ROOK:
+                return (row < 1 && col < 1)? 10 : 0;
+            default: //a type described later is taken to like the center as the minor pieces do
+                return 20 * center - 10;
+        }
+    }
+
+    /**
+     * Gets the endgame bonus of a piece for where it stands, each position given from 0 to 1
+     * @return double
+     */
+    private static double getEndgameBonus(PieceType type, double advance, double center, double row, double col) {
+        switch (type) {
+            case PAWN:
+                return 100 * advance * advance;
+            case KNIGHT:
+                return 20 * center - 10;
+            case BISHOP:
+                return 10 * center - 5;
+            case ROOK:
+                return 0;
+            case QUEEN:
+                return 20 * center - 10;
+            case KING:
+                return 40 * center - 20;
+            case ULTRA_KNIGHT:
+                return 20 * center + 20 * (1 - col) - 20;
+            case ULTRA_ROOK:
+                return (row < 1 && col < 1)? 10 : 0;
+            default:
+                return 10 * center - 5;
+        }
+    }
+}
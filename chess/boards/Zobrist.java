@@ -0,0 +1,71 @@
+package chess.boards;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import chess.Color;
+import chess.pieces.PieceType;
+
+/**
+ * Zobrist --- class that holds the random keys used to hash chess positions. The hash of a position is the exclusive
+ * or of the keys of its pieces on their squares, the keys of the squares of pawns that may still move twice and the
+ * side key when black is to move, so a change to the board only costs a few exclusive ors to follow.
+ * There is a key for every piece type, including the ultra pieces, on every square of the board size it was made for.
+ * The keys come from a fixed seed so they are the same on every run.
+ * @author    Jeremy McMahan
+ */
+public class Zobrist {
+    private static final ConcurrentHashMap<Integer, Zobrist> TABLES = new ConcurrentHashMap<>(); //by board size
+    private static final long SEED = 0x2C1B3C6D8E9F0A17L; //the seed all keys are generated from
+    private final int squares; //the number of squares of the board size
+    private final long[] pieceKeys; //the key of each type and color of piece on each square
+    private final long[] firstTurnKeys; //the key of a pawn that may still move twice on each square
+    private final long sideKey; //the key of black being the player to move
+
+    /**
+     * Generates the keys for boards of the given size
+     * @param boardSize An integer giving the length of one side of the board
+     */
+    private Zobrist(int boardSize) {
+        SplittableRandom random = new SplittableRandom(SEED + boardSize);
+        squares = boardSize * boardSize;
+        pieceKeys = new long[PieceType.values().length * Color.values().length * squares];
+        firstTurnKeys = new long[squares];
+        for (int i = 0; i < pieceKeys.length; i++) {
+            pieceKeys[i] = random.nextLong();
+        }
+        for (int i = 0; i < squares; i++) {
+            firstTurnKeys[i] = random.nextLong();
+        }
+        sideKey = random.nextLong();
+    }
+
+    /**
+     * Gets the table of keys for boards of the given size, making it the first time that size is asked for
+     * @param boardSize An integer giving the length of one side of the board
+     * @return Zobrist
+     */
+    public static Zobrist forSize(int boardSize) {
+        return TABLES.computeIfAbsent(boardSize, Zobrist::new);
+    }
+
+    /**
+     * Gets the key of a piece of the given type and color standing on the given square
+     * @param type the PieceType of the piece
+     * @param color the Color of the piece
+     * @param square the index of the square, row * boardSize + col
+     * @return long
+     */
+    public long getPieceKey(PieceType type, Color color, int square) {
+        return pieceKeys[((type.ordinal() << 1) | color.ordinal()) * squares + square];
+    }
+
+    /**
+     * Gets the key of a pawn on the given square that may still move twice
+     * @param square the index of the square, row * boardSize + col
+     * @return long
+     */
+    public long getFirstTurnKey(int square) { return firstTurnKeys[square]; }
+
+    public long getSideKey() { return sideKey; }
+}
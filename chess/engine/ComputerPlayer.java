@@ -0,0 +1,84 @@
+package chess.engine;
+
+import chess.Chess;
+import chess.Color;
+import chess.MoveList;
+import chess.MoveResult;
+import chess.boards.ChessBoard;
+
+/**
+ * ComputerPlayer --- class that plays one side of a Chess game by searching a copy of its board for a move within a
+ * budget of either time or nodes. The player keeps its TranspositionTable from move to move, so what it learned about
+ * positions on one turn helps on the next.
+ * @author    Jeremy McMahan
+ */
+public class ComputerPlayer {
+    private static final int TABLE_MEGABYTES = 16; //the size of the table kept between moves
+    private final Color color; //the side the computer plays
+    private final long millis; //the time given to each move or Long.MAX_VALUE for no limit
+    private final long nodeLimit; //the nodes given to each move or Long.MAX_VALUE for no limit
+    private final TranspositionTable table; //remembers results of positions between moves
+    private Search lastSearch; //the search of the last move made, null until one is made
+
+    private ComputerPlayer(Color color, long millis, long nodeLimit) {
+        this.color = color;
+        this.millis = millis;
+        this.nodeLimit = nodeLimit;
+        table = new TranspositionTable(TABLE_MEGABYTES, TranspositionTable.Replacement.DEPTH_PREFERRED);
+    }
+
+    /**
+     * Creates a player that searches each move for about the given time
+     * @param color A Color that denotes the side the computer plays
+     * @param millis the time given to each move in milliseconds
+     * @return ComputerPlayer
+     */
+    public static ComputerPlayer withTimeLimit(Color color, long millis) {
+        return new ComputerPlayer(color, millis, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a player that searches about the given number of positions for each move, so it plays the same moves
+     * however fast the machine is
+     * @param color A Color that denotes the side the computer plays
+     * @param nodeLimit the number of positions searched for each move
+     * @return ComputerPlayer
+     */
+    public static ComputerPlayer withNodeLimit(Color color, long nodeLimit) {
+        return new ComputerPlayer(color, Long.MAX_VALUE, nodeLimit);
+    }
+
+    public Color getColor() { return color; }
+
+    /**
+     * Makes a move in the game if it is the computer's turn and it has a legal move
+     * @param game A Chess game
+     * @return boolean that is true iff a move was made
+     */
+    public boolean play(Chess game) {
+        if (game.getPlayer() != color) {
+            return false;
+        }
+        ChessBoard board = game.getBoard().copy();
+        Search search = new Search(board, color);
+        search.setTranspositionTable(table);
+        search.setTimeLimit(millis);
+        search.setNodeLimit(nodeLimit);
+        int move = search.search();
+        lastSearch = search;
+        if (move == 0) {
+            return false;
+        }
+        int size = board.getBoardSize();
+        int from = MoveList.getFrom(move);
+        int to = MoveList.getTo(move);
+        MoveResult result = game.move(new int[]{from / size, from % size}, new int[]{to / size, to % size});
+        return result.isLegal();
+    }
+
+    /**
+     * Gets the search of the last move the computer chose, giving its depth, score, nodes and nodes per second
+     * @return Search that is null if no move was searched yet
+     */
+    public Search getLastSearch() { return lastSearch; }
+}
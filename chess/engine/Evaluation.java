@@ -0,0 +1,40 @@
+package chess.engine;
+
+import chess.Color;
+import chess.boards.ChessBoard;
+import chess.boards.PieceSquareTables;
+import chess.pieces.PieceType;
+
+/**
+ * Evaluation --- class that scores positions for the search in centipawns from the view of the player to move. The
+ * score is the material and placement of the pieces from the PieceSquareTables, whose sums the board keeps up to date
+ * as pieces come and go, so scoring a leaf takes a few reads instead of a walk over the pieces. The middlegame and
+ * endgame sums are blended by the phase of the game, moving toward the endgame as pieces are traded.
+ * @author    Jeremy McMahan
+ */
+public final class Evaluation {
+    private static final int MAX_PHASE = PieceSquareTables.MAX_PHASE;
+
+    private Evaluation() {}
+
+    /**
+     * Gets the value of a piece of the given type
+     * @param type A PieceType
+     * @return int the value in centipawns
+     */
+    public static int getValue(PieceType type) { return PieceSquareTables.getValue(type); }
+
+    /**
+     * Scores the position on the board for the given player
+     * @param board A ChessBoard
+     * @param player A Color that denotes the player the score is for
+     * @return int the score in centipawns, positive when the player is ahead
+     */
+    public static int evaluate(ChessBoard board, Color player) {
+        Color opponent = player.opponent();
+        int middlegame = board.getMiddlegameScore(player) - board.getMiddlegameScore(opponent);
+        int endgame = board.getEndgameScore(player) - board.getEndgameScore(opponent);
+        int phase = Math.min(board.getPhase(), MAX_PHASE); //boards with more pieces are middlegames for longer
+        return (middlegame * phase + endgame * (MAX_PHASE - phase)) / MAX_PHASE;
+    }
+}
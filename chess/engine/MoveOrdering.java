@@ -0,0 +1,237 @@
+package chess.engine;
+
+import java.util.Arrays;
+
+import chess.MoveList;
+import chess.boards.ChessBoard;
+import chess.boards.Mailbox;
+import chess.pieces.PieceType;
+
+/**
+ * MoveOrdering --- class that sorts the moves of each position of a search so the ones most likely to cut the search
+ * off come first. The move the TranspositionTable remembers as best comes first, then captures with the most valuable
+ * victim first and the least valuable attacker first among those (MVV-LVA), then the two killer moves of the ply,
+ * quiet moves that cut off a sibling position, then the counter move, the quiet move that last cut off a reply to the
+ * move just played, and last the other quiet moves by their history, how often and how deep the same piece moving to
+ * the same square has cut off the search before. Captures of a piece worth less than the attacker that lose material
+ * by the StaticExchange on their square, when one is given, come after every quiet move.
+ * Moves are scored once per position and picked one at a time by selection, so a position cut off by its first move
+ * pays for no sorting. Everything lives in arrays made once per search: scores by ply, killers by ply, and history and
+ * counter moves by the code of the piece moving and the square it moves to. The share of cutoffs made by the first move
+ * searched is counted as the measure of how well the moves were ordered.
+ * Searches run side by side on one table may be given a noise seed, which adds a small amount fixed by the seed and
+ * the move to the history of each quiet move, so quiet moves with little or no history are tried in a different order
+ * by each of them while everything with a real score keeps its place.
+ * @author    Jeremy McMahan
+ */
+public class MoveOrdering {
+    private static final int HASH_SCORE = 1 << 30; //the score of the move from the table
+    private static final int CAPTURE_SCORE = 1 << 28; //the least score of a capture, less than 0 if it loses
+    private static final int KILLER_SCORE = 1 << 27; //the score of the second killer, the first scoring one more
+    private static final int COUNTER_SCORE = 1 << 26; //the score of the counter move
+    private static final int HISTORY_LIMIT = 1 << 25; //the history at which every entry is halved, below the others
+    private static final int NOISE_BITS = 4; //the number of bits of the noise added to the history of quiet moves
+    private static final int KING_VICTIM = 10000; //the value of a king as a victim, above any other piece
+    private static final int KING_ATTACKER = 1000; //the value of a king as an attacker, above any other piece
+    private static final int[] VICTIMS = new int[PieceType.values().length]; //the worth of capturing each type
+    private static final int[] ATTACKERS = new int[PieceType.values().length]; //the cost of capturing with each type
+    private static final int CODES = 1 + 2 * PieceType.values().length; //the number of Mailbox codes up to any piece
+    private final int squares; //the number of squares of the board
+    private final int[][] scores = new int[Search.MAX_PLY + 1][]; //the scores of the moves of each ply
+    private final int[] killers = new int[2 * (Search.MAX_PLY + 1)]; //the two killers of each ply, newest first
+    private final int[] history; //the history of each piece code moving to each square
+    private final int[] counters; //the counter move to each piece code having moved to each square, 0 if none
+    private long cutoffs; //the number of cutoffs since the last new search
+    private long firstMoveCutoffs; //the number of those made by the first move searched
+    private int noise; //the seed of the noise added to the history of quiet moves, 0 for none
+
+    static {
+        for (PieceType type : PieceType.values()) {
+            int value = Evaluation.getValue(type);
+            VICTIMS[type.ordinal()] = (type == PieceType.KING)? KING_VICTIM : value;
+            ATTACKERS[type.ordinal()] = (type == PieceType.KING)? KING_ATTACKER : value;
+        }
+    }
+
+    /**
+     * Creates the move ordering for boards of the given size
+     * @param boardSize An integer giving the length of one side of the board
+     */
+    public MoveOrdering(int boardSize) {
+        squares = boardSize * boardSize;
+        history = new int[CODES * squares];
+        counters = new int[CODES * squares];
+        for (int ply = 0; ply <= Search.MAX_PLY; ply++) {
+            scores[ply] = new int[256];
+        }
+    }
+
+    /**
+     * Gets ready for a new search: the killers of the last one are forgotten, its history is halved so the new
+     * search's counts soon weigh more, and the cutoffs are counted from 0. Counter moves are kept.
+     */
+    public void newSearch() {
+        Arrays.fill(killers, 0);
+        age();
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+    }
+
+    /**
+     * Sets the seed of the noise added to the history of quiet moves, so searches sharing a table order them apart
+     * @param noise any integer, 0 for no noise
+     */
+    public void setNoise(int noise) { this.noise = noise; }
+
+    /**
+     * Scores the moves of a position for picking them by next
+     * @param board A ChessBoard holding the position
+     * @param list the MoveList of the position's moves
+     * @param ply the distance of the position from the root
+     * @param hashMove the move remembered for the position or 0
+     * @param previousMove the move that led to the position or 0
+     * @param exchange the StaticExchange of the board to put losing captures last, or null to order them by MVV-LVA
+     */
+    public void score(ChessBoard board, MoveList list, int ply, int hashMove, int previousMove,
+            StaticExchange exchange) {
+        Mailbox mailbox = board.getMailbox();
+        int count = list.size();
+        if (scores[ply].length < count) {
+            scores[ply] = new int[2 * count];
+        }
+        int[] moveScores = scores[ply];
+        int killer = killers[2 * ply];
+        int secondKiller = killers[2 * ply + 1];
+        int counter = 0;
+        if (previousMove != 0) {
+            int to = MoveList.getTo(previousMove);
+            counter = counters[mailbox.getCode(to) * squares + to];
+        }
+        for (int i = 0; i < count; i++) {
+            int move = list.get(i);
+            int from = MoveList.getFrom(move);
+            int to = MoveList.getTo(move);
+            if (move == hashMove) {
+                moveScores[i] = HASH_SCORE;
+            } else if (isCapture(move)) {
+                int victim = VICTIMS[typeOf(mailbox.getCode(to))];
+                int attacker = ATTACKERS[typeOf(mailbox.getCode(from))];
+                boolean losing = exchange != null && victim < attacker && exchange.evaluate(move) < 0;
+                moveScores[i] = (losing? -CAPTURE_SCORE : CAPTURE_SCORE) + 16 * victim - attacker / 16;
+            } else if (move == killer) {
+                moveScores[i] = KILLER_SCORE + 1;
+            } else if (move == secondKiller) {
+                moveScores[i] = KILLER_SCORE;
+            } else if (move == counter) {
+                moveScores[i] = COUNTER_SCORE;
+            } else {
+                moveScores[i] = history[mailbox.getCode(from) * squares + to];
+                if (noise != 0) {
+                    moveScores[i] += ((move ^ noise) * 0x9E3779B9) >>> (Integer.SIZE - NOISE_BITS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Picks the best scored move not yet searched and moves it to the given index, by selection so the moves after a
+     * cutoff are never sorted
+     * @param list the MoveList scored for the ply by score
+     * @param index the index of the move to pick, every move before it already searched
+     * @param ply the distance of the position from the root
+     * @return int the move now at the index
+     */
+    public int next(MoveList list, int index, int ply) {
+        int[] moveScores = scores[ply];
+        int best = index;
+        for (int i = index + 1; i < list.size(); i++) {
+            if (moveScores[i] > moveScores[best]) {
+                best = i;
+            }
+        }
+        if (best != index) {
+            list.swap(index, best);
+            int score = moveScores[index];
+            moveScores[index] = moveScores[best];
+            moveScores[best] = score;
+        }
+        return list.get(index);
+    }
+
+    /**
+     * Learns from a move that cut the search off, with the move taken back. Quiet moves become the newest killer of the
+     * ply and the counter move to the previous move, and their history grows by the square of the remaining depth.
+     * @param board A ChessBoard holding the position
+     * @param move the move that cut off
+     * @param index the index of the move among those searched, 0 for the first
+     * @param ply the distance of the position from the root
+     * @param remaining the depth left to search below the position
+     * @param previousMove the move that led to the position or 0
+     */
+    public void cutoff(ChessBoard board, int move, int index, int ply, int remaining, int previousMove) {
+        cutoffs++;
+        if (index == 0) {
+            firstMoveCutoffs++;
+        }
+        if (isCapture(move)) {
+            return; //captures are ordered well enough by what they take
+        }
+        if (killers[2 * ply] != move) {
+            killers[2 * ply + 1] = killers[2 * ply];
+            killers[2 * ply] = move;
+        }
+        Mailbox mailbox = board.getMailbox();
+        if (previousMove != 0) {
+            int to = MoveList.getTo(previousMove);
+            counters[mailbox.getCode(to) * squares + to] = move;
+        }
+        int entry = mailbox.getCode(MoveList.getFrom(move)) * squares + MoveList.getTo(move);
+        history[entry] += remaining * remaining;
+        if (history[entry] >= HISTORY_LIMIT) {
+            age();
+        }
+    }
+
+    /**
+     * Gets the killers of a ply
+     * @param ply the distance of a position from the root
+     * @param slot 0 for the newest killer, 1 for the one before
+     * @return int the killer or 0 if there is none
+     */
+    public int getKiller(int ply, int slot) { return killers[2 * ply + slot]; }
+
+    /**
+     * Gets the number of cutoffs since the last new search
+     * @return long
+     */
+    public long getCutoffs() { return cutoffs; }
+
+    /**
+     * Gets the share of cutoffs since the last new search made by the first move searched, the higher the better the
+     * moves were ordered
+     * @return double from 0 to 1, 0 if there was no cutoff
+     */
+    public double getFirstMoveCutoffRate() { return (cutoffs > 0)? (double) firstMoveCutoffs / cutoffs : 0; }
+
+    /**
+     * Halves every history entry
+     */
+    private void age() {
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+
+    /**
+     * Determines if the move captures a piece
+     * @param move a move packed by MoveList.pack
+     * @return boolean
+     */
+    static boolean isCapture(int move) { return (MoveList.getFlags(move) & MoveList.CAPTURE) != 0; }
+
+    /**
+     * Gets the ordinal of the PieceType of a piece code
+     * @return int
+     */
+    private static int typeOf(byte code) { return (code - 1) >> 1; }
+}
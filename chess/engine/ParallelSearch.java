@@ -0,0 +1,227 @@
+package chess.engine;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import chess.Color;
+import chess.boards.ChessBoard;
+
+/**
+ * ParallelSearch --- class that searches a position on several threads at once by Lazy SMP. Every thread runs its own
+ * Search of the same root on its own copy of the board, and all of them share one TranspositionTable, which they read
+ * and write without locks. Nothing else is shared: the threads speed each other up only through the results they leave
+ * in the table. To keep the threads from all searching the same tree, every other helper starts one depth deeper
+ * than the main thread and works ahead of it while the rest start at its depth, and every helper tries quiet moves
+ * without a history in its own order, set by a noise seed of its own.
+ * The main thread keeps the limits on depth, nodes and time; once it finishes the others are stopped. The answer is the
+ * move of the thread that finished the deepest iteration, the main thread winning ties, and the nodes of all the
+ * threads are added together.
+ * @author    Jeremy McMahan
+ */
+public class ParallelSearch {
+    private static final int DEFAULT_MEGABYTES = 64; //the size of the table made when none is given
+    private final ChessBoard board; //the position to search, copied for every thread
+    private final Color player; //the player to move in the position
+    private final int threads; //the number of threads searching
+    private TranspositionTable table; //shared by every thread, made on the first search if none is given
+    private int maxDepth = Search.MAX_PLY; //the deepest iteration to search
+    private long nodeLimit = Long.MAX_VALUE; //the number of nodes of the main thread after which to stop
+    private long millis = Long.MAX_VALUE; //the milliseconds after which to stop
+    private Search[] searches; //the search of each thread in the last run, the main thread's first
+    private int bestMove; //the best move of the last search, 0 if there is none
+    private int score; //the score of bestMove
+    private int depth; //the depth of the iteration bestMove comes from
+    private long nodes; //the nodes visited by every thread in the last search
+    private long nanos; //the time taken by the last search
+
+    /**
+     * Creates a search of the position on the board by the given number of threads. The board is only copied.
+     * @param board A ChessBoard holding the position
+     * @param player A Color that denotes the player to move
+     * @param threads the number of threads, at least 1
+     */
+    public ParallelSearch(ChessBoard board, Color player, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("at least one thread is needed: " + threads);
+        }
+        this.board = board;
+        this.player = player;
+        this.threads = threads;
+    }
+
+    /**
+     * Shares the given table between the threads
+     * @param table A TranspositionTable
+     */
+    public void setTranspositionTable(TranspositionTable table) { this.table = table; }
+
+    /**
+     * Sets the deepest iteration to search
+     * @param maxDepth the number of moves to look ahead, from 1 to Search.MAX_PLY
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 1 || maxDepth > Search.MAX_PLY) {
+            throw new IllegalArgumentException("depth must be between 1 and " + Search.MAX_PLY + ": " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Stops the search once the main thread has visited about the given number of positions
+     * @param nodeLimit the number of nodes or Long.MAX_VALUE for no limit
+     */
+    public void setNodeLimit(long nodeLimit) { this.nodeLimit = nodeLimit; }
+
+    /**
+     * Stops the search once it has run for about the given time
+     * @param millis the time in milliseconds or Long.MAX_VALUE for no limit
+     */
+    public void setTimeLimit(long millis) { this.millis = millis; }
+
+    /**
+     * Searches the position on every thread until the main thread finishes
+     * @return int the best move found packed by MoveList.pack or 0 if the player has no legal move
+     */
+    public int search() {
+        long start = System.nanoTime();
+        if (table == null) {
+            table = new TranspositionTable(DEFAULT_MEGABYTES, TranspositionTable.Replacement.DEPTH_PREFERRED);
+        }
+        table.newSearch();
+        AtomicBoolean stopFlag = new AtomicBoolean();
+        searches = new Search[threads];
+        Thread[] helpers = new Thread[threads - 1];
+        for (int i = 0; i < threads; i++) {
+            Search search = new Search(board.copy(), player);
+            search.setTranspositionTable(table);
+            search.setMaxDepth(maxDepth);
+            search.setTableShared(true);
+            if (i == 0) {
+                search.setNodeLimit(nodeLimit);
+                search.setTimeLimit(millis);
+            } else {
+                search.setStopFlag(stopFlag);
+                search.setDepthOffset(i % 2);
+                search.setOrderingNoise(i);
+                helpers[i - 1] = new Thread(search::search, "lazy-smp-" + i);
+                helpers[i - 1].setDaemon(true);
+                helpers[i - 1].start();
+            }
+            searches[i] = search;
+        }
+        searches[0].search();
+        stopFlag.set(true);
+        for (Thread helper : helpers) {
+            join(helper);
+        }
+        collect();
+        nanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    public int getThreadCount() { return threads; }
+
+    /**
+     * Gets the best move of the last search
+     * @return int the move packed by MoveList.pack or 0 if there was none
+     */
+    public int getBestMove() { return bestMove; }
+
+    /**
+     * Gets the score of the best move of the last search in centipawns for the player to move
+     * @return int
+     */
+    public int getScore() { return score; }
+
+    /**
+     * Gets the depth of the iteration the best move of the last search comes from
+     * @return int
+     */
+    public int getDepth() { return depth; }
+
+    /**
+     * Gets the number of positions visited by all the threads in the last search
+     * @return long
+     */
+    public long getNodes() { return nodes; }
+
+    /**
+     * Gets the number of positions visited by one thread in the last search
+     * @param thread the number of the thread, 0 for the main one
+     * @return long
+     */
+    public long getNodes(int thread) { return searches[thread].getNodes(); }
+
+    /**
+     * Gets the time taken by the last search in nanoseconds
+     * @return long
+     */
+    public long getNanos() { return nanos; }
+
+    /**
+     * Gets the number of positions visited per second by all the threads in the last search
+     * @return long
+     */
+    public long getNodesPerSecond() { return (nanos > 0)? nodes * 1_000_000_000L / nanos : 0; }
+
+    /**
+     * Measures how the search speeds up with threads: each reference position of Perft is searched to a fixed depth
+     * with 1, 2, 4, ... threads up to the given number, each time with a new table, and the time to reach the depth,
+     * the speedup over one thread, the speedup per thread and the nodes per second are printed.
+     * So far this has only been run on a single core, where the threads take turns and any speedup comes from the
+     * shared table rather than from running at once; the scaling up to 16 threads on a machine with that many cores
+     * is still to be measured.
+     * @param args [maxThreads] [depth]
+     */
+    public static void main(String[] args) {
+        int maxThreads = (args.length > 0)? Integer.parseInt(args[0]) : 16;
+        int depth = (args.length > 1)? Integer.parseInt(args[1]) : 6;
+        List<Perft.Position> positions = Perft.POSITIONS;
+        long baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            long nanos = 0;
+            long nodes = 0;
+            for (Perft.Position position : positions) {
+                ParallelSearch search = new ParallelSearch(position.getBoard(), position.getPlayer(), threads);
+                search.setTranspositionTable(new TranspositionTable(DEFAULT_MEGABYTES,
+                        TranspositionTable.Replacement.DEPTH_PREFERRED));
+                search.setMaxDepth(depth);
+                search.search();
+                nanos += search.getNanos();
+                nodes += search.getNodes();
+            }
+            baseline = (threads == 1)? nanos : baseline;
+            double speedup = (double) baseline / nanos;
+            System.out.printf("%2d threads: depth %d in %,8d ms  speedup %5.2f  per thread %4.2f  %,12d nodes/s%n",
+                    threads, depth, nanos / 1_000_000, speedup, speedup / threads, nodes * 1_000_000_000L / nanos);
+        }
+    }
+
+    /**
+     * Picks the move of the deepest finished iteration and adds up the nodes of every thread
+     */
+    private void collect() {
+        Search best = searches[0];
+        nodes = 0;
+        for (Search search : searches) {
+            nodes += search.getNodes();
+            if (search.getDepth() > best.getDepth() && search.getBestMove() != 0) {
+                best = search;
+            }
+        }
+        bestMove = best.getBestMove();
+        score = best.getScore();
+        depth = best.getDepth();
+    }
+
+    /**
+     * Waits for the thread to finish
+     */
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); //let the caller see it was interrupted
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package chess.engine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+import chess.Color;
+import chess.MoveGenerator;
+import chess.MoveList;
+import chess.MoveValidator;
+import chess.boards.ChessBoard;
+import chess.boards.CustomBoard;
+import chess.boards.StandardBoard;
+import chess.pieces.*;
+
+/**
+ * Perft --- class that counts the leaves of the tree of legal moves from a position to a fixed depth. The counts of
+ * the reference positions are known, so any change to the rules or the move generator that changes a count is caught,
+ * and the time taken gives the number of nodes the move generator gets through per second.
+ * Moves are made and taken back on the board itself. A hash table can remember the counts of positions reached by
+ * different orders of moves, and the moves from the root can be counted in parallel on copies of the board.
+ * @author    Jeremy McMahan
+ */
+public class Perft {
+    /**
+     * Position --- a reference position and its known counts
+     */
+    public static class Position {
+        private final String name; //describes the position
+        private final Supplier<ChessBoard> setup; //makes a new board holding the position
+        private final Color player; //the player to move
+        private final long[] counts; //the count at each depth starting from depth 1
+
+        Position(String name, Supplier<ChessBoard> setup, Color player, long... counts) {
+            this.name = name;
+            this.setup = setup;
+            this.player = player;
+            this.counts = counts;
+        }
+
+        public String getName() { return name; }
+
+        public ChessBoard getBoard() { return setup.get(); }
+
+        public Color getPlayer() { return player; }
+
+        public int getMaxDepth() { return counts.length; }
+
+        /**
+         * Gets the known count of the position at the given depth
+         * @param depth between 1 and getMaxDepth()
+         * @return long
+         */
+        public long getCount(int depth) { return counts[depth - 1]; }
+    }
+
+    public static final List<Position> POSITIONS = List.of(
+            new Position("standard start", StandardBoard::new, Color.W, 20, 400, 8902, 197281),
+            new Position("custom start", CustomBoard::new, Color.W, 27, 698, 20878, 599060),
+            new Position("custom start, black first", CustomBoard::new, Color.B, 26, 696, 20168, 595868),
+            new Position("ultra pieces middlegame", Perft::ultraMiddlegame, Color.W, 61, 2516, 141375, 5755189),
+            new Position("check evasions", Perft::checkEvasions, Color.W, 8, 372, 9335, 396130),
+            new Position("shaped board", Perft::shapedBoard, Color.B, 21, 287, 5013, 63853));
+    private static final int MAX_DEPTH = 64; //the deepest a count may go
+    private final ChessBoard board; //the position to count from
+    private final Color player; //the player to move in the position
+    private HashTable table; //remembers counts of positions, null when not in use
+    private boolean parallel; //true iff the moves from the root are counted in parallel
+    private long nodes; //the count of the last run
+    private long nanos; //the time taken by the last run
+
+    /**
+     * Creates a counter for the position on the board. The board is changed while counting but always put back.
+     * @param board A ChessBoard holding the position
+     * @param player A Color that denotes the player to move
+     */
+    public Perft(ChessBoard board, Color player) {
+        this.board = board;
+        this.player = player;
+    }
+
+    /**
+     * Remembers the counts of positions in a table of the given size so they are only counted once per depth
+     * @param megabytes the size of the table in MB or 0 to count every position
+     */
+    public void setHashTable(int megabytes) { table = (megabytes > 0)? new HashTable(megabytes) : null; }
+
+    /**
+     * Sets whether the moves from the root are counted in parallel, each on its own copy of the board
+     * @param parallel boolean
+     */
+    public void setParallel(boolean parallel) { this.parallel = parallel; }
+
+    /**
+     * Counts the leaves of the tree of legal moves to the given depth
+     * @param depth the number of moves to play out, from 0 to 64
+     * @return long
+     */
+    public long perft(int depth) {
+        checkDepth(depth);
+        long start = System.nanoTime();
+        long count = 0;
+        if (depth > 0 && parallel) {
+            for (long moveCount : divide(depth, new MoveList())) {
+                count += moveCount;
+            }
+        } else {
+            count = new Walker(board, table).count(player, depth);
+        }
+        return finish(count, start);
+    }
+
+    /**
+     * Counts the leaves below each legal move of the position
+     * @param depth the number of moves to play out including the first, from 1 to 64
+     * @param rootMoves A MoveList that receives the legal moves of the position
+     * @return long[] the count below each move in the order of rootMoves
+     */
+    public long[] divide(int depth, MoveList rootMoves) {
+        checkDepth(depth);
+        if (depth == 0) {
+            throw new IllegalArgumentException("divide needs a depth of at least 1");
+        }
+        long start = System.nanoTime();
+        int size = MoveGenerator.generateLegalMoves(player, board, rootMoves);
+        long[] counts = new long[size];
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(new RootTask(rootMoves, counts, depth, 0, size));
+        } else {
+            Walker walker = new Walker(board, table);
+            for (int i = 0; i < size; i++) {
+                counts[i] = walker.countAfter(rootMoves.get(i), player, depth);
+            }
+        }
+        long count = 0;
+        for (long moveCount : counts) {
+            count += moveCount;
+        }
+        finish(count, start);
+        return counts;
+    }
+
+    /**
+     * Gets the count of the last run
+     * @return long
+     */
+    public long getNodes() { return nodes; }
+
+    /**
+     * Gets the time taken by the last run in nanoseconds
+     * @return long
+     */
+    public long getNanos() { return nanos; }
+
+    /**
+     * Gets the number of leaves counted per second in the last run
+     * @return long
+     */
+    public long getNodesPerSecond() { return (nanos > 0)? nodes * 1_000_000_000L / nanos : 0; }
+
+    /**
+     * Counts the reference positions and prints each count, whether it is the known count, and the nodes per second.
+     * The arguments are the deepest depth to count followed by "hash" to use a 64MB hash table and/or "parallel" to
+     * count the moves from the root in parallel.
+     * @param args depth [hash] [parallel]
+     */
+    public static void main(String[] args) {
+        int maxDepth = (args.length > 0)? Integer.parseInt(args[0]) : 4;
+        List<String> options = List.of(args);
+        boolean allMatch = true;
+        for (Position position : POSITIONS) {
+            Perft perft = new Perft(position.getBoard(), position.getPlayer());
+            perft.setHashTable(options.contains("hash")? 64 : 0);
+            perft.setParallel(options.contains("parallel"));
+            for (int depth = 1; depth <= Math.min(maxDepth, position.getMaxDepth()); depth++) {
+                long count = perft.perft(depth);
+                boolean match = count == position.getCount(depth);
+                allMatch &= match;
+                System.out.printf("%-28s depth %d: %12d %-8s %,14d nodes/s%n", position.getName(), depth, count,
+                        match? "ok" : "EXPECTED " + position.getCount(depth), perft.getNodesPerSecond());
+            }
+        }
+        System.out.println(allMatch? "all counts match" : "COUNTS DIFFER");
+    }
+
+    /**
+     * Records the count and time of a run
+     * @return long the count
+     */
+    private long finish(long count, long start) {
+        nanos = System.nanoTime() - start;
+        nodes = count;
+        return count;
+    }
+
+    private static void checkDepth(int depth) {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("depth must be between 0 and " + MAX_DEPTH + ": " + depth);
+        }
+    }
+
+    /**
+     * Walker --- walks the tree of moves on one board, keeping a move list for each depth
+     */
+    private static class Walker {
+        private final ChessBoard board; //the board moves are made on
+        private final HashTable table; //remembers counts of positions, may be null
+        private final MoveList[] moves; //the moves of the position at each remaining depth
+        private final MoveValidator validator = new MoveValidator(); //checks the moves of each position for its king
+
+        Walker(ChessBoard board, HashTable table) {
+            this.board = board;
+            this.table = table;
+            moves = new MoveList[MAX_DEPTH + 1];
+        }
+
+        /**
+         * Counts the leaves below the position with the player to move
+         * @return long
+         */
+        long count(Color player, int depth) {
+            if (depth == 0) {
+                return 1;
+            }
+            long hash = board.getHash(player);
+            if (table != null && depth > 1) {
+                long count = table.get(hash, depth);
+                if (count >= 0) {
+                    return count;
+                }
+            }
+            if (moves[depth] == null) {
+                moves[depth] = new MoveList();
+            }
+            MoveList list = moves[depth];
+            int size = MoveGenerator.generateLegalMoves(player, board, list, validator);
+            if (depth == 1) {
+                return size; //the leaves are the moves themselves
+            }
+            long count = 0;
+            for (int i = 0; i < size; i++) {
+                count += countAfter(list.get(i), player, depth);
+            }
+            if (table != null) {
+                table.put(hash, depth, count);
+            }
+            return count;
+        }
+
+        /**
+         * Makes the move, counts the leaves below it and takes it back
+         * @param move a legal move packed by MoveList.pack
+         * @return long
+         */
+        long countAfter(int move, Color player, int depth) {
+            board.makeMove(MoveList.getFrom(move), MoveList.getTo(move));
+            long count = count(player.opponent(), depth - 1);
+            board.unmakeMove();
+            return count;
+        }
+    }
+
+    /**
+     * RootTask --- counts a range of the moves from the root, splitting it in half until one move is left, which is
+     * counted on a copy of the board
+     */
+    private class RootTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L; //RecursiveAction is Serializable
+        private final MoveList rootMoves; //the moves from the root
+        private final long[] counts; //receives the count below each move
+        private final int depth; //the depth of the count including the moves from the root
+        private final int begin; //the first move of the range
+        private final int end; //one past the last move of the range
+
+        RootTask(MoveList rootMoves, long[] counts, int depth, int begin, int end) {
+            this.rootMoves = rootMoves;
+            this.counts = counts;
+            this.depth = depth;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - begin > 1) {
+                int middle = (begin + end) >>> 1;
+                invokeAll(new RootTask(rootMoves, counts, depth, begin, middle),
+                        new RootTask(rootMoves, counts, depth, middle, end));
+            } else if (end > begin) {
+                counts[begin] = new Walker(board.copy(), table).countAfter(rootMoves.get(begin), player, depth);
+            }
+        }
+    }
+
+    /**
+     * HashTable --- remembers the count of a position at a depth. Each entry is two longs, the count and depth packed
+     * together and the hash exclusive or'ed with them, written without locks so that counting threads can share it;
+     * an entry whose longs come from different writes fails the hash check and is treated as a miss.
+     */
+    private static class HashTable {
+        private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+        private final long[] entries; //the two longs of each entry
+        private final int mask; //the number of entries minus one
+
+        HashTable(int megabytes) {
+            int size = (int) Long.highestOneBit(Math.min(megabytes * (1L << 20) / 16, 1 << 28));
+            entries = new long[2 * size];
+            mask = size - 1;
+        }
+
+        /**
+         * Gets the remembered count of the position at the depth
+         * @return long the count or -1 if it is not remembered
+         */
+        long get(long hash, int depth) {
+            int index = ((int) hash & mask) << 1;
+            long data = (long) LONGS.getOpaque(entries, index + 1);
+            long check = (long) LONGS.getOpaque(entries, index);
+            return ((check ^ data) == hash && (data & 0xFF) == depth)? data >>> 8 : -1;
+        }
+
+        void put(long hash, int depth, long count) {
+            int index = ((int) hash & mask) << 1;
+            long data = (count << 8) | depth;
+            LONGS.setOpaque(entries, index, hash ^ data);
+            LONGS.setOpaque(entries, index + 1, data);
+        }
+    }
+
+    /**
+     * Places the pieces on the board, each on the square it holds
+     * @return ChessBoard
+     */
+    private static ChessBoard place(ChessBoard board, Piece... pieces) {
+        for (Piece piece : pieces) {
+            board.addPiece(piece, piece.getSquare());
+        }
+        return board;
+    }
+
+    /**
+     * Gets a pawn that has already moved
+     * @return Pawn
+     */
+    private static Pawn moved(Pawn pawn) {
+        pawn.setFirstTurn(false);
+        return pawn;
+    }
+
+    //both kinds of ultra piece for each player among pawns that have and have not moved
+    private static ChessBoard ultraMiddlegame() {
+        return place(new ChessBoard(8),
+                new King(Color.W, 0, 4), new Queen(Color.W, 2, 3), new Rook(Color.W, 0, 0),
+                new UltraRook(Color.W, 2, 2), new UltraKnight(Color.W, 3, 5), new Bishop(Color.W, 1, 6),
+                new Pawn(Color.W, 1, 5), new Pawn(Color.W, 1, 7), moved(new Pawn(Color.W, 4, 4)),
+                new King(Color.B, 7, 4), new Queen(Color.B, 6, 3), new Rook(Color.B, 7, 7),
+                new UltraRook(Color.B, 5, 2), new UltraKnight(Color.B, 5, 5), new Knight(Color.B, 7, 1),
+                new Pawn(Color.B, 6, 0), new Pawn(Color.B, 6, 6), moved(new Pawn(Color.B, 5, 4)));
+    }
+
+    //white is in check from a rook with a pinned bishop, blocks by a rook and a knight and a capture of the checker
+    private static ChessBoard checkEvasions() {
+        return place(new ChessBoard(8),
+                new King(Color.W, 0, 4), new Bishop(Color.W, 1, 3), new Rook(Color.W, 3, 2),
+                new Knight(Color.W, 2, 6), new UltraKnight(Color.W, 4, 1), moved(new Pawn(Color.W, 3, 5)),
+                new King(Color.B, 7, 0), new Rook(Color.B, 6, 4), new Bishop(Color.B, 3, 1),
+                new Queen(Color.B, 5, 6), new Pawn(Color.B, 6, 1), new UltraRook(Color.B, 6, 7));
+    }
+
+    //a six by six board without its corners and center square
+    private static ChessBoard shapedBoard() {
+        ChessBoard board = new ChessBoard(6);
+        for (int[] square : new int[][]{{0,0},{0,5},{5,0},{5,5},{2,2}}) {
+            board.makeSquareInvalid(square);
+        }
+        return place(board,
+                new King(Color.W, 0, 2), new Rook(Color.W, 0, 4), new UltraKnight(Color.W, 1, 1),
+                new Pawn(Color.W, 1, 2), new Pawn(Color.W, 1, 3), new Bishop(Color.W, 2, 4),
+                new King(Color.B, 5, 3), new UltraRook(Color.B, 4, 4), new Knight(Color.B, 4, 1),
+                new Pawn(Color.B, 4, 2), new Pawn(Color.B, 4, 3), new Queen(Color.B, 3, 0));
+    }
+}
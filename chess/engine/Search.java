@@ -0,0 +1,525 @@
+package chess.engine;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import chess.Color;
+import chess.MoveGenerator;
+import chess.MoveList;
+import chess.MoveValidator;
+import chess.boards.ChessBoard;
+
+/**
+ * Search --- class that picks a move for the player to move by iterative deepening alpha-beta search. Each iteration
+ * searches one move deeper than the last, starting from the best move of the one before, inside an aspiration window
+ * around its score that is widened whenever the score falls outside. Moves after the first of a position are searched
+ * with a null window and only searched again with the full window if they turn out better, the principal variation
+ * search. Results are remembered in a TranspositionTable, and the moves of each position are tried in the order of
+ * MoveOrdering: the table's best move, captures, killers, the counter move and then quiet moves by their history.
+ * Past the last depth a quiescence search follows only the captures, generated alone, until the position is quiet,
+ * and every move when the player is in check, so leaves are not scored halfway through an exchange. There the player
+ * may stand on the score of the position instead of capturing, and captures that StaticExchange finds to lose
+ * material are not searched.
+ * The moves come from the MoveGenerator, so every piece the boards know is understood, and leaves are scored by
+ * Evaluation. Capturing a king ends the game for its player, and a player without legal moves is mated when in check
+ * and stale mated otherwise.
+ * The search stops at the deepest depth, the node limit or the time limit, whichever comes first, and answers with
+ * the best move of the last finished iteration, or the best move scored so far if the first iteration did not finish.
+ * Moves are made and taken back on the board itself.
+ * @author    Jeremy McMahan
+ */
+public class Search {
+    public static final int INFINITY = 30000; //beyond any score
+    public static final int MATE = 29000; //the score of taking the opposing king, less one per move it takes
+    public static final int MAX_PLY = 64; //the deepest a search may go
+    private static final int MATE_BOUND = MATE - MAX_PLY; //scores at least this far from 0 are mates
+    private static final int ASPIRATION_WINDOW = 50; //the first half width of the window around the last score
+    private static final int CHECK_INTERVAL = 1023; //the nodes between looks at the clock, less one
+    private final ChessBoard board; //the position to search
+    private final Color player; //the player to move in the position
+    private final MoveList[] moves = new MoveList[MAX_PLY + 1]; //the moves of the position at each ply
+    private final MoveValidator validator = new MoveValidator(); //checks the moves of each position for its king
+    private final MoveOrdering ordering; //orders the moves of each position and learns from their cutoffs
+    private final StaticExchange exchange; //finds the captures the quiescence search leaves out
+    private final int[] played = new int[MAX_PLY + 1]; //the move being searched at each ply
+    private TranspositionTable table; //remembers results of positions, null when not in use
+    private Consumer<Search> listener; //told after each finished iteration, null if there is none
+    private AtomicBoolean stopFlag; //set by another thread to stop the search, null if there is none
+    private int depthOffset; //the number of depths the first iteration skips
+    private boolean tableShared; //true iff whoever runs the searches sharing the table starts its new searches
+    private int maxDepth = MAX_PLY; //the deepest iteration to search
+    private long nodeLimit = Long.MAX_VALUE; //the number of nodes after which to stop
+    private long timeLimit = Long.MAX_VALUE; //the nanoseconds after which to stop
+    private long deadline; //the time of System.nanoTime() at which the current search stops
+    private long start; //the time of System.nanoTime() at which the current search started
+    private boolean stopped; //true iff the current iteration ran out of nodes or time
+    private boolean rootScored; //true iff a move from the root has been scored in the current search
+    private int rootMove; //the best move found so far in the current iteration
+    private int bestMove; //the best move of the last finished iteration, 0 if there is none
+    private int score; //the score of bestMove
+    private int depth; //the depth of the last finished iteration
+    private long nodes; //the number of positions visited by the last search
+    private long nanos; //the time taken by the last search
+
+    /**
+     * Creates a search of the position on the board. The board is changed while searching but always put back.
+     * @param board A ChessBoard holding the position
+     * @param player A Color that denotes the player to move
+     */
+    public Search(ChessBoard board, Color player) {
+        this.board = board;
+        this.player = player;
+        ordering = new MoveOrdering(board.getBoardSize());
+        exchange = new StaticExchange(board);
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            moves[ply] = new MoveList();
+        }
+    }
+
+    /**
+     * Remembers results in the given table, which may be shared with other searches
+     * @param table A TranspositionTable or null to remember nothing
+     */
+    public void setTranspositionTable(TranspositionTable table) { this.table = table; }
+
+    /**
+     * Sets the deepest iteration to search
+     * @param maxDepth the number of moves to look ahead, from 1 to MAX_PLY
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 1 || maxDepth > MAX_PLY) {
+            throw new IllegalArgumentException("depth must be between 1 and " + MAX_PLY + ": " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Stops the search once it has visited about the given number of positions
+     * @param nodeLimit the number of nodes or Long.MAX_VALUE for no limit
+     */
+    public void setNodeLimit(long nodeLimit) { this.nodeLimit = nodeLimit; }
+
+    /**
+     * Stops the search once it has run for about the given time
+     * @param millis the time in milliseconds or Long.MAX_VALUE for no limit
+     */
+    public void setTimeLimit(long millis) {
+        timeLimit = (millis >= Long.MAX_VALUE / 1_000_000L)? Long.MAX_VALUE : millis * 1_000_000L;
+    }
+
+    /**
+     * Sets what to tell after each finished iteration, such as the depth, score and nodes per second so far
+     * @param listener A Consumer that receives this search or null
+     */
+    public void setListener(Consumer<Search> listener) { this.listener = listener; }
+
+    /**
+     * Stops the search as soon as the flag is set, even in its first iteration, for searches run by other threads
+     * @param stopFlag An AtomicBoolean or null
+     */
+    void setStopFlag(AtomicBoolean stopFlag) { this.stopFlag = stopFlag; }
+
+    /**
+     * Starts iterating the given number of depths deeper than 1, so searches sharing a table work ahead of each other
+     * @param depthOffset the number of depths to skip, at least 0
+     */
+    void setDepthOffset(int depthOffset) { this.depthOffset = depthOffset; }
+
+    /**
+     * Sets the seed of the noise in the order of quiet moves, so searches sharing a table at the same depth still
+     * search apart
+     * @param noise any integer, 0 for no noise
+     */
+    void setOrderingNoise(int noise) { ordering.setNoise(noise); }
+
+    /**
+     * Sets whether the table is shared with searches running at the same time, in which case the search leaves
+     * starting a new search of the table to whoever runs them all
+     * @param tableShared boolean
+     */
+    void setTableShared(boolean tableShared) { this.tableShared = tableShared; }
+
+    /**
+     * Searches the position. The limits stop the first iteration only once a move from the root has been scored, which
+     * then answers as the best move so far, so there is a move whenever the player has one unless the stop flag is set
+     * first.
+     * @return int the best move found packed by MoveList.pack or 0 if the player has no legal move
+     */
+    public int search() {
+        start = System.nanoTime();
+        deadline = (timeLimit == Long.MAX_VALUE)? Long.MAX_VALUE : start + timeLimit;
+        nodes = 0;
+        stopped = false;
+        rootScored = false;
+        bestMove = 0;
+        score = 0;
+        depth = 0;
+        if (table != null && !tableShared) {
+            table.newSearch();
+        }
+        ordering.newSearch();
+        MoveList rootMoves = new MoveList();
+        int count = (board.getKingSquare(player) < 0)? 0
+                : MoveGenerator.generateLegalMoves(player, board, rootMoves, validator);
+        if (count == 0) {
+            score = (board.getKingSquare(player) < 0 || validator.isInCheck())? -MATE : 0;
+            nanos = System.nanoTime() - start;
+            return 0;
+        }
+        rootMove = rootMoves.get(0);
+        for (int iteration = Math.min(1 + depthOffset, maxDepth); iteration <= maxDepth; iteration++) {
+            int result = aspirate(rootMoves, iteration);
+            if (stopped) {
+                if (depth == 0 && rootScored) {
+                    bestMove = rootMove; //the first iteration was cut short, so its best move so far answers
+                    score = result;
+                    nanos = System.nanoTime() - start;
+                }
+                break;
+            }
+            bestMove = rootMove;
+            score = result;
+            depth = iteration;
+            nanos = System.nanoTime() - start;
+            if (listener != null) {
+                listener.accept(this);
+            }
+            if (count == 1 || Math.abs(score) >= MATE_BOUND || nodes >= nodeLimit || System.nanoTime() >= deadline) {
+                break; //the move is forced, the game is decided or the budget is spent
+            }
+        }
+        nanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    /**
+     * Gets the best move of the last search
+     * @return int the move packed by MoveList.pack or 0 if there was none
+     */
+    public int getBestMove() { return bestMove; }
+
+    /**
+     * Gets the score of the best move of the last search in centipawns for the player to move. Mates score MATE less
+     * the number of moves to the capture of the king.
+     * @return int
+     */
+    public int getScore() { return score; }
+
+    /**
+     * Gets the depth of the last iteration the last search finished
+     * @return int
+     */
+    public int getDepth() { return depth; }
+
+    /**
+     * Gets the number of positions visited by the last search
+     * @return long
+     */
+    public long getNodes() { return nodes; }
+
+    /**
+     * Gets the time taken by the last search in nanoseconds, or so far while it is running
+     * @return long
+     */
+    public long getNanos() { return nanos; }
+
+    /**
+     * Gets the number of positions visited per second by the last search
+     * @return long
+     */
+    public long getNodesPerSecond() { return (nanos > 0)? nodes * 1_000_000_000L / nanos : 0; }
+
+    /**
+     * Gets the share of the cutoffs of the last search made by the first move tried, the measure of its move ordering
+     * @return double from 0 to 1
+     */
+    public double getFirstMoveCutoffRate() { return ordering.getFirstMoveCutoffRate(); }
+
+    /**
+     * Searches the reference positions of Perft and prints the depth reached, score, best move, nodes per second and
+     * first move cutoff rate of each. The argument is the time given to each position in milliseconds.
+     * @param args [millis]
+     */
+    public static void main(String[] args) {
+        long millis = (args.length > 0)? Long.parseLong(args[0]) : 1000;
+        TranspositionTable table = new TranspositionTable(64, TranspositionTable.Replacement.DEPTH_PREFERRED);
+        for (Perft.Position position : Perft.POSITIONS) {
+            ChessBoard board = position.getBoard();
+            Search search = new Search(board, position.getPlayer());
+            search.setTranspositionTable(table);
+            search.setTimeLimit(millis);
+            int move = search.search();
+            System.out.printf("%-28s depth %2d score %6d move %-9s %,12d nodes %,12d nodes/s  first cut %5.1f%%%n",
+                    position.getName(), search.getDepth(), search.getScore(), describe(move, board.getBoardSize()),
+                    search.getNodes(), search.getNodesPerSecond(), 100 * search.getFirstMoveCutoffRate());
+            table.clear();
+        }
+    }
+
+    /**
+     * Writes the move as the rows and columns of its squares
+     * @param move a move packed by MoveList.pack or 0
+     * @param boardSize the length of a side of the board
+     * @return String
+     */
+    public static String describe(int move, int boardSize) {
+        if (move == 0) {
+            return "none";
+        }
+        int from = MoveList.getFrom(move);
+        int to = MoveList.getTo(move);
+        return from / boardSize + "," + from % boardSize + "-" + to / boardSize + "," + to % boardSize;
+    }
+
+    /**
+     * Searches the root to the depth inside a window around the score of the last iteration, widening the window on
+     * the side the score fell out of until it falls inside
+     * @return int the score of the root
+     */
+    private int aspirate(MoveList rootMoves, int iteration) {
+        if (depth == 0 || Math.abs(score) >= MATE_BOUND) {
+            return searchRoot(rootMoves, iteration, -INFINITY, INFINITY);
+        }
+        int delta = ASPIRATION_WINDOW;
+        int alpha = Math.max(score - delta, -INFINITY);
+        int beta = Math.min(score + delta, INFINITY);
+        while (true) {
+            int result = searchRoot(rootMoves, iteration, alpha, beta);
+            if (stopped || (alpha < result && result < beta)) {
+                return result;
+            }
+            delta *= 2;
+            if (result <= alpha) {
+                alpha = Math.max(result - delta, -INFINITY);
+            } else {
+                beta = Math.min(result + delta, INFINITY);
+            }
+        }
+    }
+
+    /**
+     * Searches the moves from the root, the best move of the last iteration first, remembering the best in rootMove
+     * @return int the score of the root, at most alpha if every move fails low and at least beta if one fails high
+     */
+    private int searchRoot(MoveList rootMoves, int iteration, int alpha, int beta) {
+        for (int i = 1; i < rootMoves.size(); i++) {
+            if (rootMoves.get(i) == rootMove) {
+                rootMoves.swap(0, i);
+            }
+        }
+        int best = -INFINITY;
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            played[0] = move;
+            board.makeMove(MoveList.getFrom(move), MoveList.getTo(move));
+            int result = searchMove(i == 0, player.opponent(), iteration - 1, alpha, beta, 1);
+            board.unmakeMove();
+            if (stopped) {
+                return best;
+            }
+            rootScored = true;
+            if (result > best) {
+                best = result;
+                if (result > alpha) {
+                    alpha = result;
+                    rootMove = move;
+                }
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Searches the position reached by a move, from the view of the player who made it. Every move but the first is
+     * searched with a null window first and again with the full window only if it beats alpha.
+     * @return int the score of the move
+     */
+    private int searchMove(boolean first, Color next, int remaining, int alpha, int beta, int ply) {
+        if (first) {
+            return -alphaBeta(next, remaining, -beta, -alpha, ply);
+        }
+        int result = -alphaBeta(next, remaining, -alpha - 1, -alpha, ply);
+        if (alpha < result && result < beta) {
+            result = -alphaBeta(next, remaining, -beta, -alpha, ply);
+        }
+        return result;
+    }
+
+    /**
+     * Searches the position with the player to move to the remaining depth
+     * @return int the score of the position for the player, fail soft
+     */
+    private int alphaBeta(Color toMove, int remaining, int alpha, int beta, int ply) {
+        if (remaining <= 0) {
+            return quiesce(toMove, alpha, beta, ply);
+        }
+        if (visit()) {
+            return 0;
+        }
+        if (board.getKingSquare(toMove) < 0) {
+            return -MATE + ply; //the king was captured
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluation.evaluate(board, toMove);
+        }
+        long hash = board.getHash(toMove);
+        int hashMove = 0;
+        if (table != null) {
+            long data = table.probe(hash);
+            if (TranspositionTable.getBound(data) != TranspositionTable.BOUND_NONE) {
+                hashMove = TranspositionTable.getMove(data);
+                int stored = fromTable(TranspositionTable.getScore(data), ply);
+                if (TranspositionTable.getDepth(data) >= remaining && isCutoff(data, stored, alpha, beta)) {
+                    return stored;
+                }
+            }
+        }
+        MoveList list = moves[ply];
+        int count = MoveGenerator.generateLegalMoves(toMove, board, list, validator);
+        if (count == 0) {
+            return validator.isInCheck()? -MATE + ply : 0;
+        }
+        ordering.score(board, list, ply, hashMove, played[ply - 1], exchange);
+        int alphaBefore = alpha;
+        int best = -INFINITY;
+        int bestHere = 0;
+        for (int i = 0; i < count; i++) {
+            int move = ordering.next(list, i, ply);
+            played[ply] = move;
+            board.makeMove(MoveList.getFrom(move), MoveList.getTo(move));
+            int result = searchMove(i == 0, toMove.opponent(), remaining - 1, alpha, beta, ply + 1);
+            board.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            if (result > best) {
+                best = result;
+                bestHere = move;
+                alpha = Math.max(alpha, result);
+                if (alpha >= beta) {
+                    ordering.cutoff(board, move, i, ply, remaining, played[ply - 1]);
+                    break;
+                }
+            }
+        }
+        if (table != null) {
+            int bound = (best >= beta)? TranspositionTable.BOUND_LOWER
+                    : (best > alphaBefore)? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+            table.store(hash, (bound == TranspositionTable.BOUND_UPPER)? 0 : bestHere, toTable(best, ply), remaining,
+                    bound);
+        }
+        return best;
+    }
+
+    /**
+     * Searches the captures of the position past the last depth, or every move if the player is in check. A player not
+     * in check may stand pat on the score of the position, and captures losing material by the exchange on their
+     * square are left out. Only a player in check has all its moves generated, so a stale mate is not seen here.
+     * @return int the score of the position for the player, fail soft
+     */
+    private int quiesce(Color toMove, int alpha, int beta, int ply) {
+        if (visit()) {
+            return 0;
+        }
+        if (board.getKingSquare(toMove) < 0) {
+            return -MATE + ply; //the king was captured
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluation.evaluate(board, toMove);
+        }
+        MoveList list = moves[ply];
+        boolean inCheck = board.isAttacked(board.getKingSquare(toMove), toMove.opponent());
+        int best = -INFINITY;
+        int count;
+        if (inCheck) {
+            count = MoveGenerator.generateLegalMoves(toMove, board, list, validator);
+            if (count == 0) {
+                return -MATE + ply;
+            }
+        } else {
+            best = Evaluation.evaluate(board, toMove);
+            if (best >= beta) {
+                return best;
+            }
+            alpha = Math.max(alpha, best);
+            count = MoveGenerator.generateLegalCaptures(toMove, board, list, validator);
+        }
+        ordering.score(board, list, ply, 0, played[ply - 1], null);
+        for (int i = 0; i < count; i++) {
+            int move = ordering.next(list, i, ply);
+            if (!inCheck && exchange.evaluate(move) < 0) {
+                continue;
+            }
+            played[ply] = move;
+            board.makeMove(MoveList.getFrom(move), MoveList.getTo(move));
+            int result = -quiesce(toMove.opponent(), -beta, -alpha, ply + 1);
+            board.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            if (result > best) {
+                best = result;
+                alpha = Math.max(alpha, result);
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Counts a visited position, looking at the limits every CHECK_INTERVAL + 1 positions. The limits are only heeded
+     * once a move from the root has been scored, so there is always a move to answer with.
+     * @return boolean true iff the search has stopped
+     */
+    private boolean visit() {
+        nodes++;
+        if ((nodes & CHECK_INTERVAL) == 0 && !stopped) {
+            boolean spent = rootScored && (nodes >= nodeLimit || System.nanoTime() >= deadline);
+            stopped = spent || (stopFlag != null && stopFlag.get());
+        }
+        return stopped;
+    }
+
+    /**
+     * Determines if the stored score settles the position for the window
+     * @return boolean
+     */
+    private static boolean isCutoff(long data, int stored, int alpha, int beta) {
+        switch (TranspositionTable.getBound(data)) {
+            case TranspositionTable.BOUND_EXACT:
+                return true;
+            case TranspositionTable.BOUND_LOWER:
+                return stored >= beta;
+            default:
+                return stored <= alpha;
+        }
+    }
+
+    /**
+     * Makes a mate score count the moves from the position rather than from the root, so it holds wherever the
+     * position is reached
+     * @return int
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score + ply;
+        }
+        return (score <= -MATE_BOUND)? score - ply : score;
+    }
+
+    /**
+     * Makes a mate score read from the table count the moves from the root again
+     * @return int
+     */
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score - ply;
+        }
+        return (score <= -MATE_BOUND)? score + ply : score;
+    }
+}
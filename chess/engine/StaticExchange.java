@@ -0,0 +1,144 @@
+package chess.engine;
+
+import chess.Color;
+import chess.MoveList;
+import chess.boards.BoardGeometry;
+import chess.boards.ChessBoard;
+import chess.boards.Mailbox;
+import chess.boards.MoveTables;
+import chess.pieces.Movement;
+import chess.pieces.PieceType;
+
+/**
+ * StaticExchange --- class that finds what a capture wins or loses once every piece that attacks the square has had
+ * its say, without making a move on the board. Both players recapture on the square with their least valuable
+ * attacker in turn, each free to stop when going on would lose, and the material won is worked back from the last
+ * capture to the first.
+ * Attackers are found from the square outward through the MoveTables, so every piece is understood by its Movement
+ * rather than by name: along each of the eight rays the nearest piece attacks if it rides back toward the square,
+ * which is how an UltraKnight slides in along its row from the left, and around the square a piece attacks if it
+ * leaps onto it, which is how an UltraRook steps in from below and to the left. Pieces that have taken part are
+ * skipped on the rays, so the pieces behind them join in. Pins and checks are not looked at, and taking a king is
+ * worth more than anything else on the board.
+ * @author    Jeremy McMahan
+ */
+public class StaticExchange {
+    private static final int KING_VALUE = 10000; //the worth of taking a king, above any other exchange
+    private static final int[] VALUES = new int[PieceType.values().length]; //the worth of each type on the square
+    private final ChessBoard board; //the board whose captures are looked at
+    private final int boardSize; //the length of a side of the board
+    private final int[] gains; //the material won by each capture in the sequence if it is the last
+    private final boolean[] used; //true for the squares of the pieces that have already captured
+    private final int[] usedSquares; //the squares marked in used, to clear them after each exchange
+
+    static {
+        for (PieceType type : PieceType.values()) {
+            VALUES[type.ordinal()] = (type == PieceType.KING)? KING_VALUE : Evaluation.getValue(type);
+        }
+    }
+
+    /**
+     * Creates the exchange evaluator of the board, which is read but never changed
+     * @param board A ChessBoard
+     */
+    public StaticExchange(ChessBoard board) {
+        this.board = board;
+        boardSize = board.getBoardSize();
+        int leapArea = (2 * Movement.MAX_LEAP + 1) * (2 * Movement.MAX_LEAP + 1);
+        gains = new int[MoveTables.DIRECTIONS.length * boardSize + leapArea + 1]; //every attacker at most once
+        used = new boolean[boardSize * boardSize];
+        usedSquares = new int[gains.length];
+    }
+
+    /**
+     * Finds the material the player making the move wins by the exchange on its square, with the best recaptures by
+     * both players
+     * @param move a move packed by MoveList.pack, captures or not
+     * @return int the material won in centipawns, negative if the exchange loses
+     */
+    public int evaluate(int move) {
+        Mailbox mailbox = board.getMailbox();
+        int target = MoveList.getTo(move);
+        int square = MoveList.getFrom(move);
+        byte attacker = mailbox.getCode(square);
+        byte victim = mailbox.getCode(target);
+        Color side = Mailbox.isPieceOf(attacker, Color.W)? Color.W : Color.B;
+        int usedCount = 0;
+        int depth = 0;
+        gains[0] = Mailbox.isPiece(victim)? valueOf(victim) : 0;
+        do {
+            depth++;
+            gains[depth] = valueOf(attacker) - gains[depth - 1]; //what is won if the attacker is then taken
+            used[square] = true;
+            usedSquares[usedCount++] = square;
+            side = side.opponent();
+            square = findLeastValuableAttacker(target, side);
+            if (square >= 0) {
+                attacker = mailbox.getCode(square);
+            }
+        } while (square >= 0);
+        while (--depth > 0) {
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+        }
+        for (int i = 0; i < usedCount; i++) {
+            used[usedSquares[i]] = false;
+        }
+        return gains[0];
+    }
+
+    /**
+     * Finds the least valuable piece of the player, not yet used, that attacks the target square
+     * @return int the index of the square of the piece or -1 if there is none
+     */
+    private int findLeastValuableAttacker(int target, Color player) {
+        Mailbox mailbox = board.getMailbox();
+        MoveTables tables = board.getMoveTables();
+        BoardGeometry geometry = board.getGeometry();
+        int best = -1;
+        int bestValue = Integer.MAX_VALUE;
+        for (int direction = 0; direction < MoveTables.DIRECTIONS.length; direction++) {
+            int[] ray = geometry.getRay(target, direction);
+            for (int square : ray) {
+                byte code = mailbox.getCode(square);
+                if (code == Mailbox.EMPTY || used[square]) {
+                    continue;
+                }
+                //the nearest piece attacks if it rides back along the ray, direction ^ 1 being the opposite way
+                if (Mailbox.isPieceOf(code, player) && tables.ridesAlong(code, direction ^ 1)
+                        && valueOf(code) < bestValue) {
+                    best = square;
+                    bestValue = valueOf(code);
+                }
+                break;
+            }
+        }
+        int row = target / boardSize;
+        int col = target % boardSize;
+        for (int dRow = -Movement.MAX_LEAP; dRow <= Movement.MAX_LEAP; dRow++) {
+            for (int dCol = -Movement.MAX_LEAP; dCol <= Movement.MAX_LEAP; dCol++) {
+                int fromRow = row - dRow;
+                int fromCol = col - dCol;
+                if (fromRow < 0 || fromRow >= boardSize || fromCol < 0 || fromCol >= boardSize) {
+                    continue;
+                }
+                int square = fromRow * boardSize + fromCol;
+                byte code = mailbox.getCode(square);
+                if (!Mailbox.isPieceOf(code, player) || used[square] || valueOf(code) >= bestValue) {
+                    continue;
+                }
+                byte reach = tables.getReach(code, dRow, dCol); //slides were found along the rays
+                if (reach == MoveTables.LEAP || reach == MoveTables.CAPTURE) {
+                    best = square;
+                    bestValue = valueOf(code);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the worth of the piece with the given code in an exchange
+     * @return int
+     */
+    private static int valueOf(byte code) { return VALUES[(code - 1) >> 1]; }
+}
@@ -0,0 +1,152 @@
+package chess.engine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * TranspositionTable --- class that remembers search results by the 64 bit hash of their position in a fixed amount of
+ * memory outside the Java heap, so a table of any size adds nothing for the garbage collector to trace.
+ * Every entry is two longs: the data, packing the best move, score, depth, bound type and search generation, and the
+ * hash exclusive or'ed with the data. Threads read and write the two longs without locks; an entry whose longs come
+ * from two different writes fails the hash check and is treated as a miss, so one table is safe to share across all
+ * search threads.
+ * @author    Jeremy McMahan
+ */
+public class TranspositionTable {
+    /**
+     * Replacement --- what to do when a new result hashes to a slot holding another position's result
+     */
+    public enum Replacement {
+        DEPTH_PREFERRED, //keep results of deeper searches made during the current search
+        ALWAYS_REPLACE //always keep the newest result
+    }
+
+    public static final int BOUND_NONE = 0; //the bound of an empty or mismatched entry
+    public static final int BOUND_LOWER = 1; //the score is at least the stored score
+    public static final int BOUND_UPPER = 2; //the score is at most the stored score
+    public static final int BOUND_EXACT = 3; //the score is exactly the stored score
+    private static final int ENTRY_BYTES = 16; //two longs per entry
+    private static final int MAX_BUFFER_ENTRIES = 1 << 26; //a direct buffer holds at most 1GB of entries
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.nativeOrder());
+    private final ByteBuffer[] buffers; //the entries, split into buffers of at most MAX_BUFFER_ENTRIES
+    private final long mask; //the number of entries minus one, the entry count being a power of two
+    private final int bufferShift; //the number of bits of an entry index that select the entry within a buffer
+    private final Replacement replacement; //how slots holding other positions are overwritten
+    private volatile int generation; //the number of the current search, stored with each entry
+
+    /**
+     * Creates a table using at most the given number of megabytes of memory outside the heap
+     * @param megabytes the size of the table in MB, at least 1
+     * @param replacement how slots holding other positions are overwritten
+     */
+    public TranspositionTable(int megabytes, Replacement replacement) {
+        long entries = Long.highestOneBit(Math.max(1, megabytes) * (1L << 20) / ENTRY_BYTES);
+        int perBuffer = (int) Math.min(entries, MAX_BUFFER_ENTRIES);
+        buffers = new ByteBuffer[(int) (entries / perBuffer)];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.allocateDirect(perBuffer * ENTRY_BYTES).order(ByteOrder.nativeOrder());
+        }
+        mask = entries - 1;
+        bufferShift = Integer.numberOfTrailingZeros(perBuffer);
+        this.replacement = replacement;
+        generation = 0;
+    }
+
+    /**
+     * Gets the number of entries the table holds
+     * @return long
+     */
+    public long getCapacity() { return mask + 1; }
+
+    /**
+     * Starts a new search so that results left from earlier searches are replaced first
+     */
+    public void newSearch() { generation = (generation + 1) & 0x3F; }
+
+    /**
+     * Looks up the result stored for the position with the given hash
+     * @param hash the hash of the position
+     * @return long the packed entry data, whose bound is BOUND_NONE if nothing is stored for the position
+     */
+    public long probe(long hash) {
+        ByteBuffer buffer = buffers[(int) ((hash & mask) >>> bufferShift)];
+        int offset = (int) (hash & mask & ((1L << bufferShift) - 1)) * ENTRY_BYTES;
+        long data = (long) LONGS.getOpaque(buffer, offset + 8);
+        long check = (long) LONGS.getOpaque(buffer, offset);
+        return ((check ^ data) == hash)? data : 0;
+    }
+
+    /**
+     * Stores the result of searching the position with the given hash, unless the replacement policy prefers the
+     * result of another position already in its slot
+     * @param hash the hash of the position
+     * @param move the best move found packed by MoveList.pack or 0 if there is none
+     * @param score the score of the position, between Short.MIN_VALUE and Short.MAX_VALUE
+     * @param depth the depth the position was searched to, between 0 and 255
+     * @param bound BOUND_LOWER, BOUND_UPPER or BOUND_EXACT
+     */
+    public void store(long hash, int move, int score, int depth, int bound) {
+        ByteBuffer buffer = buffers[(int) ((hash & mask) >>> bufferShift)];
+        int offset = (int) (hash & mask & ((1L << bufferShift) - 1)) * ENTRY_BYTES;
+        long oldData = (long) LONGS.getOpaque(buffer, offset + 8);
+        boolean samePosition = (((long) LONGS.getOpaque(buffer, offset)) ^ oldData) == hash;
+        if (replacement == Replacement.DEPTH_PREFERRED && !samePosition && getBound(oldData) != BOUND_NONE
+                && getGeneration(oldData) == generation && getDepth(oldData) > depth) {
+            return; //a deeper result of the current search is worth more
+        }
+        if (move == 0 && samePosition) {
+            move = getMove(oldData); //keep the best move of a previous search of the position
+        }
+        long data = pack(move, score, depth, bound, generation);
+        LONGS.setOpaque(buffer, offset, hash ^ data);
+        LONGS.setOpaque(buffer, offset + 8, data);
+    }
+
+    /**
+     * Empties the table
+     */
+    public void clear() {
+        for (ByteBuffer buffer : buffers) {
+            for (int offset = 0; offset < buffer.capacity(); offset += 8) {
+                LONGS.setOpaque(buffer, offset, 0L);
+            }
+        }
+    }
+
+    /**
+     * Estimates how full the table is with results of the current search by sampling its first thousand entries
+     * @return int the number of used entries per thousand
+     */
+    public int getPermillFull() {
+        int sample = (int) Math.min(1000, getCapacity());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long data = (long) LONGS.getOpaque(buffers[0], i * ENTRY_BYTES + 8);
+            used += (getBound(data) != BOUND_NONE && getGeneration(data) == generation)? 1 : 0;
+        }
+        return used * 1000 / sample;
+    }
+
+    /**
+     * Packs the parts of an entry's data into a long: the move in the low 32 bits followed by 16 bits of score, 8 bits
+     * of depth, 2 bits of bound and 6 bits of generation.
+     * @return long
+     */
+    static long pack(int move, int score, int depth, int bound, int generation) {
+        return (move & 0xFFFFFFFFL) | ((score & 0xFFFFL) << 32) | ((long) (depth & 0xFF) << 48)
+                | ((long) (bound & 3) << 56) | ((long) generation << 58);
+    }
+
+    public static int getMove(long data) { return (int) data; }
+
+    public static int getScore(long data) { return (short) (data >>> 32); }
+
+    public static int getDepth(long data) { return (int) (data >>> 48) & 0xFF; }
+
+    public static int getBound(long data) { return (int) (data >>> 56) & 3; }
+
+    static int getGeneration(long data) { return (int) (data >>> 58); }
+}
@@ -0,0 +1,124 @@
+package chess.pieces;
+
+import chess.Color;
+
+/**
+ * Movement --- class that describes how a kind of piece moves as data instead of code: the offsets it leaps to no
+ * matter what lies in between, the directions it rides along until it reaches a piece or the edge of the board, and
+ * whether it follows the rules of the pawn. Offsets are given as a row and column difference. A pawn moves forward
+ * without capturing, two squares on its first move, and captures only by its leaps, which are given for white and
+ * mirrored for black; only Pawns move by the pawn rules.
+ * The boards compile the movement of every PieceType into lookup tables, so a new kind of piece only has to be
+ * described here to be played.
+ * @author    Jeremy McMahan
+ */
+public class Movement {
+    public static final int MAX_LEAP = 2; //the furthest a leap may reach along a row or column
+    public static final int[][] NONE = {}; //no offsets at all
+    public static final int[][] ORTHOGONAL = {{1,0},{-1,0},{0,1},{0,-1}}; //along the row and column
+    public static final int[][] DIAGONAL = {{1,1},{1,-1},{-1,1},{-1,-1}}; //along both diagonals
+    public static final int[][] ALL_DIRECTIONS = {{1,0},{-1,0},{0,1},{0,-1},{1,1},{1,-1},{-1,1},{-1,-1}};
+    public static final int[][] KNIGHT_LEAPS = {{1,2},{1,-2},{-1,2},{-1,-2},{2,1},{2,-1},{-2,1},{-2,-1}}; //the L shapes
+    private final int[][][] leaps; //the leaps of each color
+    private final int[][][] rides; //the rides of each color
+    private final boolean pawn; //true iff the piece follows the rules of the pawn
+
+    private Movement(int[][] leaps, int[][] rides, boolean pawn) {
+        for (int[] leap : leaps) {
+            if (Math.abs(leap[0]) > MAX_LEAP || Math.abs(leap[1]) > MAX_LEAP || (leap[0] == 0 && leap[1] == 0)) {
+                throw new IllegalArgumentException("leap out of reach: " + leap[0] + "," + leap[1]);
+            }
+        }
+        for (int[] ride : rides) {
+            if (Math.abs(ride[0]) > 1 || Math.abs(ride[1]) > 1 || (ride[0] == 0 && ride[1] == 0)) {
+                throw new IllegalArgumentException("ride is not a direction: " + ride[0] + "," + ride[1]);
+            }
+        }
+        this.leaps = new int[][][]{leaps, pawn? mirror(leaps) : leaps};
+        this.rides = new int[][][]{rides, pawn? mirror(rides) : rides};
+        this.pawn = pawn;
+    }
+
+    /**
+     * Describes a piece that leaps to the given offsets and rides along the given directions
+     * @param leaps the offsets reached in one leap, at most MAX_LEAP rows and columns away
+     * @param rides the directions ridden along, each a step to one of the eight neighboring squares
+     * @return Movement
+     */
+    public static Movement of(int[][] leaps, int[][] rides) { return new Movement(leaps, rides, false); }
+
+    /**
+     * Describes a pawn that captures by the given leaps
+     * @param captures the offsets the pawn captures on as white, mirrored for black
+     * @return Movement
+     */
+    public static Movement pawn(int[][] captures) { return new Movement(captures, NONE, true); }
+
+    /**
+     * Gets the offsets a piece of the given color leaps to
+     * @param color the Color of the piece
+     * @return int[][]
+     */
+    public int[][] getLeaps(Color color) { return leaps[color.ordinal()]; }
+
+    /**
+     * Gets the directions a piece of the given color rides along
+     * @param color the Color of the piece
+     * @return int[][]
+     */
+    public int[][] getRides(Color color) { return rides[color.ordinal()]; }
+
+    public boolean isPawn() { return pawn; }
+
+    /**
+     * Determines if a piece of the given color reaches the offset in a single leap
+     * @param color the Color of the piece
+     * @param dRow the row difference
+     * @param dCol the column difference
+     * @return boolean
+     */
+    public boolean leapsTo(Color color, int dRow, int dCol) {
+        for (int[] leap : leaps[color.ordinal()]) {
+            if (leap[0] == dRow && leap[1] == dCol) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds how many steps along one of its rides a piece of the given color takes to reach the offset
+     * @param color the Color of the piece
+     * @param dRow the row difference
+     * @param dCol the column difference
+     * @return int the number of steps or 0 if no ride reaches the offset
+     */
+    public int getRideDistance(Color color, int dRow, int dCol) {
+        int distance = Math.max(Math.abs(dRow), Math.abs(dCol));
+        for (int[] ride : rides[color.ordinal()]) {
+            if (distance > 0 && ride[0] * distance == dRow && ride[1] * distance == dCol) {
+                return distance;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the direction a pawn of the given color moves forward in, as a row difference
+     * @param color the Color of the pawn
+     * @return int
+     */
+    public static int getForward(Color color) { return (color == Color.W)? 1 : -1; }
+
+    /**
+     * Flips the offsets upside down
+     * @return int[][]
+     */
+    private static int[][] mirror(int[][] offsets) {
+        int[][] mirrored = new int[offsets.length][];
+        for (int i = 0; i < offsets.length; i++) {
+            mirrored[i] = new int[]{-offsets[i][0], offsets[i][1]};
+        }
+        return mirrored;
+    }
+}
@@ -3,16 +3,20 @@ package chess.pieces;
 import chess.Color;
 
 /**
- * Piece --- class that describes the functionality of a general chess board piece, such as legal movements
+ * Piece --- class that describes the functionality of a general chess board piece, such as legal movements. The rules
+ * of every piece follow from the Movement of its PieceType, so a piece of a type without a class of its own is made by
+ * PieceType.create from the description alone, and the classes of the standard pieces only name them.
  * @author    Jeremy McMahan
  */
-public abstract class Piece{
+public class Piece{
     protected final Color color; //Which player this piece belongs to
     protected int row; //the row number of the square on the board where this piece lies
     protected int col; //the column number of the square on the board where this piece lies
+    private final PieceType type; //the kind of the piece, which describes how it moves
+    private boolean firstTurn = true; //true until the piece first moves, which only the pawn rules look at
 
-    public Piece(Color color, int row, int col) {
-        this.color = color; this.row = row; this.col = col;
+    protected Piece(PieceType type, Color color, int row, int col) {
+        this.type = type; this.color = color; this.row = row; this.col = col;
     }
 
     public Color getColor() {
@@ -28,36 +32,106 @@ public abstract class Piece{
 
     /**
      * Gets the square of the piece represented as an int array with the first entry being the row and the second being
-     * the column of the square.
+     * the column of the square. Every call makes a new array, getRow and getCol make none.
      * @return int[]
      */
     public int[] getSquare() { return new int[]{row, col}; }
 
+    public int getRow() { return row; }
+
+    public int getCol() { return col; }
+
     /**
-     * Determines if the piece can legally move to the square, toSquare, based on the rules for that piece
+     * Determines if the piece can legally move to the square, toSquare, based on the rules for that piece: a leap or
+     * a slide along a ride, or for pawns a step forward or two on their first turn
      * @param toSquare an integer array representing a square with its contents being the row and column
      * @return boolean
      */
-    public abstract boolean canMoveTo(int[] toSquare);
+    public final boolean canMoveTo(int[] toSquare) {
+        int dRow = toSquare[0] - row;
+        int dCol = toSquare[1] - col;
+        Movement movement = type.getMovement();
+        if (movement.isPawn()) {
+            int forward = Movement.getForward(color);
+            return dCol == 0 && (dRow == forward || (firstTurn && dRow == 2 * forward));
+        }
+        return movement.leapsTo(color, dRow, dCol) || movement.getRideDistance(color, dRow, dCol) > 0;
+    }
 
     /**
-     * Determines if the piece can legally capture the given piece based upon the rules for the piece
-     * @param piece a Piece
+     * Determines if the piece can legally capture the given piece based upon the rules for the piece: an opponent
+     * reached by a leap or a slide, pawns capturing only by their leaps
+     * @param piece a non-null Piece
      * @return boolean
      */
-    public abstract boolean canCapture(Piece piece);
+    public final boolean canCapture(Piece piece) {
+        int dRow = piece.getRow() - row;
+        int dCol = piece.getCol() - col;
+        Movement movement = type.getMovement();
+        boolean reaches = movement.leapsTo(color, dRow, dCol) || movement.getRideDistance(color, dRow, dCol) > 0;
+        return color != piece.getColor() && reaches;
+    }
 
     /**
-     * Determines if the square, middle, is on the path that this piece takes as it legally moves to the end square
+     * Determines if the square, middle, is on the path that this piece takes as it legally moves to the end square:
+     * strictly between them along a ride, or for pawns the square passed over by the first move. Leaps pass over
+     * nothing, and there is no path to a square the piece cannot reach.
      * @param middle An integer array representing a square with its contents being the row and column
      * @param end An integer array representing a square with its contents being the row and column
      * @return boolean
      */
-    public abstract boolean isBetween(int[] middle, int[] end);
+    public final boolean isBetween(int[] middle, int[] end) {
+        int dRow = end[0] - row;
+        int dCol = end[1] - col;
+        int mRow = middle[0] - row;
+        int mCol = middle[1] - col;
+        Movement movement = type.getMovement();
+        if (movement.isPawn()) {
+            int forward = Movement.getForward(color);
+            return firstTurn && dCol == 0 && mCol == 0 && dRow == 2 * forward && mRow == forward;
+        }
+        int distance = movement.getRideDistance(color, dRow, dCol);
+        int steps = Math.max(Math.abs(mRow), Math.abs(mCol)); //the distance of middle if it lies along the ride
+        boolean onRide = distance > 1 && mRow * distance == dRow * steps && mCol * distance == dCol * steps;
+        return onRide && 0 < steps && steps < distance;
+    }
+
+    /**
+     * Determines if the piece has not moved yet, which lets a pawn move two squares forward
+     * @return boolean
+     */
+    public boolean isFirstTurn() { return firstTurn; }
+
+    /**
+     * Sets whether the piece has not moved yet. Use ChessBoard.setFirstTurn for a piece on a board so it stays hashed.
+     * @param firstTurn boolean
+     */
+    public void setFirstTurn(boolean firstTurn) { this.firstTurn = firstTurn; }
+
+    /**
+     * Gets the offsets, as a row and column difference, of the squares this piece reaches in a single step no matter
+     * what lies in between. For the Pawn these are only the squares it captures on.
+     * @return int[][]
+     */
+    public final int[][] getSteps() { return type.getMovement().getLeaps(color); }
+
+    /**
+     * Gets the directions, as a row and column difference, along which this piece slides until it reaches another
+     * piece or the edge of the board
+     * @return int[][]
+     */
+    public final int[][] getRays() { return type.getMovement().getRides(color); }
+
+    /**
+     * Gets the kind of the piece, used by the board to index its per-type data
+     * @return PieceType
+     */
+    public final PieceType getType() { return type; }
 
     /**
      * Outputs the icon of the chess piece as a string
      * @return String
      */
-    public abstract String toString();
+    @Override
+    public final String toString() { return type.getSymbol(color); }
 }
\ No newline at end of file
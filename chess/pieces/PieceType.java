@@ -0,0 +1,69 @@
+package chess.pieces;
+
+import chess.Color;
+
+//denotes the kind of a chess piece and describes how it moves and looks, used to index the per-type data kept by the
+//boards. A new kind of piece is added by describing it here; create makes it as a plain Piece.
+public enum PieceType {
+	PAWN(Movement.pawn(new int[][]{{1,1},{1,-1}}), "♙", "♟"),
+	KNIGHT(Movement.of(Movement.KNIGHT_LEAPS, Movement.NONE), "♘", "♞"),
+	BISHOP(Movement.of(Movement.NONE, Movement.DIAGONAL), "♗", "♝"),
+	ROOK(Movement.of(Movement.NONE, Movement.ORTHOGONAL), "♖", "♜"),
+	QUEEN(Movement.of(Movement.NONE, Movement.ALL_DIRECTIONS), "♕", "♛"),
+	KING(Movement.of(Movement.ALL_DIRECTIONS, Movement.NONE), "♔", "♚"),
+	ULTRA_KNIGHT(Movement.of(Movement.KNIGHT_LEAPS, new int[][]{{0,1}}), "♢", "♦"), //rides right along its row
+	ULTRA_ROOK(Movement.of(new int[][]{{1,1}}, Movement.ORTHOGONAL), "♤", "♠"); //leaps up and right for both colors
+
+	private final Movement movement; //how pieces of this type move
+	private final String[] symbols; //the icon of a piece of this type for each color
+
+	PieceType(Movement movement, String white, String black) {
+		this.movement = movement;
+		this.symbols = new String[]{white, black};
+	}
+
+	public Movement getMovement() { return movement; }
+
+	/**
+	 * Determines if pieces of this type follow the pawn rules and so remember whether they have moved
+	 * @return boolean
+	 */
+	public boolean isPawn() { return movement.isPawn(); }
+
+	/**
+	 * Gets the icon of a piece of this type
+	 * @param color the Color of the piece
+	 * @return String
+	 */
+	public String getSymbol(Color color) { return symbols[color.ordinal()]; }
+
+	/**
+	 * Makes a new piece of this type
+	 * @param color the Color of the piece
+	 * @param row the row of the square it stands on
+	 * @param col the column of the square it stands on
+	 * @return Piece
+	 */
+	public Piece create(Color color, int row, int col) {
+		switch (this) {
+			case PAWN:
+				return new Pawn(color, row, col);
+			case KNIGHT:
+				return new Knight(color, row, col);
+			case BISHOP:
+				return new Bishop(color, row, col);
+			case ROOK:
+				return new Rook(color, row, col);
+			case QUEEN:
+				return new Queen(color, row, col);
+			case KING:
+				return new King(color, row, col);
+			case ULTRA_KNIGHT:
+				return new UltraKnight(color, row, col);
+			case ULTRA_ROOK:
+				return new UltraRook(color, row, col);
+			default: //a described type without a class of its own
+				return new Piece(this, color, row, col);
+		}
+	}
+}
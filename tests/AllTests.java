@@ -2,15 +2,33 @@ package tests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
+import tests.boardtests.AttackTablesTest;
+import tests.boardtests.BoardGeometryTest;
 import tests.boardtests.ChessBoardTest;
 import tests.boardtests.CustomBoardTest;
+import tests.boardtests.MailboxTest;
+import tests.boardtests.MoveTablesTest;
+import tests.boardtests.OccupancyIndexTest;
+import tests.boardtests.PieceSquareTablesTest;
 import tests.boardtests.StandardBoardTest;
+import tests.boardtests.ZobristTest;
+import tests.enginetests.MoveOrderingTest;
+import tests.enginetests.ParallelSearchTest;
+import tests.enginetests.PerftTest;
+import tests.enginetests.SearchTest;
+import tests.enginetests.StaticExchangeTest;
+import tests.enginetests.TranspositionTableTest;
 import tests.piecetests.*;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({BishopTest.class, KingTest.class, KnightTest.class, PawnTest.class, QueenTest.class, RookTest.class,
 	BoardConfigurationTest.class, ChessBoardTest.class, ChessTest.class, UltraKnightTest.class, UltraRookTest.class,
-        StandardBoardTest.class, CustomBoardTest.class, ChessGameGUITest.class})
+        StandardBoardTest.class, CustomBoardTest.class, ChessGameGUITest.class, MoveListTest.class,
+        MoveGeneratorTest.class, MailboxTest.class, ZobristTest.class,
+        TranspositionTableTest.class, PerftTest.class, AttackTablesTest.class, MoveTablesTest.class,
+        MoveValidatorTest.class, BoardGeometryTest.class, OccupancyIndexTest.class, PositionTest.class,
+        GameStatusTest.class, SearchTest.class, ParallelSearchTest.class,
+        PieceSquareTablesTest.class, MoveOrderingTest.class, StaticExchangeTest.class})
 
 public class AllTests {
 
@@ -5,7 +5,10 @@ import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
 import chess.BoardConfiguration;
+import chess.MoveResult;
 import chess.boards.ChessBoard;
+import chess.boards.CustomBoard;
+import chess.boards.StandardBoard;
 import chess.Color;
 import chess.pieces.Bishop;
 import chess.pieces.King;
@@ -173,6 +176,21 @@ public class BoardConfigurationTest {
                 board.getPiece(new int[] {3,1}), new int[] {5,3}, board));
 	}
 
+	/**
+	 * Tests that a path to a square the piece cannot reach is clear whatever stands near it, since there is no path
+	 */
+	@Test
+	public void testNoPathToUnreachableSquare() {
+		ChessBoard board = new ChessBoard(8);
+		board.addPiece(new King(Color.W, 7,7), new int[] {7,7});
+		board.addPiece(new King(Color.B, 7,0), new int[] {7,0});
+		board.addPiece(new Bishop(Color.W, 2,3), new int[] {2,3});
+		board.addPiece(new Pawn(Color.B, 3,4), new int[] {3,4}); //on the bishop's diagonal toward the square
+		assertEquals(true, BoardConfiguration.isClearPath(null,
+				board.getPiece(new int[] {2,3}), new int[] {5,7}, board));
+		assertEquals(false, BoardConfiguration.canMovePiece(new int[] {2,3}, new int[] {5,7}, Color.W, board));
+	}
+
 	/**
 	 * Test whether we can determine if a move can be made (not using the king) to get a player out of check
 	 */
@@ -186,4 +204,64 @@ public class BoardConfigurationTest {
 		board.addPiece(new Rook(Color.B,2,6), new int[] {2,6}); // a rook to block the other one
 		assertEquals(true, BoardConfiguration.canSaveKing(Color.B, new int[] {2,3}, board));
 	}
+
+	/**
+	 * Tests that asking with square indexes gives the same answers as asking with row and column arrays, on an 8x8
+	 * board and on a larger one
+	 */
+	@Test
+	public void testSquareIndexes() {
+		for (ChessBoard board : new ChessBoard[] {new StandardBoard(), new CustomBoard()}) {
+			int size = board.getBoardSize();
+			for (int from = 0; from < size * size; from++) {
+				for (int to = 0; to < size * size; to++) {
+					int[] fromSquare = {from / size, from % size};
+					int[] toSquare = {to / size, to % size};
+					for (Color player : Color.values()) {
+						assertEquals(BoardConfiguration.canMovePiece(fromSquare, toSquare, player, board),
+								BoardConfiguration.canMovePiece(from, to, player, board));
+					}
+					if (board.getPiece(from) != null) {
+						assertEquals(BoardConfiguration.isClearPath(null, board.getPiece(from), toSquare, board),
+								BoardConfiguration.isClearPath(null, board.getPiece(from), to, board));
+					}
+				}
+			}
+			assertEquals(false, BoardConfiguration.canMovePiece(-1, size, Color.W, board));
+			assertEquals(false, BoardConfiguration.canMovePiece(size * size, 0, Color.W, board));
+		}
+	}
+
+	/**
+	 * Tests that checkMove tells the first rule a rejected move breaks, without throwing on bad input
+	 */
+	@Test
+	public void testCheckMove() throws Exception {
+		ChessBoard board = new ChessBoard(8);
+		board.addPiece(new King(Color.W, 0, 4), new int[] {0,4});
+		board.addPiece(new Rook(Color.W, 1, 4), new int[] {1,4});
+		board.addPiece(new Pawn(Color.W, 1, 0), new int[] {1,0});
+		board.addPiece(new Pawn(Color.W, 2, 0), new int[] {2,0});
+		board.addPiece(new Rook(Color.B, 7, 4), new int[] {7,4});
+		board.addPiece(new King(Color.B, 7, 7), new int[] {7,7});
+		board.makeSquareInvalid(new int[] {5,5});
+		assertEquals(MoveResult.OFF_BOARD, BoardConfiguration.checkMove(null, new int[] {0,0}, Color.W, board));
+		assertEquals(MoveResult.OFF_BOARD, BoardConfiguration.checkMove(new int[] {0}, new int[] {0,0}, Color.W, board));
+		assertEquals(MoveResult.OFF_BOARD, BoardConfiguration.checkMove(new int[] {0,4}, new int[] {0,8}, Color.W, board));
+		assertEquals(MoveResult.OFF_BOARD, BoardConfiguration.checkMove(new int[] {0,4}, new int[] {0,3}, Color.W, null));
+		assertEquals(MoveResult.OFF_BOARD, BoardConfiguration.checkMove(-1, 0, Color.W, board));
+		assertEquals(MoveResult.NO_PIECE, BoardConfiguration.checkMove(new int[] {3,3}, new int[] {4,3}, Color.W, board));
+		assertEquals(MoveResult.WRONG_COLOR, BoardConfiguration.checkMove(new int[] {7,4}, new int[] {6,4}, Color.W, board));
+		assertEquals(MoveResult.WRONG_COLOR, BoardConfiguration.checkMove(new int[] {0,4}, new int[] {0,3}, null, board));
+		assertEquals(MoveResult.INVALID_SQUARE,
+				BoardConfiguration.checkMove(new int[] {1,4}, new int[] {5,5}, Color.W, board));
+		assertEquals(MoveResult.OWN_PIECE, BoardConfiguration.checkMove(new int[] {0,4}, new int[] {1,4}, Color.W, board));
+		assertEquals(MoveResult.UNREACHABLE, BoardConfiguration.checkMove(new int[] {1,4}, new int[] {2,5}, Color.W, board));
+		assertEquals(MoveResult.BLOCKED, BoardConfiguration.checkMove(new int[] {1,0}, new int[] {3,0}, Color.W, board));
+		assertEquals(MoveResult.KING_IN_DANGER,
+				BoardConfiguration.checkMove(new int[] {1,4}, new int[] {1,5}, Color.W, board));
+		assertEquals(MoveResult.LEGAL, BoardConfiguration.checkMove(new int[] {1,4}, new int[] {6,4}, Color.W, board));
+		board.removePiece(new int[] {0,4});
+		assertEquals(MoveResult.NO_KING, BoardConfiguration.checkMove(new int[] {1,4}, new int[] {2,4}, Color.W, board));
+	}
 }
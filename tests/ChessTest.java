@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import chess.Color;
 import chess.PlayChess;
 import chess.pieces.Piece;
+import chess.pieces.PieceType;
 import org.junit.Test;
 
 import chess.Chess;
@@ -52,6 +53,61 @@ public class ChessTest {
         assertEquals(p, game.getBoard().getPiece(new int[]{0,1}));
     }
 
+    /**
+     * Tests undoing several moves in a row, including a capture
+     */
+    @Test
+    public void testUndoManyMoves() {
+        Chess game = new Chess("W", "Standard");
+        long start = game.getHash();
+        assertEquals(true, game.movePiece(new int[] {1,4}, new int[] {3,4}));
+        assertEquals(true, game.movePiece(new int[] {6,3}, new int[] {4,3}));
+        assertEquals(true, game.movePiece(new int[] {3,4}, new int[] {4,3}));
+        game.undoLastMove();
+        assertEquals(Color.W, game.getPlayer());
+        assertEquals(true, game.getBoard().getPiece(new int[]{4,3}).getColor() == Color.B);
+        game.undoLastMove();
+        game.undoLastMove();
+        game.undoLastMove(); //nothing left to undo
+        assertEquals(Color.W, game.getPlayer());
+        assertEquals(start, game.getHash());
+        assertEquals(true, game.movePiece(new int[] {1,4}, new int[] {3,4})); //the pawn may move twice again
+    }
+
+    /**
+     * Tests that the hash follows the player to move and the pawns' first moves
+     */
+    @Test
+    public void testGetHash() {
+        Chess game = new Chess("W", "Custom");
+        long start = game.getHash();
+        game.swapTurn();
+        assertEquals(false, start == game.getHash());
+        game.swapTurn();
+        assertEquals(true, game.movePiece(new int[] {1,0}, new int[] {2,0}));
+        game.undoLastMove();
+        assertEquals(start, game.getHash());
+    }
+
+    /**
+     * Tests that a copied game carries on from the same position without changing the original
+     */
+    @Test
+    public void testCopy() {
+        Chess game = new Chess("W", "Standard");
+        assertEquals(true, game.movePiece(new int[] {1,4}, new int[] {3,4}));
+        Chess copy = game.copy();
+        assertEquals(game.getHash(), copy.getHash());
+        assertEquals(Color.B, copy.getPlayer());
+        assertEquals(true, copy.movePiece(new int[] {6,3}, new int[] {4,3}));
+        assertEquals(true, copy.movePiece(new int[] {3,4}, new int[] {4,3}));
+        assertEquals(Color.B, game.getPlayer());
+        assertEquals(PieceType.PAWN, game.getBoard().getPiece(new int[] {6,3}).getType());
+        assertEquals(true, game.movePiece(new int[] {6,3}, new int[] {4,3}));
+        Chess resumed = new Chess(game.getBoard(), Color.W);
+        assertEquals(true, resumed.getBoard() == game.getBoard());
+    }
+
     //The following methods are all tested extensively in the BoardConfigurationTest and so the wrapper functions here
     //are not test extensively
 
@@ -0,0 +1,75 @@
+package tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import chess.BoardConfiguration;
+import chess.Chess;
+import chess.Color;
+import chess.GameStatus;
+import chess.boards.ChessBoard;
+import chess.pieces.King;
+import chess.pieces.Queen;
+import chess.pieces.Rook;
+
+/**
+ * GameStatusTest --- class to test finding the status of a position at once
+ * @author    Jeremy McMahan
+ */
+public class GameStatusTest {
+    /**
+     * Tests check mate, its checkers, and check once a piece is removed
+     */
+    @Test
+    public void testCheckMate() {
+        ChessBoard board = new ChessBoard(8);
+        board.addPiece(new Rook(Color.W,0,3), new int[] {0,3});
+        board.addPiece(new King(Color.B, 5,4), new int[] {5,4});
+        board.addPiece(new Rook(Color.W,0,4), new int[] {0,4});
+        board.addPiece(new Queen(Color.W,2,5), new int[] {2,5});
+        board.addPiece(new King(Color.W, 1,1), new int[] {1,1});
+        GameStatus status = GameStatus.of(Color.B, board);
+        assertEquals(GameStatus.State.CHECK_MATE, status.getState());
+        assertEquals(0, status.getLegalMoveCount());
+        assertArrayEquals(new int[] {4}, status.getCheckers());
+        board.removePiece(new int[] {2,5});
+        status = GameStatus.of(Color.B, board);
+        assertEquals(GameStatus.State.CHECK, status.getState());
+        assertEquals(true, status.isCheck());
+        assertEquals(false, BoardConfiguration.playerStuck(Color.B, board));
+    }
+
+    /**
+     * Tests stale mate and a game going on
+     */
+    @Test
+    public void testStaleMate() {
+        ChessBoard board = new ChessBoard(8);
+        board.addPiece(new King(Color.W,5,6), new int[] {5,6});
+        board.addPiece(new Queen(Color.W, 6,5), new int[] {6,5});
+        board.addPiece(new King(Color.B, 7,7), new int[] {7,7});
+        assertEquals(GameStatus.State.STALE_MATE, GameStatus.of(Color.B, board).getState());
+        assertEquals(0, GameStatus.of(Color.B, board).getCheckers().length);
+        assertEquals(GameStatus.State.ONGOING, GameStatus.of(Color.W, board).getState());
+    }
+
+    /**
+     * Tests that a game finds the status once per position and again after it changes
+     */
+    @Test
+    public void testCachedInGame() {
+        Chess game = new Chess("W", "Standard");
+        GameStatus status = game.getStatus();
+        assertEquals(20, status.getLegalMoveCount());
+        assertEquals(true, status == game.getStatus());
+        game.movePiece(new int[] {1,4}, new int[] {3,4});
+        assertEquals(false, status == game.getStatus());
+        assertEquals(Color.B, game.getPlayer());
+        assertEquals(20, game.getStatus().getLegalMoveCount());
+        game.undoLastMove();
+        assertEquals(status.getHash(), game.getStatus().getHash());
+        assertEquals(false, game.isCheck());
+    }
+}
@@ -0,0 +1,131 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.MoveGenerator;
+import chess.MoveList;
+import chess.MoveValidator;
+import chess.boards.ChessBoard;
+import chess.boards.CustomBoard;
+import chess.boards.StandardBoard;
+import chess.engine.Perft;
+import chess.pieces.King;
+import chess.pieces.Pawn;
+import chess.pieces.Queen;
+import chess.pieces.Rook;
+
+/**
+ * MoveGeneratorTest --- class to test finding all the legal moves of a player
+ * @author    Jeremy McMahan
+ */
+public class MoveGeneratorTest {
+    /**
+     * Tests the number of moves at the start of the games
+     */
+    @Test
+    public void testStartingMoves() {
+        MoveList moves = new MoveList();
+        assertEquals(20, MoveGenerator.generateLegalMoves(Color.W, new StandardBoard(), moves));
+        assertEquals(20, moves.size());
+        assertEquals(20, MoveGenerator.generateLegalMoves(Color.B, new StandardBoard(), moves));
+        //the ultra pieces block two pawns and a knight jump but add five ultra knight and seven ultra rook moves
+        assertEquals(27, MoveGenerator.generateLegalMoves(Color.W, new CustomBoard(), moves));
+    }
+
+    /**
+     * Tests that moves which leave the king in danger are left out
+     */
+    @Test
+    public void testKingSafety() {
+        ChessBoard board = new ChessBoard(8);
+        board.addPiece(new King(Color.W, 0, 4), new int[] {0,4});
+        board.addPiece(new Rook(Color.W, 1, 4), new int[] {1,4});
+        board.addPiece(new Queen(Color.B, 7, 4), new int[] {7,4});
+        board.addPiece(new King(Color.B, 7, 0), new int[] {7,0});
+        MoveList moves = new MoveList();
+        int count = MoveGenerator.generateLegalMoves(Color.W, board, moves);
+        for (int i = 0; i < count; i++) { //the pinned rook may only move along the column without capturing the queen
+            int from = MoveList.getFrom(moves.get(i));
+            int to = MoveList.getTo(moves.get(i));
+            assertEquals(true, from != 12 || (to % 8 == 4 && to != 60));
+        }
+        assertEquals(9, count); //five rook moves and four king moves
+    }
+
+    /**
+     * Tests pawn moves including the move twice on first move rule and captures
+     */
+    @Test
+    public void testPawnMoves() {
+        ChessBoard board = new ChessBoard(8);
+        board.addPiece(new King(Color.W, 0, 0), new int[] {0,0});
+        board.addPiece(new King(Color.B, 7, 7), new int[] {7,7});
+        board.addPiece(new Pawn(Color.W, 1, 4), new int[] {1,4});
+        board.addPiece(new Pawn(Color.B, 2, 5), new int[] {2,5});
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(Color.W, board, moves);
+        int pawnMoves = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (MoveList.getFrom(move) == 12) {
+                pawnMoves++;
+                assertEquals(MoveList.getTo(move) == 21, (MoveList.getFlags(move) & MoveList.CAPTURE) != 0);
+                assertEquals(MoveList.getTo(move) == 28, (MoveList.getFlags(move) & MoveList.DOUBLE_STEP) != 0);
+            }
+        }
+        assertEquals(3, pawnMoves);
+    }
+
+    /**
+     * Tests that the captures generated alone are the legal moves flagged as captures, in the reference positions and
+     * every position a move away from them
+     */
+    @Test
+    public void testLegalCaptures() {
+        MoveList moves = new MoveList();
+        for (Perft.Position position : Perft.POSITIONS) {
+            ChessBoard board = position.getBoard();
+            Color player = position.getPlayer();
+            assertCapturesMatch(board, player);
+            MoveGenerator.generateLegalMoves(player, board, moves);
+            for (int i = 0; i < moves.size(); i++) {
+                board.makeMove(MoveList.getFrom(moves.get(i)), MoveList.getTo(moves.get(i)));
+                assertCapturesMatch(board, player.opponent());
+                board.unmakeMove();
+            }
+        }
+    }
+
+    /**
+     * Tests stopping at the first legal move
+     */
+    @Test
+    public void testHasLegalMove() {
+        ChessBoard board = new ChessBoard(8);
+        board.addPiece(new King(Color.W,5,6), new int[] {5,6});
+        board.addPiece(new Queen(Color.W, 6,5), new int[] {6,5});
+        board.addPiece(new King(Color.B, 7,7), new int[] {7,7});
+        assertEquals(true, MoveGenerator.hasLegalMove(Color.W, board));
+        assertEquals(false, MoveGenerator.hasLegalMove(Color.B, board)); //stale mate
+    }
+
+    /**
+     * Asserts that the legal captures of the player are the legal moves flagged as captures, in the same order
+     */
+    private static void assertCapturesMatch(ChessBoard board, Color player) {
+        MoveList moves = new MoveList();
+        MoveList captures = new MoveList();
+        MoveGenerator.generateLegalMoves(player, board, moves);
+        MoveGenerator.generateLegalCaptures(player, board, captures, new MoveValidator());
+        int count = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            if ((MoveList.getFlags(moves.get(i)) & MoveList.CAPTURE) != 0) {
+                assertEquals(moves.get(i), captures.get(count++));
+            }
+        }
+        assertEquals(count, captures.size());
+    }
+}
@@ -0,0 +1,42 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import chess.MoveList;
+
+/**
+ * MoveListTest --- class to test the packing and storing of moves
+ * @author    Jeremy McMahan
+ */
+public class MoveListTest {
+    /**
+     * Tests that a packed move gives back its squares and flags
+     */
+    @Test
+    public void testPack() {
+        int move = MoveList.pack(12, 4095, MoveList.CAPTURE | MoveList.DOUBLE_STEP);
+        assertEquals(12, MoveList.getFrom(move));
+        assertEquals(4095, MoveList.getTo(move));
+        assertEquals(MoveList.CAPTURE | MoveList.DOUBLE_STEP, MoveList.getFlags(move));
+    }
+
+    /**
+     * Tests adding to, growing and clearing the list
+     */
+    @Test
+    public void testAddAndClear() {
+        MoveList moves = new MoveList(1);
+        for (int i = 0; i < 10; i++) {
+            moves.add(MoveList.pack(i, i + 1, 0));
+        }
+        assertEquals(10, moves.size());
+        assertEquals(7, MoveList.getTo(moves.get(6)));
+        moves.swap(0, 6);
+        assertEquals(6, MoveList.getFrom(moves.get(0)));
+        assertEquals(0, MoveList.getFrom(moves.get(6)));
+        moves.clear();
+        assertEquals(0, moves.size());
+    }
+}
@@ -0,0 +1,130 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import chess.BoardConfiguration;
+import chess.Color;
+import chess.MoveValidator;
+import chess.boards.ChessBoard;
+import chess.boards.CustomBoard;
+import chess.pieces.Bishop;
+import chess.pieces.King;
+import chess.pieces.Knight;
+import chess.pieces.Queen;
+import chess.pieces.Rook;
+
+/**
+ * MoveValidatorTest --- class to test deciding the safety of the king from the pins and checks of a position
+ * @author    Jeremy McMahan
+ */
+public class MoveValidatorTest {
+    /**
+     * Tests that a pinned piece may only move between its king and its pinner
+     */
+    @Test
+    public void testPins() {
+        ChessBoard board = new ChessBoard(8);
+        board.addPiece(new King(Color.W, 0, 4), new int[] {0,4});
+        board.addPiece(new Rook(Color.W, 2, 4), new int[] {2,4});
+        board.addPiece(new Bishop(Color.W, 1, 3), new int[] {1,3});
+        board.addPiece(new Queen(Color.B, 6, 4), new int[] {6,4});
+        board.addPiece(new Bishop(Color.B, 4, 0), new int[] {4,0});
+        board.addPiece(new King(Color.B, 7, 0), new int[] {7,0});
+        MoveValidator validator = new MoveValidator();
+        validator.update(board, Color.W);
+        assertEquals(false, validator.isInCheck());
+        assertEquals(true, validator.isPinned(2 * 8 + 4));
+        assertEquals(true, validator.isPinned(8 + 3));
+        assertEquals(true, validator.canMovePiece(2 * 8 + 4, 5 * 8 + 4));
+        assertEquals(false, validator.canMovePiece(2 * 8 + 4, 2 * 8 + 5));
+        assertEquals(true, validator.canMovePiece(8 + 3, 2 * 8 + 2));
+        assertEquals(false, validator.canMovePiece(8 + 3, 2 * 8 + 4));
+        //the captured pinner is still taken to attack the king
+        assertEquals(false, validator.canMovePiece(2 * 8 + 4, 6 * 8 + 4));
+        assertEquals(false, validator.canMovePiece(8 + 3, 4 * 8));
+        assertSameAsBoardConfiguration(board, Color.W);
+    }
+
+    /**
+     * Tests escaping check by capturing or blocking a lone checker and by moving the king
+     */
+    @Test
+    public void testCheck() {
+        ChessBoard board = new ChessBoard(8);
+        board.addPiece(new King(Color.W, 0, 4), new int[] {0,4});
+        board.addPiece(new Rook(Color.W, 3, 0), new int[] {3,0});
+        board.addPiece(new Bishop(Color.W, 2, 2), new int[] {2,2});
+        board.addPiece(new Rook(Color.B, 5, 4), new int[] {5,4});
+        board.addPiece(new King(Color.B, 7, 0), new int[] {7,0});
+        MoveValidator validator = new MoveValidator();
+        validator.update(board, Color.W);
+        assertEquals(1, validator.getCheckerCount());
+        assertEquals(true, validator.canMovePiece(3 * 8, 3 * 8 + 4));
+        assertEquals(false, validator.canMovePiece(3 * 8, 4 * 8));
+        assertEquals(true, validator.canMovePiece(2 * 8 + 2, 4 * 8 + 4));
+        //the king may not step away along the line of the rook checking it
+        assertEquals(false, validator.canMovePiece(4, 8 + 4));
+        assertEquals(true, validator.canMovePiece(4, 3));
+        assertSameAsBoardConfiguration(board, Color.W);
+
+        board = new ChessBoard(8); //a knight giving check can only be captured
+        board.addPiece(new King(Color.B, 7, 4), new int[] {7,4});
+        board.addPiece(new Knight(Color.W, 5, 3), new int[] {5,3});
+        board.addPiece(new Rook(Color.B, 5, 0), new int[] {5,0});
+        board.addPiece(new Queen(Color.B, 6, 0), new int[] {6,0});
+        board.addPiece(new King(Color.W, 0, 0), new int[] {0,0});
+        validator.update(board, Color.B);
+        assertEquals(true, validator.canMovePiece(5 * 8, 5 * 8 + 3));
+        assertEquals(false, validator.canMovePiece(6 * 8, 6 * 8 + 3));
+        assertSameAsBoardConfiguration(board, Color.B);
+    }
+
+    /**
+     * Tests that only the king may move out of double check
+     */
+    @Test
+    public void testDoubleCheck() {
+        ChessBoard board = new ChessBoard(8);
+        board.addPiece(new King(Color.W, 0, 4), new int[] {0,4});
+        board.addPiece(new Queen(Color.W, 3, 0), new int[] {3,0});
+        board.addPiece(new Rook(Color.B, 5, 4), new int[] {5,4});
+        board.addPiece(new Knight(Color.B, 2, 3), new int[] {2,3});
+        board.addPiece(new King(Color.B, 7, 0), new int[] {7,0});
+        MoveValidator validator = new MoveValidator();
+        validator.update(board, Color.W);
+        assertEquals(2, validator.getCheckerCount());
+        assertEquals(false, validator.canMovePiece(3 * 8, 3 * 8 + 4));
+        assertEquals(true, validator.canMovePiece(4, 5));
+        assertSameAsBoardConfiguration(board, Color.W);
+    }
+
+    /**
+     * Tests that the validator agrees with BoardConfiguration on every move of both players on the custom board
+     */
+    @Test
+    public void testCustomBoard() throws Exception {
+        ChessBoard board = new CustomBoard();
+        board.movePiece(board.getPiece(1, 4), new int[] {3,4});
+        board.movePiece(board.getPiece(6, 5), new int[] {4,5});
+        board.makeSquareInvalid(new int[] {5,6});
+        assertSameAsBoardConfiguration(board, Color.W);
+        assertSameAsBoardConfiguration(board, Color.B);
+    }
+
+    /**
+     * Checks every move of the player on the board against BoardConfiguration.canMovePiece
+     */
+    private static void assertSameAsBoardConfiguration(ChessBoard board, Color player) {
+        MoveValidator validator = new MoveValidator();
+        validator.update(board, player);
+        int squares = board.getBoardSize() * board.getBoardSize();
+        for (int from = 0; from < squares; from++) {
+            for (int to = 0; to < squares; to++) {
+                assertEquals(from + " to " + to, BoardConfiguration.canMovePiece(from, to, player, board),
+                        validator.canMovePiece(from, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import chess.Chess;
+import chess.Color;
+import chess.Position;
+import chess.boards.ChessBoard;
+import chess.pieces.PieceType;
+
+/**
+ * PositionTest --- class to test the immutable snapshots of a game
+ * @author    Jeremy McMahan
+ */
+public class PositionTest {
+    /**
+     * Tests that a snapshot stays as it was while the game moves on and that the next one follows it
+     */
+    @Test
+    public void testSnapshotAfterMove() {
+        Chess game = new Chess("W", "Standard");
+        Position start = game.getPosition();
+        assertEquals(true, game.movePiece(new int[] {1,4}, new int[] {3,4}));
+        Position next = game.getPosition();
+        assertEquals(PieceType.PAWN, start.getPieceType(12));
+        assertEquals(true, start.isFirstTurn(12));
+        assertEquals(null, start.getPieceType(28));
+        assertEquals(null, next.getPieceType(12));
+        assertEquals(PieceType.PAWN, next.getPieceType(28));
+        assertEquals(Color.W, next.getColor(28));
+        assertEquals(false, next.isFirstTurn(28));
+        assertEquals(start, next.getPrevious());
+        assertEquals(1, next.getPly());
+        assertEquals(Color.B, next.getPlayer());
+        assertEquals(game.getHash(), next.getHash());
+        assertEquals(Color.W, start.getPlayer());
+    }
+
+    /**
+     * Tests that undoing a move and changing the turn publish the matching snapshots
+     */
+    @Test
+    public void testUndoAndSwapTurn() {
+        Chess game = new Chess("W", "Standard");
+        Position start = game.getPosition();
+        game.movePiece(new int[] {0,1}, new int[] {2,2});
+        game.undoLastMove();
+        assertEquals(start, game.getPosition());
+        game.swapTurn();
+        assertEquals(Color.B, game.getPosition().getPlayer());
+        assertEquals(game.getHash(), game.getPosition().getHash());
+        assertEquals(PieceType.KNIGHT, game.getPosition().getPieceType(1));
+    }
+
+    /**
+     * Tests that a snapshot sets up a board with the same position, including invalid squares
+     */
+    @Test
+    public void testToBoard() throws Exception {
+        Chess game = new Chess("W", "Standard");
+        game.getBoard().makeSquareInvalid(new int[] {4,4});
+        game = new Chess(game.getBoard(), Color.W);
+        game.movePiece(new int[] {1,3}, new int[] {3,3});
+        game.movePiece(new int[] {6,2}, new int[] {4,2});
+        game.movePiece(new int[] {3,3}, new int[] {4,2});
+        ChessBoard board = game.getPosition().toBoard();
+        assertEquals(false, board.isValidSquare(36));
+        assertEquals(game.getBoard().getPieceCount(Color.B), board.getPieceCount(Color.B));
+        assertEquals(game.getHash(), board.getHash(Color.B));
+        assertEquals(Position.of(board, Color.B).getHash(), game.getPosition().getHash());
+    }
+}
@@ -0,0 +1,100 @@
+package tests.boardtests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.boards.AttackTables;
+import chess.boards.ChessBoard;
+import chess.boards.StandardBoard;
+import chess.pieces.Knight;
+import chess.pieces.Pawn;
+import chess.pieces.Rook;
+import chess.pieces.UltraKnight;
+import chess.pieces.UltraRook;
+
+/**
+ * AttackTablesTest --- class to test the precomputed attacks of the pieces on 8x8 boards
+ * @author    Jeremy McMahan
+ */
+public class AttackTablesTest {
+    /**
+     * Tests the magic lookups of sliders against walking their lines square by square
+     */
+    @Test
+    public void testSliders() {
+        Random random = new Random(7);
+        int[][] rook = {{1,0},{-1,0},{0,1},{0,-1}};
+        int[][] bishop = {{1,1},{1,-1},{-1,1},{-1,-1}};
+        for (int i = 0; i < 20000; i++) {
+            int square = random.nextInt(64);
+            long occupancy = random.nextLong() & random.nextLong();
+            assertEquals(walk(square, occupancy, rook), AttackTables.rook(square, occupancy));
+            assertEquals(walk(square, occupancy, bishop), AttackTables.bishop(square, occupancy));
+            assertEquals(walk(square, occupancy, new int[][]{{0,1}}), AttackTables.right(square, occupancy));
+            assertEquals(walk(square, occupancy, new int[][]{{0,-1}}), AttackTables.left(square, occupancy));
+        }
+    }
+
+    /**
+     * Tests the leaper tables and the squares between two squares
+     */
+    @Test
+    public void testLeapersAndBetween() {
+        assertEquals((1L << 10) | (1L << 17), AttackTables.knight(0));
+        assertEquals(8, Long.bitCount(AttackTables.king(27)));
+        assertEquals((1L << 16) | (1L << 18), AttackTables.pawn(Color.W, 9));
+        assertEquals((1L << 0) | (1L << 2), AttackTables.pawn(Color.B, 9));
+        assertEquals((1L << 9) | (1L << 18), AttackTables.between(0, 27));
+        assertEquals((1L << 1) | (1L << 2), AttackTables.between(3, 0));
+        assertEquals(0, AttackTables.between(0, 17)); //a knight's jump is not a line
+        assertEquals(0, AttackTables.between(0, 1));
+        assertEquals(1L << 9, AttackTables.step(18, -1, -1));
+        assertEquals(0, AttackTables.step(7, 0, 1));
+    }
+
+    /**
+     * Tests finding the pieces attacking a square on a board, including the ultra pieces
+     */
+    @Test
+    public void testGetAttackers() {
+        ChessBoard board = new ChessBoard(8);
+        board.addPiece(new UltraKnight(Color.W, 3, 0), new int[] {3,0});
+        board.addPiece(new UltraRook(Color.W, 2, 3), new int[] {2,3});
+        board.addPiece(new Knight(Color.W, 1, 5), new int[] {1,5});
+        board.addPiece(new Pawn(Color.W, 2, 5), new int[] {2,5});
+        board.addPiece(new Rook(Color.B, 7, 4), new int[] {7,4});
+        int square = 3 * 8 + 4;
+        long attackers = board.getAttackers(square, Color.W, board.getOccupancy());
+        assertEquals((1L << 24) | (1L << 19) | (1L << 13) | (1L << 21), attackers);
+        assertEquals(1L << 60, board.getAttackers(square, Color.B, board.getOccupancy()));
+        //a piece taken off the occupancy stops attacking and stops blocking
+        board.addPiece(new Pawn(Color.B, 3, 2), new int[] {3,2});
+        assertEquals(0, board.getAttackers(square, Color.W, board.getOccupancy()) & (1L << 24));
+        long withoutPawn = board.getOccupancy() & ~(1L << 26);
+        assertEquals(1L << 24, board.getAttackers(square, Color.W, withoutPawn) & (1L << 24));
+        assertEquals(0, new StandardBoard().getAttackers(4 * 8 + 4, Color.W, new StandardBoard().getOccupancy()));
+    }
+
+    /**
+     * Walks from the square along the directions up to and including the first occupied square
+     * @return long
+     */
+    private static long walk(int square, long occupancy, int[][] directions) {
+        long reached = 0;
+        for (int[] direction : directions) {
+            int row = square / 8 + direction[0];
+            int col = square % 8 + direction[1];
+            for (; 0 <= row && row < 8 && 0 <= col && col < 8; row += direction[0], col += direction[1]) {
+                reached |= 1L << (row * 8 + col);
+                if ((occupancy & (1L << (row * 8 + col))) != 0) {
+                    break;
+                }
+            }
+        }
+        return reached;
+    }
+}
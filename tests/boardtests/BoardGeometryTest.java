@@ -0,0 +1,74 @@
+package tests.boardtests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.boards.BoardGeometry;
+import chess.boards.ChessBoard;
+import chess.boards.Mailbox;
+import chess.pieces.Knight;
+import chess.pieces.Pawn;
+import chess.pieces.Rook;
+
+/**
+ * BoardGeometryTest --- class to test the tables compiled from the shape of a board
+ * @author    Jeremy McMahan
+ */
+public class BoardGeometryTest {
+    private static final int RIGHT = 2; //the index of {0,1} in MoveTables.DIRECTIONS
+    private static final int UP = 0; //the index of {1,0} in MoveTables.DIRECTIONS
+
+    /**
+     * Tests that rays, leaps and neighbors leave out invalid squares
+     */
+    @Test
+    public void testInvalidSquares() throws Exception {
+        ChessBoard board = new ChessBoard(5);
+        board.makeSquareInvalid(new int[] {0,2});
+        board.makeSquareInvalid(new int[] {2,0});
+        board.makeSquareInvalid(new int[] {2,1});
+        BoardGeometry geometry = board.getGeometry();
+        assertArrayEquals(new int[] {1, 3, 4}, geometry.getRay(0, RIGHT));
+        assertArrayEquals(new int[] {5, 15, 20}, geometry.getRay(0, UP));
+        assertEquals(-1, geometry.getNeighbor(1, RIGHT));
+        assertEquals(6, geometry.getNeighbor(1, UP));
+        assertEquals(0, geometry.getRay(2, RIGHT).length);
+        assertEquals(22, geometry.getValidSquares().length);
+        byte knight = Mailbox.code(new Knight(Color.W, 0, 0));
+        assertArrayEquals(new int[] {7}, geometry.getLeaps(knight, 0));
+        byte pawn = Mailbox.code(new Pawn(Color.W, 1, 0));
+        assertEquals(0, geometry.getLeaps(pawn, 5).length);
+    }
+
+    /**
+     * Tests that a piece left on a square made invalid under it ends the rays reaching it until it leaves
+     */
+    @Test
+    public void testBlockedSquare() throws Exception {
+        ChessBoard board = new ChessBoard(5);
+        Rook rook = new Rook(Color.B, 0, 2);
+        board.addPiece(rook, new int[] {0,2});
+        board.makeSquareInvalid(new int[] {0,2});
+        assertArrayEquals(new int[] {1}, board.getGeometry().getRay(0, RIGHT));
+        board.removePiece(new int[] {0,2});
+        assertArrayEquals(new int[] {1, 3, 4}, board.getGeometry().getRay(0, RIGHT));
+    }
+
+    /**
+     * Tests that boards of the same shape share their geometry and that changing the shape changes it
+     */
+    @Test
+    public void testSharing() throws Exception {
+        ChessBoard first = new ChessBoard(6);
+        ChessBoard second = new ChessBoard(6);
+        first.makeSquareInvalid(new int[] {3,3});
+        BoardGeometry before = second.getGeometry();
+        second.makeSquareInvalid(new int[] {3,3});
+        assertEquals(true, first.getGeometry() == second.getGeometry());
+        assertEquals(false, before == second.getGeometry());
+        assertEquals(true, new ChessBoard(6).getGeometry() == before);
+    }
+}
@@ -1,13 +1,19 @@
 package tests.boardtests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
 
 import chess.boards.ChessBoard;
+import chess.boards.StandardBoard;
 import chess.Color;
 import chess.pieces.King;
 import chess.pieces.Pawn;
+import chess.pieces.Piece;
+import chess.pieces.PieceType;
+import chess.pieces.Rook;
+import chess.pieces.UltraKnight;
 
 import java.util.Arrays;
 
@@ -50,6 +56,19 @@ public class ChessBoardTest {
         board.makeSquareInvalid(new int[]{-2,3});
     }
 
+    /**
+     * Tests that a square off the board by its column alone is rejected rather than wrapped onto another row
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMakeSquareInvalidColumn() {
+        ChessBoard board = new ChessBoard(8);
+        try {
+            board.makeSquareInvalid(new int[]{3,-2});
+        } finally {
+            assertEquals(true, board.isValidSquare(3 * 8 - 2));
+        }
+    }
+
 	/**
 	 * Tests adding a piece to the board
 	 */
@@ -155,4 +174,279 @@ public class ChessBoardTest {
 		assertEquals(p, board.getPiece(new int[]{3,4}));
 		assertEquals(null, board.getPiece(new int[]{5,6}));
     }
+
+	/**
+	 * Tests that the occupancy bitboards follow the pieces as they are added, moved and removed
+	 */
+	@Test
+	public void testBitboards() throws Exception {
+		ChessBoard board = new StandardBoard();
+		assertEquals(0xFFFFL, board.getBitboard(Color.W));
+		assertEquals(0xFFFFL << 48, board.getBitboard(Color.B));
+		assertEquals(0xFFL << 8 | 0xFFL << 48, board.getBitboard(PieceType.PAWN));
+		assertEquals(1L << 4 | 1L << 60, board.getBitboard(PieceType.KING));
+		board.movePiece(board.getPiece(new int[]{1,4}), new int[]{6,3}); //capture a black pawn
+		assertEquals(0xFFFFL & ~(1L << 12) | 1L << 51, board.getBitboard(Color.W));
+		assertEquals(0xFFFFL << 48 & ~(1L << 51), board.getBitboard(Color.B));
+		board.removePiece(new int[]{6,3});
+		assertEquals(0xFFL << 8 & ~(1L << 12) | 0xF7L << 48, board.getBitboard(PieceType.PAWN));
+		board.makeSquareInvalid(new int[]{4,4});
+		assertEquals(1L << 36, board.getInvalidBitboard());
+	}
+
+	/**
+	 * Tests that the single long bitboards refuse boards larger than 8x8 rather than give only their first 64 squares
+	 */
+	@Test
+	public void testBitboardsOnlyFor8x8() {
+		ChessBoard board = new ChessBoard(10);
+		board.addPiece(new Rook(Color.W, 9, 9), new int[] {9,9});
+		Runnable[] getters = {() -> board.getBitboard(Color.W), () -> board.getBitboard(PieceType.ROOK),
+			() -> board.getInvalidBitboard(), () -> board.getOccupancy(), () -> board.getAttackers(0, Color.W, 0)};
+		for (Runnable getter : getters) {
+			try {
+				getter.run();
+				fail("a 10x10 board gave a single long bitboard");
+			} catch (IllegalStateException expected) {
+				//the board is too large for one long
+			}
+		}
+	}
+
+	/**
+	 * Tests that the attack counts follow the rays as pieces block and unblock them
+	 */
+	@Test
+	public void testAttackCounts() {
+		ChessBoard board = new ChessBoard(8);
+		Rook r = new Rook(Color.W, 0, 0);
+		board.addPiece(r, r.getSquare());
+		board.addPiece(new UltraKnight(Color.W, 3, 0), new int[] {3,0});
+		assertEquals(1, board.getAttackCount(new int[] {2,0}, Color.W));
+		assertEquals(1, board.getAttackCount(new int[] {3,0}, Color.W)); //the rook defends the ultra knight
+		assertEquals(0, board.getAttackCount(new int[] {4,0}, Color.W));
+		assertEquals(1, board.getAttackCount(new int[] {2,2}, Color.W)); //ultra knight jump
+		assertEquals(true, board.isAttacked(new int[] {3,7}, Color.W)); //ultra knight slides right
+		assertEquals(false, board.isAttacked(new int[] {2,0}, Color.B));
+		board.addPiece(new Pawn(Color.B, 3, 4), new int[] {3,4}); //blocks the slide
+		assertEquals(true, board.isAttacked(new int[] {3,4}, Color.W));
+		assertEquals(false, board.isAttacked(new int[] {3,5}, Color.W));
+		assertEquals(1, board.getAttackCount(new int[] {2,5}, Color.B));
+		board.removePiece(new int[] {3,0}); //the rook sees up the column again
+		assertEquals(1, board.getAttackCount(new int[] {7,0}, Color.W));
+		board.movePiece(r, new int[] {3,3});
+		assertEquals(false, board.isAttacked(new int[] {7,0}, Color.W));
+		assertEquals(true, board.isAttacked(new int[] {3,4}, Color.W));
+		assertEquals(false, board.isAttacked(new int[] {3,5}, Color.W));
+	}
+
+	/**
+	 * Tests that the hash depends only on the position and is restored by undoing moves
+	 */
+	@Test
+	public void testHash() {
+		ChessBoard board = new StandardBoard();
+		long start = board.getHash(Color.W);
+		assertEquals(false, start == board.getHash(Color.B));
+		board.movePiece(board.getPiece(new int[] {0,1}), new int[] {2,2});
+		board.movePiece(board.getPiece(new int[] {0,6}), new int[] {2,5});
+		long knightsOut = board.getHash(Color.W);
+		board.undoMove(new int[] {0,6}, new int[] {2,5});
+		board.undoMove(new int[] {0,1}, new int[] {2,2});
+		assertEquals(start, board.getHash(Color.W));
+		board.movePiece(board.getPiece(new int[] {0,6}), new int[] {2,5}); //same position in another order
+		board.movePiece(board.getPiece(new int[] {0,1}), new int[] {2,2});
+		assertEquals(knightsOut, board.getHash(Color.W));
+		Pawn p = (Pawn) board.getPiece(new int[] {1,4});
+		board.setFirstTurn(p, false); //a pawn that can no longer move twice changes the position
+		assertEquals(false, knightsOut == board.getHash(Color.W));
+		board.setFirstTurn(p, true);
+		assertEquals(knightsOut, board.getHash(Color.W));
+	}
+
+	/**
+	 * Tests making several moves including captures and a pawn's first move and taking them all back
+	 */
+	@Test
+	public void testMakeAndUnmakeMove() {
+		ChessBoard board = new StandardBoard();
+		long start = board.getHash(Color.W);
+		Pawn e = (Pawn) board.getPiece(new int[] {1,4});
+		Pawn d = (Pawn) board.getPiece(new int[] {6,3});
+		board.makeMove(1 * 8 + 4, 3 * 8 + 4); //e4
+		board.makeMove(6 * 8 + 3, 4 * 8 + 3); //d5
+		board.makeMove(3 * 8 + 4, 4 * 8 + 3); //exd5
+		board.makeMove(7 * 8 + 3, 4 * 8 + 3); //Qxd5
+		assertEquals(4, board.getPly());
+		assertEquals(false, e.isFirstTurn());
+		assertEquals(null, board.getPiece(new int[] {1,4}));
+		assertEquals(PieceType.QUEEN, board.getPiece(new int[] {4,3}).getType());
+		assertEquals(true, board.isAttacked(new int[] {1,3}, Color.B)); //the queen looks down the open column
+		board.unmakeMove();
+		assertEquals(e, board.getPiece(new int[] {4,3}));
+		board.unmakeMove();
+		assertEquals(d, board.getPiece(new int[] {4,3}));
+		assertEquals(true, Arrays.equals(new int[] {4,3}, d.getSquare()));
+		board.unmakeMove();
+		board.unmakeMove();
+		assertEquals(0, board.getPly());
+		assertEquals(e, board.getPiece(new int[] {1,4}));
+		assertEquals(true, e.isFirstTurn());
+		assertEquals(true, d.isFirstTurn());
+		assertEquals(false, board.isAttacked(new int[] {1,3}, Color.B));
+		assertEquals(start, board.getHash(Color.W));
+	}
+
+	/**
+	 * Tests that the history of moves grows past its first capacity
+	 */
+	@Test
+	public void testManyMoves() {
+		ChessBoard board = new StandardBoard();
+		long start = board.getHash(Color.W);
+		for (int i = 0; i < 300; i++) {
+			board.makeMove((i % 2 == 0)? 1 : 18, (i % 2 == 0)? 18 : 1); //a knight going back and forth
+		}
+		assertEquals(300, board.getPly());
+		while (board.getPly() > 0) {
+			board.unmakeMove();
+		}
+		assertEquals(start, board.getHash(Color.W));
+		assertEquals(PieceType.KNIGHT, board.getPiece(new int[] {0,1}).getType());
+	}
+
+	/**
+	 * Tests that the piece lists and the king follow pieces as they are added, moved, captured and taken back
+	 */
+	@Test
+	public void testPieceLists() {
+		ChessBoard board = new StandardBoard();
+		assertEquals(16, board.getPieceCount(Color.W));
+		assertEquals(8, board.getPieceCount(Color.B, PieceType.PAWN));
+		assertEquals(4, board.getKingSquare(Color.W));
+		assertEquals(60, board.getKingSquare(Color.B));
+		board.makeMove(4, 28); //the white king walks up to capture a pawn
+		board.makeMove(28, 52);
+		assertEquals(52, board.getKingSquare(Color.W));
+		assertEquals(7, board.getPieceCount(Color.B, PieceType.PAWN));
+		assertEquals(15, board.getPieces(Color.B).size());
+		board.removePiece(new int[] {7,4});
+		assertEquals(-1, board.getKingSquare(Color.B));
+		assertEquals(null, board.getKing(Color.B));
+		board.addPiece(new King(Color.B, 7, 4), new int[] {7,4});
+		board.unmakeMove();
+		board.unmakeMove();
+		assertEquals(4, board.getKingSquare(Color.W));
+		assertEquals(8, board.getPieceCount(Color.B, PieceType.PAWN));
+		int[] found = new int[64];
+		for (Color color : Color.values()) {
+			for (int i = 0; i < board.getPieceCount(color); i++) {
+				int square = board.getPieceSquare(color, i);
+				assertEquals(color, board.getPiece(square / 8, square % 8).getColor());
+				found[square]++;
+			}
+			for (PieceType type : PieceType.values()) {
+				for (int i = 0; i < board.getPieceCount(color, type); i++) {
+					int square = board.getPieceSquare(color, type, i);
+					assertEquals(type, board.getPiece(square / 8, square % 8).getType());
+				}
+			}
+		}
+		for (int square = 0; square < 64; square++) {
+			assertEquals((board.getPiece(square / 8, square % 8) != null)? 1 : 0, found[square]);
+		}
+	}
+
+	/**
+	 * Tests adding, finding, moving and removing pieces by square index
+	 */
+	@Test
+	public void testSquareIndexes() throws Exception {
+		ChessBoard board = new ChessBoard(8);
+		board.makeSquareInvalid(new int[] {0,0});
+		Rook rook = new Rook(Color.W, 1, 1);
+		board.addPiece(rook, 0);
+		assertEquals(null, board.getPiece(0));
+		board.addPiece(rook, 9);
+		assertEquals(rook, board.getPiece(9));
+		assertEquals(rook, board.getPiece(new int[] {1,1}));
+		board.movePiece(rook, 12);
+		assertEquals(12, board.getSquareIndex(rook));
+		assertEquals(1, rook.getRow());
+		assertEquals(4, rook.getCol());
+		assertEquals(null, board.getPiece(9));
+		assertEquals(true, board.isAttacked(52, Color.W));
+		assertEquals(false, board.isValidSquare(0));
+		assertEquals(false, board.isValidSquare(64));
+		assertEquals(63, board.getValidSquares().length);
+		assertEquals(1, board.getValidSquares()[0]);
+		board.removePiece(12);
+		board.removePiece(-1);
+		assertEquals(null, board.getPiece(12));
+		assertEquals(null, board.getPiece(-1));
+	}
+
+	/**
+	 * Tests that a copy holds the same position with its own pieces and that the two boards move independently
+	 */
+	@Test
+	public void testCopy() throws Exception {
+		ChessBoard board = new StandardBoard();
+		board.makeMove(1 * 8 + 4, 3 * 8 + 4); //e4
+		board.makeSquareInvalid(new int[] {4,0});
+		ChessBoard copy = board.copy();
+		assertEquals(board.getHash(Color.W), copy.getHash(Color.W));
+		assertEquals(0, copy.getPly());
+		for (int square = 0; square < 64; square++) {
+			assertEquals(board.isValidSquare(square), copy.isValidSquare(square));
+			assertEquals(board.getAttackCount(square, Color.B), copy.getAttackCount(square, Color.B));
+			if (board.getPiece(square) != null) {
+				assertEquals(board.getPiece(square).getType(), copy.getPiece(square).getType());
+				assertEquals(board.getPiece(square).getColor(), copy.getPiece(square).getColor());
+				assertEquals(false, board.getPiece(square) == copy.getPiece(square));
+			}
+		}
+		assertEquals(false, ((Pawn) copy.getPiece(3 * 8 + 4)).isFirstTurn());
+		assertEquals(true, ((Pawn) copy.getPiece(1 * 8 + 3)).isFirstTurn());
+		copy.makeMove(6 * 8 + 3, 4 * 8 + 3); //d5 on the copy only
+		assertEquals(null, board.getPiece(4 * 8 + 3));
+		assertEquals(true, Arrays.equals(new int[] {6,3}, board.getPiece(6 * 8 + 3).getSquare()));
+		copy.unmakeMove();
+		assertEquals(board.getHash(Color.W), copy.getHash(Color.W));
+
+		ChessBoard large = new ChessBoard(12); //copies its occupancy index too
+		large.addPiece(new Rook(Color.W, 0, 0), new int[] {0,0});
+		ChessBoard largeCopy = large.copy();
+		largeCopy.removePiece(0);
+		assertEquals(0, large.getOccupancyIndex().nearest(11, 3, -1, -1));
+		assertEquals(-1, largeCopy.getOccupancyIndex().nearest(11, 3, -1, -1));
+	}
+
+	/**
+	 * Tests that a copy moves its pieces by their codes and makes them only when they are asked for, on the squares
+	 * and with the first turns the moves made before left them
+	 */
+	@Test
+	public void testCopyMakesPiecesWhenAsked() {
+		ChessBoard board = new StandardBoard();
+		ChessBoard copy = board.copy();
+		copy.makeMove(1 * 8 + 4, 3 * 8 + 4); //e4 before any piece of the copy is asked for
+		copy.makeMove(6 * 8 + 3, 4 * 8 + 3); //d5
+		copy.makeMove(3 * 8 + 4, 4 * 8 + 3); //exd5
+		Piece pawn = copy.getPiece(4 * 8 + 3);
+		assertEquals(PieceType.PAWN, pawn.getType());
+		assertEquals(Color.W, pawn.getColor());
+		assertEquals(true, Arrays.equals(new int[] {4,3}, pawn.getSquare()));
+		assertEquals(false, pawn.isFirstTurn());
+		assertEquals(true, pawn == copy.getPiece(4 * 8 + 3)); //made once and kept
+		copy.unmakeMove();
+		assertEquals(Color.B, copy.getPiece(4 * 8 + 3).getColor()); //the captured pawn is put back
+		assertEquals(true, Arrays.equals(new int[] {3,4}, pawn.getSquare()));
+		copy.unmakeMove();
+		copy.unmakeMove();
+		assertEquals(true, pawn.isFirstTurn());
+		assertEquals(true, copy.isFirstTurn(6 * 8 + 3));
+		assertEquals(board.getHash(Color.W), copy.getHash(Color.W));
+		assertEquals(false, board.getPiece(1 * 8 + 4) == pawn);
+	}
 }
@@ -0,0 +1,51 @@
+package tests.boardtests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.boards.ChessBoard;
+import chess.boards.Mailbox;
+import chess.pieces.Knight;
+import chess.pieces.Rook;
+
+/**
+ * MailboxTest --- class to test the mailbox representation of a board and its border
+ * @author    Jeremy McMahan
+ */
+public class MailboxTest {
+    /**
+     * Tests converting between squares and cells
+     */
+    @Test
+    public void testCells() {
+        Mailbox mailbox = new Mailbox(5);
+        assertEquals(9, mailbox.getWidth());
+        assertEquals(2 * 9 + 2, mailbox.toCell(0));
+        assertEquals(24, mailbox.toSquare(mailbox.toCell(24)));
+        assertEquals(Mailbox.EMPTY, mailbox.get(mailbox.toCell(12)));
+        assertEquals(Mailbox.OFF_BOARD, mailbox.get(mailbox.toCell(0) - 1));
+        assertEquals(Mailbox.OFF_BOARD, mailbox.get(mailbox.toCell(24) + mailbox.getOffset(2, 2)));
+    }
+
+    /**
+     * Tests that the board keeps its mailbox in sync with its pieces and shape
+     */
+    @Test
+    public void testBoardMailbox() throws Exception {
+        ChessBoard board = new ChessBoard(4);
+        board.makeSquareInvalid(new int[] {0,0});
+        Rook r = new Rook(Color.B, 1, 1);
+        board.addPiece(r, r.getSquare());
+        Mailbox mailbox = board.getMailbox();
+        assertEquals(Mailbox.INVALID, mailbox.get(mailbox.toCell(0)));
+        assertEquals(Mailbox.code(r), mailbox.get(mailbox.toCell(5)));
+        assertEquals(true, Mailbox.isPieceOf(mailbox.get(mailbox.toCell(5)), Color.B));
+        assertEquals(false, Mailbox.isPieceOf(mailbox.get(mailbox.toCell(5)), Color.W));
+        board.movePiece(r, new int[] {1,3});
+        assertEquals(Mailbox.EMPTY, mailbox.get(mailbox.toCell(5)));
+        assertEquals(true, Mailbox.isPiece(mailbox.get(mailbox.toCell(7))));
+        assertEquals(false, Mailbox.code(r) == Mailbox.code(new Knight(Color.B, 0, 0)));
+    }
+}
@@ -0,0 +1,101 @@
+package tests.boardtests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.boards.Mailbox;
+import chess.boards.MoveTables;
+import chess.pieces.*;
+
+/**
+ * MoveTablesTest --- class to test the lookup tables compiled from the movement of the pieces
+ * @author    Jeremy McMahan
+ */
+public class MoveTablesTest {
+    /**
+     * Tests that the reach of every piece agrees with its own rules for every square of a 10x10 board
+     */
+    @Test
+    public void testReachMatchesPieces() {
+        MoveTables tables = MoveTables.forSize(10);
+        for (Color color : Color.values()) {
+            Piece[] pieces = {new Pawn(color, 4, 5), new Knight(color, 4, 5), new Bishop(color, 4, 5),
+                    new Rook(color, 4, 5), new Queen(color, 4, 5), new King(color, 4, 5),
+                    new UltraKnight(color, 4, 5), new UltraRook(color, 4, 5)};
+            for (Piece piece : pieces) {
+                for (int row = 0; row < 10; row++) {
+                    for (int col = 0; col < 10; col++) {
+                        byte reach = tables.getReach(Mailbox.code(piece), row - 4, col - 5);
+                        boolean moves = reach == MoveTables.LEAP || reach == MoveTables.SLIDE
+                                || reach == MoveTables.PUSH || reach == MoveTables.DOUBLE_PUSH;
+                        boolean captures = reach == MoveTables.LEAP || reach == MoveTables.SLIDE
+                                || reach == MoveTables.CAPTURE;
+                        String message = piece.getType() + " " + color + " to " + row + "," + col;
+                        assertEquals(message, piece.canMoveTo(new int[]{row, col}), moves);
+                        assertEquals(message, piece.canCapture(new King(color.opponent(), row, col)), captures);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests the offsets and directions compiled for the pieces
+     */
+    @Test
+    public void testOffsets() {
+        MoveTables tables = MoveTables.forSize(8);
+        int width = new Mailbox(8).getWidth();
+        byte knight = Mailbox.code(new UltraKnight(Color.W, 0, 0));
+        byte pawn = Mailbox.code(new Pawn(Color.B, 6, 0));
+        assertEquals(8, tables.getLeapOffsets(knight).length);
+        assertEquals(1, tables.getRideOffsets(knight).length);
+        assertEquals(1, tables.getRideOffsets(knight)[0]);
+        assertEquals(true, tables.ridesAlong(knight, 2));
+        assertEquals(false, tables.ridesAlong(knight, 3));
+        assertEquals(0, tables.getForwardOffset(knight));
+        assertEquals(-width, tables.getForwardOffset(pawn));
+        assertEquals(MoveTables.CAPTURE, tables.getReach(pawn, -1, 1));
+        assertEquals(MoveTables.NONE, tables.getReach(pawn, 1, 1));
+        assertEquals(MoveTables.UNKNOWN, tables.getReach(pawn, 8, 0));
+        assertEquals(true, MoveTables.forSize(8) == tables);
+    }
+
+    /**
+     * Tests that every type makes its pieces and gives them their icons from its description
+     */
+    @Test
+    public void testCreate() {
+        for (PieceType type : PieceType.values()) {
+            for (Color color : Color.values()) {
+                Piece piece = type.create(color, 2, 3);
+                assertEquals(type, piece.getType());
+                assertEquals(color, piece.getColor());
+                assertEquals(type.getSymbol(color), piece.toString());
+                assertEquals(type.isPawn(), type == PieceType.PAWN);
+            }
+        }
+        assertEquals("♦", new UltraKnight(Color.B, 0, 0).toString());
+    }
+
+    /**
+     * Tests that opposite directions are next to each other
+     */
+    @Test
+    public void testDirections() {
+        for (int i = 0; i < MoveTables.DIRECTIONS.length; i++) {
+            assertEquals(-MoveTables.DIRECTIONS[i][0], MoveTables.DIRECTIONS[i ^ 1][0]);
+            assertEquals(-MoveTables.DIRECTIONS[i][1], MoveTables.DIRECTIONS[i ^ 1][1]);
+        }
+    }
+
+    /**
+     * Tests that a leap beyond the mailbox border is refused
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testLeapOutOfReach() {
+        Movement.of(new int[][]{{3,0}}, Movement.NONE);
+    }
+}
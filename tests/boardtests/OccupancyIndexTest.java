@@ -0,0 +1,90 @@
+package tests.boardtests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.boards.ChessBoard;
+import chess.boards.MoveTables;
+import chess.boards.OccupancyIndex;
+import chess.pieces.Rook;
+
+/**
+ * OccupancyIndexTest --- class to test finding pieces along the lines of large boards
+ * @author    Jeremy McMahan
+ */
+public class OccupancyIndexTest {
+    /**
+     * Tests that the index only exists on boards larger than 8x8
+     */
+    @Test
+    public void testLargeBoardsOnly() {
+        assertEquals(null, new ChessBoard(8).getOccupancyIndex());
+        assertEquals(false, new ChessBoard(9).getOccupancyIndex() == null);
+    }
+
+    /**
+     * Tests the nearest piece along every direction from every square against walking the board, on a board whose
+     * lines fit in a word and on one whose lines do not
+     */
+    @Test
+    public void testNearest() {
+        for (int size : new int[] {20, 70}) {
+            ChessBoard board = new ChessBoard(size);
+            Random random = new Random(size);
+            for (int i = 0; i < size * size / 6; i++) {
+                int row = random.nextInt(size);
+                int col = random.nextInt(size);
+                board.addPiece(new Rook(Color.W, row, col), new int[] {row, col});
+            }
+            board.removePiece(new int[] {size / 2, size / 2});
+            OccupancyIndex index = board.getOccupancyIndex();
+            for (int square = 0; square < size * size; square++) {
+                for (int direction = 0; direction < MoveTables.DIRECTIONS.length; direction++) {
+                    assertEquals(size + ": " + square + " " + direction, walk(board, square, direction),
+                            index.nearest(square, direction, -1, -1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that a square can be taken to be empty or occupied
+     */
+    @Test
+    public void testRemovedAndAdded() {
+        ChessBoard board = new ChessBoard(10);
+        board.addPiece(new Rook(Color.W, 0, 5), new int[] {0,5});
+        board.addPiece(new Rook(Color.B, 0, 8), new int[] {0,8});
+        OccupancyIndex index = board.getOccupancyIndex();
+        assertEquals(5, index.nearest(0, 2, -1, -1));
+        assertEquals(8, index.nearest(0, 2, 5, -1));
+        assertEquals(3, index.nearest(0, 2, 5, 3));
+        assertEquals(-1, index.nearest(9, 2, -1, -1));
+        assertEquals(8, index.nearest(9, 3, -1, -1));
+        assertEquals(5, index.nearest(9, 3, 8, -1));
+        assertEquals(true, index.isClearBetween(0, 5, -1));
+        assertEquals(false, index.isClearBetween(0, 8, -1));
+        assertEquals(true, index.isClearBetween(0, 8, 5));
+    }
+
+    /**
+     * Walks the board from the square in the direction to the first piece
+     * @return int the index of its square or -1 if there is none
+     */
+    private static int walk(ChessBoard board, int square, int direction) {
+        int size = board.getBoardSize();
+        int row = square / size + MoveTables.DIRECTIONS[direction][0];
+        int col = square % size + MoveTables.DIRECTIONS[direction][1];
+        for (; 0 <= row && row < size && 0 <= col && col < size; row += MoveTables.DIRECTIONS[direction][0],
+                col += MoveTables.DIRECTIONS[direction][1]) {
+            if (board.getPiece(row, col) != null) {
+                return row * size + col;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,130 @@
+package tests.boardtests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.MoveGenerator;
+import chess.MoveList;
+import chess.boards.ChessBoard;
+import chess.boards.CustomBoard;
+import chess.boards.PieceSquareTables;
+import chess.boards.StandardBoard;
+import chess.engine.Evaluation;
+import chess.pieces.King;
+import chess.pieces.Piece;
+import chess.pieces.PieceType;
+import chess.pieces.Queen;
+import chess.pieces.UltraKnight;
+
+/**
+ * PieceSquareTablesTest --- class to test the worth of pieces on squares and the scores boards keep from them
+ * @author    Jeremy McMahan
+ */
+public class PieceSquareTablesTest {
+    /**
+     * Tests that the scores follow random games, with moves made, taken back, and pieces added and removed
+     */
+    @Test
+    public void testIncrementalScores() {
+        for (ChessBoard board : new ChessBoard[] {new StandardBoard(), new CustomBoard(), largeBoard()}) {
+            Random random = new Random(board.getBoardSize());
+            MoveList moves = new MoveList();
+            Color player = Color.W;
+            for (int i = 0; i < 60; i++) {
+                if (MoveGenerator.generateLegalMoves(player, board, moves) == 0) {
+                    break;
+                }
+                int move = moves.get(random.nextInt(moves.size()));
+                board.makeMove(MoveList.getFrom(move), MoveList.getTo(move));
+                player = player.opponent();
+                if (i % 5 == 4) {
+                    board.unmakeMove();
+                    player = player.opponent();
+                }
+                assertScores(board);
+            }
+            ChessBoard copy = board.copy();
+            assertScores(copy);
+            int square = board.getPieceSquare(Color.B, 0);
+            int removed = PieceSquareTables.getPhase(board.getPiece(square).getType());
+            board.removePiece(square);
+            assertScores(board);
+            board.addPiece(new Queen(Color.W, square / board.getBoardSize(), square % board.getBoardSize()), square);
+            assertScores(board);
+            assertEquals(copy.getPhase() - removed + PieceSquareTables.getPhase(PieceType.QUEEN), board.getPhase());
+        }
+    }
+
+    /**
+     * Tests that the two players' tables mirror each other from their own sides and that pawns gain as they advance
+     */
+    @Test
+    public void testMirrored() {
+        for (int size : new int[] {6, 8, 13}) {
+            PieceSquareTables tables = PieceSquareTables.forSize(size);
+            for (int square = 0; square < size * size; square++) {
+                int mirrored = (size - 1 - square / size) * size + square % size;
+                for (PieceType type : new PieceType[] {PieceType.PAWN, PieceType.KNIGHT, PieceType.KING}) {
+                    assertEquals(tables.getMiddlegame(type, Color.W, square),
+                            tables.getMiddlegame(type, Color.B, mirrored));
+                    assertEquals(tables.getEndgame(type, Color.W, square), tables.getEndgame(type, Color.B, mirrored));
+                }
+            }
+            assertTrue(tables.getEndgame(PieceType.PAWN, Color.W, (size - 2) * size)
+                    > tables.getEndgame(PieceType.PAWN, Color.W, size));
+            assertTrue(tables.getMiddlegame(PieceType.ULTRA_KNIGHT, Color.W, 0)
+                    > tables.getMiddlegame(PieceType.ULTRA_KNIGHT, Color.W, size - 1));
+        }
+        assertEquals(true, PieceSquareTables.forSize(8) == PieceSquareTables.forSize(8));
+    }
+
+    /**
+     * Tests that the standard start is even and the phase of a full set is the most
+     */
+    @Test
+    public void testStandardStart() {
+        ChessBoard board = new StandardBoard();
+        assertEquals(0, Evaluation.evaluate(board, Color.W));
+        assertEquals(PieceSquareTables.MAX_PHASE, board.getPhase());
+    }
+
+    /**
+     * Recomputes the scores of the board from its pieces and compares them to the scores it kept
+     */
+    private static void assertScores(ChessBoard board) {
+        PieceSquareTables tables = PieceSquareTables.forSize(board.getBoardSize());
+        int[] middlegame = new int[2];
+        int[] endgame = new int[2];
+        int phase = 0;
+        for (Piece piece : board.getPieces()) {
+            int square = board.getSquareIndex(piece);
+            middlegame[piece.getColor().ordinal()] += tables.getMiddlegame(piece.getType(), piece.getColor(), square);
+            endgame[piece.getColor().ordinal()] += tables.getEndgame(piece.getType(), piece.getColor(), square);
+            phase += PieceSquareTables.getPhase(piece.getType());
+        }
+        for (Color color : Color.values()) {
+            assertEquals(middlegame[color.ordinal()], board.getMiddlegameScore(color));
+            assertEquals(endgame[color.ordinal()], board.getEndgameScore(color));
+        }
+        assertEquals(phase, board.getPhase());
+    }
+
+    /**
+     * Makes a 12x12 board with kings and ultra knights
+     * @return ChessBoard
+     */
+    private static ChessBoard largeBoard() {
+        ChessBoard board = new ChessBoard(12);
+        for (Piece piece : new Piece[] {new King(Color.W, 0, 6), new King(Color.B, 11, 6),
+                new UltraKnight(Color.W, 1, 1), new UltraKnight(Color.B, 10, 1), new Queen(Color.W, 0, 3),
+                new Queen(Color.B, 11, 3)}) {
+            board.addPiece(piece, piece.getSquare());
+        }
+        return board;
+    }
+}
@@ -0,0 +1,40 @@
+package tests.boardtests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.boards.Zobrist;
+import chess.pieces.PieceType;
+
+/**
+ * ZobristTest --- class to test the tables of keys used to hash positions
+ * @author    Jeremy McMahan
+ */
+public class ZobristTest {
+    /**
+     * Tests that a table is made once per board size and that its keys are fixed
+     */
+    @Test
+    public void testForSize() {
+        assertEquals(true, Zobrist.forSize(8) == Zobrist.forSize(8));
+        assertEquals(false, Zobrist.forSize(8) == Zobrist.forSize(10));
+        long key = Zobrist.forSize(10).getPieceKey(PieceType.ULTRA_ROOK, Color.B, 99);
+        assertEquals(key, Zobrist.forSize(10).getPieceKey(PieceType.ULTRA_ROOK, Color.B, 99));
+    }
+
+    /**
+     * Tests that the keys of different pieces, colors and squares differ
+     */
+    @Test
+    public void testKeysDiffer() {
+        Zobrist zobrist = Zobrist.forSize(8);
+        long key = zobrist.getPieceKey(PieceType.ULTRA_KNIGHT, Color.W, 10);
+        assertEquals(false, key == zobrist.getPieceKey(PieceType.ULTRA_KNIGHT, Color.B, 10));
+        assertEquals(false, key == zobrist.getPieceKey(PieceType.KNIGHT, Color.W, 10));
+        assertEquals(false, key == zobrist.getPieceKey(PieceType.ULTRA_KNIGHT, Color.W, 11));
+        assertEquals(false, zobrist.getFirstTurnKey(10) == zobrist.getFirstTurnKey(11));
+        assertEquals(false, zobrist.getSideKey() == 0);
+    }
+}
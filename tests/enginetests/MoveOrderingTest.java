@@ -0,0 +1,145 @@
+package tests.enginetests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.MoveGenerator;
+import chess.MoveList;
+import chess.boards.ChessBoard;
+import chess.boards.StandardBoard;
+import chess.engine.MoveOrdering;
+import chess.engine.Search;
+import chess.pieces.King;
+import chess.pieces.Pawn;
+import chess.pieces.Piece;
+import chess.pieces.Queen;
+import chess.pieces.Rook;
+
+/**
+ * MoveOrderingTest --- class to test the order moves are searched in and what it learns from cutoffs
+ * @author    Jeremy McMahan
+ */
+public class MoveOrderingTest {
+    /**
+     * Tests that the hash move comes first, then captures by MVV-LVA, then the killers and then the counter move
+     */
+    @Test
+    public void testOrder() {
+        ChessBoard board = board();
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(Color.W, board, moves);
+        int hashMove = find(moves, 1, 9);
+        int killer = find(moves, 4, 12);
+        int secondKiller = find(moves, 4, 20);
+        int counter = find(moves, 1, 0);
+        int previous = MoveList.pack(55, 63, 0);
+        MoveOrdering ordering = new MoveOrdering(8);
+        ordering.cutoff(board, secondKiller, 3, 2, 3, 0);
+        ordering.cutoff(board, killer, 3, 2, 3, 0);
+        ordering.cutoff(board, counter, 3, 5, 3, previous);
+        ordering.score(board, moves, 2, hashMove, previous, null);
+        int[] expected = {hashMove, find(moves, 27, 36), find(moves, 4, 36), find(moves, 27, 34), killer,
+            secondKiller, counter};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], ordering.next(moves, i, 2));
+        }
+    }
+
+    /**
+     * Tests that killers hold the two newest quiet cutoffs of a ply, that captures are not killers, and that the
+     * first move cutoff rate counts the cutoffs by the first move
+     */
+    @Test
+    public void testKillers() {
+        ChessBoard board = board();
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(Color.W, board, moves);
+        MoveOrdering ordering = new MoveOrdering(8);
+        ordering.cutoff(board, find(moves, 4, 12), 0, 1, 2, 0);
+        ordering.cutoff(board, find(moves, 4, 12), 0, 1, 2, 0);
+        ordering.cutoff(board, find(moves, 4, 20), 1, 1, 2, 0);
+        ordering.cutoff(board, find(moves, 27, 36), 0, 1, 2, 0);
+        assertEquals(find(moves, 4, 20), ordering.getKiller(1, 0));
+        assertEquals(find(moves, 4, 12), ordering.getKiller(1, 1));
+        assertEquals(0, ordering.getKiller(2, 0));
+        assertEquals(4, ordering.getCutoffs());
+        assertEquals(0.75, ordering.getFirstMoveCutoffRate(), 1e-9);
+        ordering.newSearch();
+        assertEquals(0, ordering.getKiller(1, 0));
+        assertEquals(0, ordering.getFirstMoveCutoffRate(), 0);
+    }
+
+    /**
+     * Tests that noise leaves the hash move, captures, killers and counter move in place and changes the order of the
+     * quiet moves without history
+     */
+    @Test
+    public void testNoise() {
+        ChessBoard board = board();
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(Color.W, board, moves);
+        int hashMove = find(moves, 1, 9);
+        int killer = find(moves, 4, 12);
+        int previous = MoveList.pack(55, 63, 0);
+        int[][] orders = new int[2][];
+        for (int seed = 0; seed < orders.length; seed++) {
+            MoveOrdering ordering = new MoveOrdering(8);
+            ordering.setNoise(seed);
+            ordering.cutoff(board, killer, 3, 2, 3, 0);
+            ordering.score(board, moves, 2, hashMove, previous, null);
+            orders[seed] = new int[moves.size()];
+            for (int i = 0; i < moves.size(); i++) {
+                orders[seed][i] = ordering.next(moves, i, 2);
+            }
+            int[] expected = {hashMove, find(moves, 27, 36), find(moves, 4, 36), find(moves, 27, 34), killer};
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], orders[seed][i]);
+            }
+        }
+        assertFalse(Arrays.equals(orders[0], orders[1]));
+    }
+
+    /**
+     * Tests that a search reports the share of its cutoffs made by the first move
+     */
+    @Test
+    public void testSearchRate() {
+        Search search = new Search(new StandardBoard(), Color.W);
+        search.setMaxDepth(4);
+        search.search();
+        assertTrue(search.getFirstMoveCutoffRate() > 0.5);
+        assertTrue(search.getFirstMoveCutoffRate() <= 1);
+    }
+
+    /**
+     * Makes an 8x8 board where a white pawn and queen can take a black queen and the pawn can take a black rook
+     * @return ChessBoard
+     */
+    private static ChessBoard board() {
+        ChessBoard board = new ChessBoard(8);
+        for (Piece piece : new Piece[] {new King(Color.W, 0, 1), new Pawn(Color.W, 3, 3), new Queen(Color.W, 0, 4),
+                new King(Color.B, 7, 7), new Queen(Color.B, 4, 4), new Rook(Color.B, 4, 2)}) {
+            board.addPiece(piece, piece.getSquare());
+        }
+        return board;
+    }
+
+    /**
+     * Finds the move between the squares
+     * @return int the move packed by MoveList.pack
+     */
+    private static int find(MoveList moves, int from, int to) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (MoveList.getFrom(moves.get(i)) == from && MoveList.getTo(moves.get(i)) == to) {
+                return moves.get(i);
+            }
+        }
+        throw new AssertionError("no move " + from + "-" + to);
+    }
+}
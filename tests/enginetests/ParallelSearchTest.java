@@ -0,0 +1,64 @@
+package tests.enginetests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.MoveList;
+import chess.boards.ChessBoard;
+import chess.boards.StandardBoard;
+import chess.engine.ParallelSearch;
+import chess.engine.Search;
+import chess.pieces.King;
+import chess.pieces.Pawn;
+import chess.pieces.Piece;
+import chess.pieces.Rook;
+
+/**
+ * ParallelSearchTest --- class to test searching a position on several threads sharing a table
+ * @author    Jeremy McMahan
+ */
+public class ParallelSearchTest {
+    /**
+     * Tests that the threads agree on a mate in one
+     */
+    @Test
+    public void testMateInOne() {
+        ChessBoard board = new ChessBoard(8);
+        for (Piece piece : new Piece[] {new King(Color.W, 0, 7), new Rook(Color.W, 0, 0), new King(Color.B, 7, 7),
+                new Pawn(Color.B, 6, 6), new Pawn(Color.B, 6, 7)}) {
+            board.addPiece(piece, piece.getSquare());
+        }
+        ParallelSearch search = new ParallelSearch(board, Color.W, 4);
+        search.setMaxDepth(4);
+        int move = search.search();
+        assertEquals(56, MoveList.getTo(move));
+        assertEquals(Search.MATE - 1, search.getScore());
+    }
+
+    /**
+     * Tests that the nodes of every thread are added up and the board searched is left alone
+     */
+    @Test
+    public void testMergedNodes() {
+        ChessBoard board = new StandardBoard();
+        long hash = board.getHash(Color.W);
+        ParallelSearch search = new ParallelSearch(board, Color.W, 3);
+        search.setMaxDepth(4);
+        assertTrue(search.search() != 0);
+        assertTrue(search.getDepth() >= 4);
+        assertEquals(search.getNodes(0) + search.getNodes(1) + search.getNodes(2), search.getNodes());
+        assertTrue(search.getNodesPerSecond() > 0);
+        assertEquals(hash, board.getHash(Color.W));
+    }
+
+    /**
+     * Tests that at least one thread is asked for
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoThreads() {
+        new ParallelSearch(new StandardBoard(), Color.W, 0);
+    }
+}
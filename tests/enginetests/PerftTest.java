@@ -0,0 +1,82 @@
+package tests.enginetests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.MoveList;
+import chess.boards.ChessBoard;
+import chess.boards.CustomBoard;
+import chess.engine.Perft;
+
+/**
+ * PerftTest --- class to test counting the trees of legal moves of the reference positions
+ * @author    Jeremy McMahan
+ */
+public class PerftTest {
+    /**
+     * Tests that every reference position has its known counts and is left unchanged
+     */
+    @Test
+    public void testReferencePositions() {
+        for (Perft.Position position : Perft.POSITIONS) {
+            ChessBoard board = position.getBoard();
+            long hash = board.getHash(position.getPlayer());
+            Perft perft = new Perft(board, position.getPlayer());
+            for (int depth = 1; depth <= 3; depth++) {
+                assertEquals(position.getName(), position.getCount(depth), perft.perft(depth));
+                assertEquals(position.getCount(depth), perft.getNodes());
+            }
+            assertEquals(1, perft.perft(0));
+            assertEquals(hash, board.getHash(position.getPlayer()));
+        }
+    }
+
+    /**
+     * Tests that the counts below the moves from the root add up to the count of the root
+     */
+    @Test
+    public void testDivide() {
+        Perft perft = new Perft(new CustomBoard(), Color.W);
+        MoveList moves = new MoveList();
+        long[] counts = perft.divide(2, moves);
+        assertEquals(27, moves.size());
+        assertEquals(27, counts.length);
+        long sum = 0;
+        for (long count : counts) {
+            assertTrue(count > 0);
+            sum += count;
+        }
+        assertEquals(698, sum);
+        assertEquals(698, perft.getNodes());
+    }
+
+    /**
+     * Tests that remembering counts in a hash table and counting in parallel give the same counts
+     */
+    @Test
+    public void testHashTableAndParallel() {
+        for (Perft.Position position : Perft.POSITIONS) {
+            ChessBoard board = position.getBoard();
+            long hash = board.getHash(position.getPlayer());
+            Perft perft = new Perft(board, position.getPlayer());
+            perft.setHashTable(1);
+            assertEquals(position.getName(), position.getCount(3), perft.perft(3));
+            perft.setParallel(true);
+            assertEquals(position.getName(), position.getCount(3), perft.perft(3));
+            perft.setHashTable(0);
+            assertEquals(position.getName(), position.getCount(3), perft.perft(3));
+            assertEquals(hash, board.getHash(position.getPlayer()));
+        }
+    }
+
+    /**
+     * Tests that depths outside 0 to 64 are refused
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadDepth() {
+        new Perft(new CustomBoard(), Color.W).perft(-1);
+    }
+}
@@ -0,0 +1,139 @@
+package tests.enginetests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import chess.Chess;
+import chess.Color;
+import chess.MoveGenerator;
+import chess.MoveList;
+import chess.MoveValidator;
+import chess.boards.ChessBoard;
+import chess.boards.CustomBoard;
+import chess.boards.StandardBoard;
+import chess.engine.ComputerPlayer;
+import chess.engine.Search;
+import chess.pieces.King;
+import chess.pieces.Pawn;
+import chess.pieces.Piece;
+import chess.pieces.Queen;
+import chess.pieces.Rook;
+
+/**
+ * SearchTest --- class to test picking moves by iterative deepening alpha-beta search
+ * @author    Jeremy McMahan
+ */
+public class SearchTest {
+    /**
+     * Tests that a mate in one on the back row is found and scored as a mate
+     */
+    @Test
+    public void testMateInOne() {
+        ChessBoard board = place(new ChessBoard(8), new King(Color.W, 0, 7), new Rook(Color.W, 0, 0),
+                new King(Color.B, 7, 7), new Pawn(Color.B, 6, 6), new Pawn(Color.B, 6, 7));
+        Search search = new Search(board, Color.W);
+        search.setMaxDepth(4);
+        int move = search.search();
+        assertEquals(0, MoveList.getFrom(move));
+        assertEquals(56, MoveList.getTo(move));
+        assertEquals(Search.MATE - 1, search.getScore());
+    }
+
+    /**
+     * Tests that a queen left hanging is taken
+     */
+    @Test
+    public void testWinsMaterial() {
+        ChessBoard board = place(new ChessBoard(8), new King(Color.W, 0, 0), new Rook(Color.W, 3, 1),
+                new King(Color.B, 7, 7), new Queen(Color.B, 3, 6));
+        Search search = new Search(board, Color.W);
+        search.setMaxDepth(3);
+        int move = search.search();
+        assertEquals(25, MoveList.getFrom(move));
+        assertEquals(30, MoveList.getTo(move));
+        assertTrue(search.getScore() > 0);
+    }
+
+    /**
+     * Tests that a node limit stops the search, that statistics are kept and that the board is put back
+     */
+    @Test
+    public void testNodeLimit() {
+        for (ChessBoard board : new ChessBoard[] {new StandardBoard(), new CustomBoard()}) {
+            long hash = board.getHash(Color.W);
+            Search search = new Search(board, Color.W);
+            search.setNodeLimit(20000);
+            assertTrue(search.search() != 0);
+            assertTrue(search.getDepth() >= 1);
+            assertTrue(search.getNodes() < 40000);
+            assertTrue(search.getNodesPerSecond() > 0);
+            assertEquals(hash, board.getHash(Color.W));
+        }
+    }
+
+    /**
+     * Tests that a tiny node limit stops even the first iteration, once a move from the root has been scored, and
+     * still answers with a legal move
+     */
+    @Test
+    public void testTinyNodeLimit() {
+        ChessBoard board = place(new ChessBoard(8), new King(Color.W, 0, 0), new King(Color.B, 7, 7));
+        for (int col = 1; col < 7; col++) {
+            place(board, new Queen(Color.W, 1, col), new Queen(Color.B, 6, col));
+        }
+        Search full = new Search(board, Color.W);
+        full.setMaxDepth(1);
+        full.search();
+        Search search = new Search(board, Color.W);
+        search.setNodeLimit(1);
+        int move = search.search();
+        assertTrue(search.getNodes() < full.getNodes());
+        assertEquals(0, search.getDepth());
+        MoveList legal = new MoveList();
+        MoveGenerator.generateLegalMoves(Color.W, board, legal, new MoveValidator());
+        boolean found = false;
+        for (int i = 0; i < legal.size(); i++) {
+            found |= legal.get(i) == move;
+        }
+        assertTrue(found);
+    }
+
+    /**
+     * Tests that a player without legal moves gets no move
+     */
+    @Test
+    public void testNoMoves() {
+        ChessBoard board = place(new ChessBoard(8), new King(Color.W, 5, 6), new Queen(Color.W, 6, 5),
+                new King(Color.B, 7, 7));
+        Search search = new Search(board, Color.B);
+        assertEquals(0, search.search());
+        assertEquals(0, search.getScore());
+    }
+
+    /**
+     * Tests that the computer moves only on its own turn
+     */
+    @Test
+    public void testComputerPlayer() {
+        Chess game = new Chess("W", "Standard");
+        ComputerPlayer computer = ComputerPlayer.withNodeLimit(Color.B, 5000);
+        assertEquals(false, computer.play(game));
+        assertEquals(true, game.movePiece(new int[] {1,4}, new int[] {3,4}));
+        assertEquals(true, computer.play(game));
+        assertEquals(Color.W, game.getPlayer());
+        assertTrue(computer.getLastSearch().getDepth() >= 1);
+    }
+
+    /**
+     * Places the pieces on the board, each on the square it holds
+     * @return ChessBoard
+     */
+    private static ChessBoard place(ChessBoard board, Piece... pieces) {
+        for (Piece piece : pieces) {
+            board.addPiece(piece, piece.getSquare());
+        }
+        return board;
+    }
+}
@@ -0,0 +1,113 @@
+package tests.enginetests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import chess.Color;
+import chess.MoveList;
+import chess.boards.ChessBoard;
+import chess.engine.Search;
+import chess.engine.StaticExchange;
+import chess.pieces.King;
+import chess.pieces.Pawn;
+import chess.pieces.Piece;
+import chess.pieces.Queen;
+import chess.pieces.Rook;
+import chess.pieces.UltraKnight;
+import chess.pieces.UltraRook;
+
+/**
+ * StaticExchangeTest --- class to test finding what exchanges on a square win without making moves
+ * @author    Jeremy McMahan
+ */
+public class StaticExchangeTest {
+    /**
+     * Tests captures that are free, defended by a pawn, and made with a pawn
+     */
+    @Test
+    public void testDefended() {
+        assertEquals(500, see(capture(0, 4, 4, 4), new Queen(Color.W, 0, 4), new Rook(Color.B, 4, 4)));
+        assertEquals(-800, see(capture(0, 4, 4, 4), new Queen(Color.W, 0, 4), new Pawn(Color.B, 4, 4),
+                new Pawn(Color.B, 5, 5)));
+        assertEquals(800, see(capture(3, 3, 4, 4), new Pawn(Color.W, 3, 3), new Queen(Color.B, 4, 4),
+                new Pawn(Color.B, 5, 5)));
+    }
+
+    /**
+     * Tests that a piece behind the capturing one along its ray joins the exchange
+     */
+    @Test
+    public void testXray() {
+        assertEquals(-400, see(capture(1, 4, 4, 4), new Rook(Color.W, 1, 4), new Pawn(Color.B, 4, 4),
+                new Rook(Color.B, 7, 4)));
+        assertEquals(100, see(capture(1, 4, 4, 4), new Rook(Color.W, 0, 4), new Rook(Color.W, 1, 4),
+                new Pawn(Color.B, 4, 4), new Rook(Color.B, 7, 4)));
+    }
+
+    /**
+     * Tests that an UltraKnight defends along its row only from the left and an UltraRook only by stepping up and
+     * right
+     */
+    @Test
+    public void testUltraPieces() {
+        assertEquals(-800, see(capture(0, 4, 4, 4), new Queen(Color.W, 0, 4), new Pawn(Color.B, 4, 4),
+                new UltraKnight(Color.B, 4, 0)));
+        assertEquals(100, see(capture(0, 4, 4, 4), new Queen(Color.W, 0, 4), new Pawn(Color.B, 4, 4),
+                new UltraKnight(Color.B, 4, 7)));
+        assertEquals(-800, see(capture(0, 4, 4, 4), new Queen(Color.W, 0, 4), new Pawn(Color.B, 4, 4),
+                new UltraRook(Color.B, 3, 3)));
+        assertEquals(100, see(capture(0, 4, 4, 4), new Queen(Color.W, 0, 4), new Pawn(Color.B, 4, 4),
+                new UltraRook(Color.B, 5, 5)));
+    }
+
+    /**
+     * Tests that the search does not stop in the middle of an exchange and take a defended pawn with its queen
+     */
+    @Test
+    public void testQuiescence() {
+        ChessBoard board = place(new Queen(Color.W, 0, 4), new Pawn(Color.B, 4, 4), new Pawn(Color.B, 5, 3));
+        long hash = board.getHash(Color.W);
+        Search search = new Search(board, Color.W);
+        search.setMaxDepth(1);
+        int move = search.search();
+        assertTrue(MoveList.getTo(move) != 36);
+        assertTrue(search.getScore() > 0);
+        assertEquals(hash, board.getHash(Color.W));
+    }
+
+    /**
+     * Places the pieces on an 8x8 board with the kings in the corners and finds what the capture wins
+     * @return int
+     */
+    private static int see(int move, Piece... pieces) {
+        ChessBoard board = place(pieces);
+        long hash = board.getHash(Color.W);
+        int result = new StaticExchange(board).evaluate(move);
+        assertEquals(hash, board.getHash(Color.W));
+        return result;
+    }
+
+    /**
+     * Makes an 8x8 board with the kings in the corners and the given pieces
+     * @return ChessBoard
+     */
+    private static ChessBoard place(Piece... pieces) {
+        ChessBoard board = new ChessBoard(8);
+        board.addPiece(new King(Color.W, 0, 0), 0);
+        board.addPiece(new King(Color.B, 7, 7), 63);
+        for (Piece piece : pieces) {
+            board.addPiece(piece, piece.getSquare());
+        }
+        return board;
+    }
+
+    /**
+     * Packs a capture between the squares of an 8x8 board
+     * @return int
+     */
+    private static int capture(int fromRow, int fromCol, int toRow, int toCol) {
+        return MoveList.pack(fromRow * 8 + fromCol, toRow * 8 + toCol, MoveList.CAPTURE);
+    }
+}
@@ -0,0 +1,87 @@
+package tests.enginetests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import chess.engine.TranspositionTable;
+import chess.engine.TranspositionTable.Replacement;
+
+/**
+ * TranspositionTableTest --- class to test storing and looking up search results by position hash
+ * @author    Jeremy McMahan
+ */
+public class TranspositionTableTest {
+    /**
+     * Tests that a stored result comes back unchanged and other positions miss
+     */
+    @Test
+    public void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1, Replacement.ALWAYS_REPLACE);
+        assertEquals(1 << 16, table.getCapacity());
+        long hash = 0x123456789ABCDEFL;
+        table.store(hash, 0xABCDEF, -1234, 17, TranspositionTable.BOUND_LOWER);
+        long data = table.probe(hash);
+        assertEquals(0xABCDEF, TranspositionTable.getMove(data));
+        assertEquals(-1234, TranspositionTable.getScore(data));
+        assertEquals(17, TranspositionTable.getDepth(data));
+        assertEquals(TranspositionTable.BOUND_LOWER, TranspositionTable.getBound(data));
+        //same slot but another position
+        assertEquals(TranspositionTable.BOUND_NONE, TranspositionTable.getBound(table.probe(hash ^ (1L << 40))));
+        table.clear();
+        assertEquals(TranspositionTable.BOUND_NONE, TranspositionTable.getBound(table.probe(hash)));
+    }
+
+    /**
+     * Tests the two replacement policies
+     */
+    @Test
+    public void testReplacement() {
+        long first = 5;
+        long second = 5 | (1L << 50); //hashes to the same slot
+        TranspositionTable table = new TranspositionTable(1, Replacement.DEPTH_PREFERRED);
+        table.store(first, 1, 10, 8, TranspositionTable.BOUND_EXACT);
+        table.store(second, 2, 20, 3, TranspositionTable.BOUND_EXACT);
+        assertEquals(8, TranspositionTable.getDepth(table.probe(first))); //the deeper result stays
+        table.newSearch();
+        table.store(second, 2, 20, 3, TranspositionTable.BOUND_EXACT); //results of old searches make way
+        assertEquals(3, TranspositionTable.getDepth(table.probe(second)));
+        table.store(second, 0, 30, 4, TranspositionTable.BOUND_UPPER); //no new move keeps the old one
+        assertEquals(2, TranspositionTable.getMove(table.probe(second)));
+
+        table = new TranspositionTable(1, Replacement.ALWAYS_REPLACE);
+        table.store(first, 1, 10, 8, TranspositionTable.BOUND_EXACT);
+        table.store(second, 2, 20, 3, TranspositionTable.BOUND_EXACT);
+        assertEquals(TranspositionTable.BOUND_NONE, TranspositionTable.getBound(table.probe(first)));
+        assertEquals(3, TranspositionTable.getDepth(table.probe(second)));
+    }
+
+    /**
+     * Tests that threads writing the same slots at once never let a torn entry through
+     */
+    @Test
+    public void testSharedBetweenThreads() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1, Replacement.ALWAYS_REPLACE);
+        boolean[] torn = new boolean[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                for (long i = 0; i < 200000; i++) {
+                    long hash = (i & 63) | ((i * 31 + seed) << 20); //few slots, many positions
+                    table.store(hash, (int) hash, (int) (hash >>> 20) & 0x7FFF, 1, TranspositionTable.BOUND_EXACT);
+                    long data = table.probe(hash ^ (seed << 20));
+                    if (TranspositionTable.getBound(data) != TranspositionTable.BOUND_NONE) {
+                        long found = hash ^ (seed << 20);
+                        torn[0] |= TranspositionTable.getMove(data) != (int) found;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(false, torn[0]);
+    }
+}
@@ -50,6 +50,18 @@ public class BishopTest {
         assertEquals(false, b.isBetween(new int[] {4,5}, new int[]{4,5})); //middle = end
     }
 
+    /**
+     * Tests that nothing lies between the Bishop and a square it cannot reach, even a square on its diagonal toward
+     * the end
+     */
+	@Test
+    public void testNoPathToUnreachableSquare() {
+		Bishop b = new Bishop(Color.W,2,3);
+		assertEquals(false, b.canMoveTo(new int[] {5,7}));
+		assertEquals(false, b.isBetween(new int[] {3,4}, new int[] {5,7}));
+		assertEquals(false, b.isBetween(new int[] {4,5}, new int[] {5,7}));
+    }
+
     /**
      * Tests the toString method
      */
@@ -56,6 +56,18 @@ public class QueenTest {
  		
 	 }
 
+    /**
+     * Tests that nothing lies between the Queen and a square it cannot reach, even a square on one of its lines
+     * toward the end
+     */
+	@Test
+	public void testNoPathToUnreachableSquare() {
+		Queen q = new Queen(Color.B, 2, 3);
+		assertEquals(false, q.canMoveTo(new int[] {5,7}));
+		assertEquals(false, q.isBetween(new int[] {3,4}, new int[] {5,7})); //on its diagonal
+		assertEquals(false, q.isBetween(new int[] {2,4}, new int[] {3,7})); //on its row
+	}
+
     /**
      * Tests the toString method
      */